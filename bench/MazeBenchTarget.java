@@ -0,0 +1,173 @@
+import jmh.MazeOps;
+
+import java.awt.Graphics2D;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.security.InvalidParameterException;
+
+/**
+ * Implementation of <code>jmh.MazeOps</code> on maze classes, used by JMH benchmarks in <code>bench/jmh</code>.
+ *
+ * @author BorisMirage
+ * Time: 2026/10/17 00:07
+ * Created with IntelliJ IDEA
+ */
+public class MazeBenchTarget implements MazeOps {
+
+    private static final double RANDOM_DENSITY = 0.2;
+    private static final double BRAID = 0.5;
+
+    private final MazeGenerator generator = new MazeGenerator(20180726L);
+    private SearchScratch reachScratch;     // bitsets of reachable(), created on first use
+
+    /**
+     * Generate a square maze, entry is upper left and exit is lower right. Generated mazes use a fixed seed.
+     * <ul>
+     * <li>open: no wall at all;</li>
+     * <li>warehouse: open floor with shelves 2 rows by 20 columns, separated by aisles 4 cells wide;</li>
+     * <li>corridor: every other row is a wall with one gap at alternating ends, a single winding corridor;</li>
+     * <li>random: each cell is wall with 20% probability, except neighbors of entry and exit;</li>
+     * <li>perfect: recursive backtracker maze, long winding path with many dead ends;</li>
+     * <li>braided: backtracker maze with half of dead ends opened, so it has loops;</li>
+     * <li>unreachable: no wall except two cells that seal exit in its corner.</li>
+     * </ul>
+     *
+     * @param shape maze shape
+     * @param size  number of rows and columns
+     * @return maze
+     */
+    @Override
+    public Object generate(String shape, int size) {
+        MazeGrid grid = new MazeGrid(size, size);
+        switch (shape) {
+            case "open":
+                break;
+
+            case "warehouse":
+                for (int i = 0; i < size - 2; i++) {
+                    for (int j = 0; j < size - 2; j++) {
+                        if (i % 6 >= 4 && j % 24 >= 4) {
+                            grid.setWall(grid.index(i, j), true);
+                        }
+                    }
+                }
+                break;
+
+            case "corridor":
+                for (int i = 1; i < size - 1; i += 2) {
+                    int gap = (i / 2) % 2 == 0 ? size - 1 : 0;
+                    for (int j = 0; j < size; j++) {
+                        if (j != gap) {
+                            grid.setWall(grid.index(i, j), true);
+                        }
+                    }
+                }
+                break;
+
+            case "random":
+                Maze maze = generator.obstacles(size, size, RANDOM_DENSITY);
+                grid = maze.getGrid();
+                grid.setWall(grid.index(0, 1), false);
+                grid.setWall(grid.index(1, 0), false);
+                grid.setWall(grid.index(size - 1, size - 2), false);
+                grid.setWall(grid.index(size - 2, size - 1), false);
+                return maze;
+
+            case "perfect":
+                return generator.backtracker(size, size);
+
+            case "braided":
+                return generator.braided(size, size, BRAID);
+
+            case "unreachable":
+                grid.setWall(grid.index(size - 2, size - 1), true);
+                grid.setWall(grid.index(size - 1, size - 2), true);
+                break;
+
+            default:
+                throw new InvalidParameterException("Unknown maze shape: " + shape + " !");
+        }
+        return new Maze(grid, new MazeCoord(0, 0), new MazeCoord(size - 1, size - 1));
+    }
+
+    @Override
+    public Object readText(String path) throws IOException {
+        return MazeFileReader.read(path);
+    }
+
+    @Override
+    public Object mapBinary(String path) throws IOException {
+        return BinaryMazeFile.map(path);
+    }
+
+    @Override
+    public void writeText(Object maze, String path) throws IOException {
+        MazeFileWriter.write((Maze) maze, Paths.get(path));
+    }
+
+    @Override
+    public void writeBinary(Object maze, String path) throws IOException {
+        BinaryMazeFile.write((Maze) maze, Paths.get(path));
+    }
+
+    @Override
+    public Object strategy(String name) {
+        switch (name) {
+            case "bfs":
+                return new BreadthFirstSearch();
+            case "astar":
+                return new AStarSearch();
+            case "jps":
+                return new JumpPointSearch();
+            case "bidirectional":
+                return new BidirectionalSearch();
+            case "parallel":
+                return new ParallelBreadthFirstSearch();
+            case "bitset":
+                return new BitParallelBreadthFirstSearch();
+            default:
+                throw new InvalidParameterException("Unknown strategy: " + name + " !");
+        }
+    }
+
+    @Override
+    public void useStrategy(Object maze, Object strategy) {
+        ((Maze) maze).setSearchStrategy((SearchStrategy) strategy);
+    }
+
+    @Override
+    public Object solve(Object maze) {
+        Maze m = (Maze) maze;
+        return m.solve(m.getEntryLoc(), m.getExitLoc());
+    }
+
+    @Override
+    public Object solveWithPath(Object maze) {
+        Maze m = (Maze) maze;
+        m.searchPath();
+        return m.getPath();
+    }
+
+    @Override
+    public boolean reachable(Object maze, Object strategy) {
+        Maze m = (Maze) maze;
+        if (strategy instanceof BitParallelBreadthFirstSearch) {
+            MazeGrid grid = m.getGrid();
+            if (reachScratch == null || reachScratch.capacity() < grid.numCells()) {
+                reachScratch = new SearchScratch(grid.numCells());
+            }
+            return BitParallelBreadthFirstSearch.isReachable(grid, m.getEntryLoc(), m.getExitLoc(), reachScratch);
+        }
+        return m.solve(m.getEntryLoc(), m.getExitLoc()).isFound();
+    }
+
+    @Override
+    public Object view(Object maze) {
+        return new MazeComponent((Maze) maze);
+    }
+
+    @Override
+    public void render(Object view, Graphics2D g2) {
+        ((MazeComponent) view).paintComponent(g2);
+    }
+}
@@ -0,0 +1,36 @@
+package jmh;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry of benchmark suite. Same as <code>org.openjdk.jmh.Main</code>, but GC profiler is always on, so every result
+ * comes with allocation rate (<code>gc.alloc.rate.norm</code> is bytes allocated per operation).
+ * All JMH command line options are accepted, e.g. <code>SolveBenchmark -p size=1000 -p strategy=bfs,astar</code>.
+ *
+ * @author BorisMirage
+ * Time: 2026/10/17 00:12
+ * Created with IntelliJ IDEA
+ */
+public class BenchmarkMain {
+
+    /**
+     * Run benchmarks.
+     *
+     * @param args JMH command line options
+     * @throws RunnerException            benchmark failed
+     * @throws CommandLineOptionException options are invalid
+     */
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
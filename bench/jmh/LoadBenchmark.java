@@ -0,0 +1,84 @@
+package jmh;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading benchmark of large generated maze files, in text format (<code>MazeFileReader</code>, used by
+ * <code>StartMaze.readMazeFile</code>) and binary format (<code>BinaryMazeFile.map</code>).
+ * Files are written to a temporary directory once per trial and deleted afterwards.
+ *
+ * @author BorisMirage
+ * Time: 2026/10/17 00:10
+ * Created with IntelliJ IDEA
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class LoadBenchmark {
+
+    @Param({"1000", "5000", "10000"})
+    public int size;
+
+    @Param({"text", "binary"})
+    public String format;
+
+    private MazeOps ops;
+    private Path file;
+
+    /**
+     * Write one random maze file of given size and format.
+     *
+     * @throws IOException file cannot be written
+     */
+    @Setup
+    public void setUp() throws IOException {
+        ops = MazeOps.load();
+        file = Files.createTempFile("maze-bench-", format.equals("text") ? ".txt" : ".mzb");
+        Object maze = ops.generate("random", size);
+        if (format.equals("text")) {
+            ops.writeText(maze, file.toString());
+        } else {
+            ops.writeBinary(maze, file.toString());
+        }
+    }
+
+    /**
+     * Delete temporary file.
+     *
+     * @throws IOException file cannot be deleted
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    /**
+     * Load maze file.
+     *
+     * @return maze, consumed by JMH
+     * @throws IOException file cannot be read
+     */
+    @Benchmark
+    public Object load() throws IOException {
+        return format.equals("text") ? ops.readText(file.toString()) : ops.mapBinary(file.toString());
+    }
+}
@@ -0,0 +1,134 @@
+package jmh;
+
+import java.awt.Graphics2D;
+import java.io.IOException;
+
+/**
+ * Bridge from benchmarks to maze classes.
+ * Maze classes live in the default package, which cannot be imported from a named package, and JMH does not accept
+ * benchmark classes in the default package. Hence benchmarks only talk to this interface, and
+ * <code>MazeBenchTarget</code> (default package) implements it.
+ * Maze, strategy and route are passed around as opaque objects.
+ *
+ * @author BorisMirage
+ * Time: 2026/10/17 00:06
+ * Created with IntelliJ IDEA
+ */
+public interface MazeOps {
+
+    /**
+     * Load implementation from default package.
+     *
+     * @return maze operations
+     */
+    static MazeOps load() {
+        try {
+            return (MazeOps) Class.forName("MazeBenchTarget").getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException exc) {
+            throw new IllegalStateException("MazeBenchTarget is not on class path", exc);
+        }
+    }
+
+    /**
+     * Generate a square maze of given shape.
+     *
+     * @param shape "open", "warehouse", "corridor", "random", "perfect", "braided" or "unreachable"
+     * @param size  number of rows and columns
+     * @return maze, entry is upper left and exit is lower right
+     */
+    Object generate(String shape, int size);
+
+    /**
+     * Read text maze file.
+     *
+     * @param path file path
+     * @return maze
+     * @throws IOException file cannot be read
+     */
+    Object readText(String path) throws IOException;
+
+    /**
+     * Map binary maze file.
+     *
+     * @param path file path
+     * @return maze
+     * @throws IOException file cannot be read
+     */
+    Object mapBinary(String path) throws IOException;
+
+    /**
+     * Write maze as text file.
+     *
+     * @param maze maze
+     * @param path file path
+     * @throws IOException file cannot be written
+     */
+    void writeText(Object maze, String path) throws IOException;
+
+    /**
+     * Write maze as binary file.
+     *
+     * @param maze maze
+     * @param path file path
+     * @throws IOException file cannot be written
+     */
+    void writeBinary(Object maze, String path) throws IOException;
+
+    /**
+     * Create search strategy by name.
+     *
+     * @param name "bfs", "astar", "jps", "bidirectional", "parallel" or "bitset"
+     * @return strategy
+     */
+    Object strategy(String name);
+
+    /**
+     * Set strategy of maze.
+     *
+     * @param maze     maze
+     * @param strategy strategy from <code>strategy</code>
+     */
+    void useStrategy(Object maze, Object strategy);
+
+    /**
+     * Search path from entry to exit.
+     *
+     * @param maze maze
+     * @return route
+     */
+    Object solve(Object maze);
+
+    /**
+     * Search path from entry to exit and materialize it as list of coordinates.
+     *
+     * @param maze maze
+     * @return path
+     */
+    Object solveWithPath(Object maze);
+
+    /**
+     * Check if exit is reachable from entry. Bitset strategy answers with its run-fill check, other strategies with a
+     * full search.
+     *
+     * @param maze     maze
+     * @param strategy strategy from <code>strategy</code>, also set on maze
+     * @return true if exit is reachable
+     */
+    boolean reachable(Object maze, Object strategy);
+
+    /**
+     * Create display component of maze, which keeps its rendered tiles between paints.
+     *
+     * @param maze maze
+     * @return component
+     */
+    Object view(Object maze);
+
+    /**
+     * Paint maze and its last path on graphics context.
+     *
+     * @param view component from <code>view</code>
+     * @param g2   graphics context
+     */
+    void render(Object view, Graphics2D g2);
+}
@@ -0,0 +1,96 @@
+package jmh;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Headless rendering benchmark of <code>MazeComponent</code>.
+ * Maze is painted onto an off-screen image of a typical window size, with path of a solved maze as overlay.
+ * <code>repaint</code> paints the same component again and again, as a window does, so walls come from cached tiles.
+ * <code>firstPaint</code> uses a new component each time and includes rendering the visible tiles.
+ *
+ * @author BorisMirage
+ * Time: 2026/10/17 00:11
+ * Created with IntelliJ IDEA
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Djava.awt.headless=true", "-Xmx4g"})
+public class RenderBenchmark {
+
+    private static final int VIEW_WIDTH = 1280;
+    private static final int VIEW_HEIGHT = 1024;
+
+    @Param({"100", "1000", "5000"})
+    public int size;
+
+    @Param({"open", "corridor", "random"})
+    public String shape;
+
+    private MazeOps ops;
+    private Object maze;
+    private Object view;
+    private BufferedImage image;
+    private Graphics2D g2;
+
+    /**
+     * Generate and solve maze, create off-screen image.
+     */
+    @Setup
+    public void setUp() {
+        ops = MazeOps.load();
+        maze = ops.generate(shape, size);
+        ops.solveWithPath(maze);
+        view = ops.view(maze);
+        image = new BufferedImage(VIEW_WIDTH, VIEW_HEIGHT, BufferedImage.TYPE_INT_RGB);
+        g2 = image.createGraphics();
+        g2.setClip(0, 0, VIEW_WIDTH, VIEW_HEIGHT);
+    }
+
+    /**
+     * Release graphics context.
+     */
+    @TearDown
+    public void tearDown() {
+        g2.dispose();
+    }
+
+    /**
+     * Paint maze with tiles cached by earlier paints.
+     *
+     * @return image, consumed by JMH
+     */
+    @Benchmark
+    public Object repaint() {
+        ops.render(view, g2);
+        return image;
+    }
+
+    /**
+     * Paint maze on a new component, rendering all visible tiles.
+     *
+     * @return image, consumed by JMH
+     */
+    @Benchmark
+    public Object firstPaint() {
+        ops.render(ops.view(maze), g2);
+        return image;
+    }
+}
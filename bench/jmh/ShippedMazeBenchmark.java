@@ -0,0 +1,84 @@
+package jmh;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Search and load benchmark on the maze files shipped in <code>src/AllMaze</code>.
+ * Directory is parameter <code>dir</code>, relative to project root by default; use e.g.
+ * <code>-p dir=/data/mazes</code> for other files. It is a JMH parameter rather than a system property, so it reaches
+ * the forked benchmark JVM.
+ *
+ * @author BorisMirage
+ * Time: 2026/10/17 00:09
+ * Created with IntelliJ IDEA
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShippedMazeBenchmark {
+
+    @Param({"bigMaze1Y", "bigMaze2Y", "bigMaze3Y", "mazeCycleY", "mazeNoPathN", "medMaze1Y", "medMaze2ReverseY",
+            "medMaze2Y", "medMaze3Y", "medWallAtEntranceN", "noWallsBigY", "sameLengthPathY", "smallMazeY",
+            "upperLeftMaze1Y", "upperLeftMaze2Y"})
+    public String file;
+
+    @Param({"bfs", "astar", "jps", "bidirectional"})
+    public String strategy;
+
+    @Param({"src/AllMaze"})
+    public String dir;
+
+    private MazeOps ops;
+    private String path;
+    private Object maze;
+
+    /**
+     * Load maze file once per trial.
+     *
+     * @throws IOException maze file cannot be read
+     */
+    @Setup
+    public void setUp() throws IOException {
+        ops = MazeOps.load();
+        path = dir + "/" + file;
+        maze = ops.readText(path);
+        ops.useStrategy(maze, ops.strategy(strategy));
+    }
+
+    /**
+     * Search and build path list.
+     *
+     * @return path, consumed by JMH
+     */
+    @Benchmark
+    public Object solveWithPath() {
+        return ops.solveWithPath(maze);
+    }
+
+    /**
+     * Load maze file, same loader as <code>StartMaze.readMazeFile</code>.
+     *
+     * @return maze, consumed by JMH
+     * @throws IOException maze file cannot be read
+     */
+    @Benchmark
+    public Object load() throws IOException {
+        return ops.readText(path);
+    }
+}
@@ -0,0 +1,93 @@
+package jmh;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Search benchmark on large generated mazes.
+ * Covers open grids, a warehouse floor of shelves and aisles, a single dense winding corridor, random obstacles,
+ * perfect and braided mazes from <code>MazeGenerator</code> and an unreachable exit, from 1k x 1k to 20k x 20k, for
+ * every search strategy.
+ * <code>solve</code> measures search only, <code>solveWithPath</code> also materializes the path as list of
+ * coordinates, which is what <code>MazeComponent</code> draws. <code>reachable</code> only answers whether exit can
+ * be reached, so "bitset" against "bfs" tracks both gaps of <code>BitParallelBreadthFirstSearch</code>: level by level
+ * search in <code>solve</code> and run filling of <code>isReachable</code> here.
+ * Mazes of 20k x 20k need a heap of several GB, run them with e.g. <code>-jvmArgsAppend -Xmx12g</code>.
+ *
+ * @author BorisMirage
+ * Time: 2026/10/17 00:08
+ * Created with IntelliJ IDEA
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g"})
+public class SolveBenchmark {
+
+    @Param({"open", "warehouse", "corridor", "random", "perfect", "braided", "unreachable"})
+    public String shape;
+
+    @Param({"1000", "5000", "10000", "20000"})
+    public int size;
+
+    @Param({"bfs", "astar", "jps", "bidirectional", "parallel", "bitset"})
+    public String strategy;
+
+    private MazeOps ops;
+    private Object maze;
+    private Object search;      // strategy set on maze
+
+    /**
+     * Generate maze once per trial, it is reused by every invocation.
+     */
+    @Setup
+    public void setUp() {
+        ops = MazeOps.load();
+        maze = ops.generate(shape, size);
+        search = ops.strategy(strategy);
+        ops.useStrategy(maze, search);
+    }
+
+    /**
+     * Search only.
+     *
+     * @return route, consumed by JMH
+     */
+    @Benchmark
+    public Object solve() {
+        return ops.solve(maze);
+    }
+
+    /**
+     * Search and build path list.
+     *
+     * @return path, consumed by JMH
+     */
+    @Benchmark
+    public Object solveWithPath() {
+        return ops.solveWithPath(maze);
+    }
+
+    /**
+     * Reachability only, with run filling for "bitset" and full search for other strategies.
+     *
+     * @return true if exit is reachable, consumed by JMH
+     */
+    @Benchmark
+    public boolean reachable() {
+        return ops.reachable(maze, search);
+    }
+}
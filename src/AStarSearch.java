@@ -0,0 +1,98 @@
+/**
+ * A* search with pluggable heuristic.
+ * Open list is a primitive binary heap ordered by f = g + h, ties are broken by larger g, so that search goes deep
+ * along one of many equally good paths instead of widening on open area.
+ * Search stops as soon as exit is polled from open list (settled), hence usually only part of maze is expanded.
+ * With admissible and consistent heuristic, result path has the same length as the one found by BFS.
+ *
+ * @author BorisMirage
+ * Time: 2026/10/16 11:31
+ * Created with IntelliJ IDEA
+ */
+public class AStarSearch implements SearchStrategy {
+
+    private final Heuristic heuristic;
+
+    /**
+     * Create A* search with Manhattan heuristic.
+     */
+    public AStarSearch() {
+        this(Heuristic.MANHATTAN);
+    }
+
+    /**
+     * Create A* search with given heuristic.
+     *
+     * @param heuristic admissible and consistent heuristic
+     */
+    public AStarSearch(Heuristic heuristic) {
+        this.heuristic = heuristic;
+    }
+
+    /**
+     * Expand cells in order of f until exit is settled, then follow parents back from exit.
+     * <code>distance</code> in scratch stores g + 1 of each reached cell.
+     * A cell can be pushed more than once if its g is improved, stale heap entry is skipped when it is polled.
+     *
+     * @param grid    wall grid
+     * @param start   flat index of entry
+     * @param end     flat index of exit
+     * @param scratch reusable working state
+     * @return search result
+     */
+    @Override
+    public SearchResult search(MazeGrid grid, int start, int end, SearchScratch scratch) {
+        CellHeap open = scratch.heap;
+        int cols = grid.numCols();
+        int endRow = end / cols;
+        int endCol = end % cols;
+        int expanded = 0;
+        int reopened = 0;
+
+        scratch.setDistance(start, 1);
+        open.add(key(1, heuristic.estimate(start / cols, start % cols, endRow, endCol)), start);
+        while (!open.isEmpty()) {
+            long key = open.peekKey();
+            int cell = open.poll();
+            int g = scratch.distance(cell);
+            int h = heuristic.estimate(cell / cols, cell % cols, endRow, endCol);
+            if (key != key(g, h)) {
+                continue;       // stale entry, this cell has been pushed again with smaller g
+            }
+            expanded++;
+            if (cell == end) {
+                return new SearchResult(scratch.parentPath(grid, start, end), expanded, reopened, open.peak());
+            }
+
+            int next = g + 1;
+            for (int i = 0; i < 4; i++) {
+                int n = grid.freeNeighbor(cell, i);
+                if (n < 0) {
+                    continue;
+                }
+                int d = scratch.distance(n);
+                if (d == 0 || d > next) {
+                    if (d != 0) {
+                        reopened++;
+                    }
+                    scratch.setDistance(n, next);
+                    scratch.setParent(n, i);
+                    open.add(key(next, heuristic.estimate(n / cols, n % cols, endRow, endCol)), n);
+                }
+            }
+        }
+        return new SearchResult(null, expanded, reopened, open.peak());
+    }
+
+    /**
+     * Pack f = g + h into high 32 bits and inverted g into low 32 bits.
+     * Smaller key means smaller f, and for equal f, larger g.
+     *
+     * @param g distance from entry (entry is 1)
+     * @param h estimated distance to exit
+     * @return heap key
+     */
+    static long key(int g, int h) {
+        return ((long) (g + h) << 32) | (Integer.MAX_VALUE - g);
+    }
+}
@@ -0,0 +1,153 @@
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Checks of <code>AStarSearch</code> against <code>BreadthFirstSearch</code>.
+ * Run with <code>java AStarSearchTester</code>, exit status is 1 if any check fails.
+ *
+ * @author BorisMirage
+ * Time: 2026/10/17 00:00
+ * Created with IntelliJ IDEA
+ */
+public class AStarSearchTester {
+
+    private static int failed;      // number of failed checks
+
+    /**
+     * Run all checks.
+     *
+     * @param args not used
+     */
+    public static void main(String[] args) {
+        checkOpenGrid();
+        checkDetour();
+        checkEndpoints();
+        checkRandomGrids();
+        System.out.println(failed == 0 ? "All checks passed" : failed + " checks failed");
+        if (failed > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * On a grid without walls, path is as long as Manhattan distance and A* expands far fewer cells than BFS.
+     */
+    private static void checkOpenGrid() {
+        int[][] data = new int[40][40];
+        Maze bfs = new Maze(data, new MazeCoord(0, 0), new MazeCoord(39, 39));
+        Maze astar = new Maze(data, new MazeCoord(0, 0), new MazeCoord(39, 39));
+        astar.setSearchStrategy(new AStarSearch());
+        bfs.searchPath();
+        boolean found = astar.searchPath();
+        check("open grid path length", found && astar.getPath().size() == 79 && isValid(astar, astar.getPath()));
+        check("open grid expands less than BFS", astar.getExpandedCount() * 4 < bfs.getExpandedCount());
+    }
+
+    /**
+     * Wall row with one gap at far end forces a detour away from the heuristic's direction.
+     */
+    private static void checkDetour() {
+        int[][] data = new int[5][5];
+        for (int j = 0; j < 4; j++) {
+            data[2][j] = -1;
+        }
+        Maze astar = new Maze(data, new MazeCoord(0, 0), new MazeCoord(4, 0));
+        astar.setSearchStrategy(new AStarSearch());
+        boolean found = astar.searchPath();
+        check("detour through gap", found && astar.getPath().size() == 13 && isValid(astar, astar.getPath()));
+
+        /* Searching again reuses scratch of maze */
+        found = astar.searchPath();
+        check("repeated search", found && astar.getPath().size() == 13);
+    }
+
+    /**
+     * Entry equal to exit, entry on wall, and exit sealed by walls.
+     */
+    private static void checkEndpoints() {
+        int[][] data = new int[6][6];
+        data[4][5] = -1;
+        data[5][4] = -1;
+        data[0][3] = -1;
+        Maze same = new Maze(data, new MazeCoord(2, 2), new MazeCoord(2, 2));
+        same.setSearchStrategy(new AStarSearch());
+        check("entry equals exit", same.searchPath() && same.getPath().size() == 1);
+
+        Maze wall = new Maze(data, new MazeCoord(0, 3), new MazeCoord(2, 2));
+        wall.setSearchStrategy(new AStarSearch());
+        check("entry on wall", !wall.searchPath());
+
+        Maze sealed = new Maze(data, new MazeCoord(0, 0), new MazeCoord(5, 5));
+        sealed.setSearchStrategy(new AStarSearch());
+        check("sealed exit", !sealed.searchPath());
+    }
+
+    /**
+     * Manhattan and zero heuristics give paths as long as BFS on random grids of up to 45% walls.
+     */
+    private static void checkRandomGrids() {
+        Random rnd = new Random(20180726L);
+        int bad = 0;
+        for (int t = 0; t < 500; t++) {
+            int rows = 1 + rnd.nextInt(30);
+            int cols = 1 + rnd.nextInt(30);
+            double density = rnd.nextDouble() * 0.45;
+            int[][] data = new int[rows][cols];
+            for (int i = 0; i < rows; i++) {
+                for (int j = 0; j < cols; j++) {
+                    data[i][j] = rnd.nextDouble() < density ? -1 : 0;
+                }
+            }
+            MazeCoord entry = new MazeCoord(rnd.nextInt(rows), rnd.nextInt(cols));
+            MazeCoord exit = new MazeCoord(rnd.nextInt(rows), rnd.nextInt(cols));
+            Maze bfs = new Maze(data, entry, exit);
+            boolean found = bfs.searchPath();
+            for (Heuristic heuristic : new Heuristic[]{Heuristic.MANHATTAN, Heuristic.ZERO}) {
+                Maze astar = new Maze(data, entry, exit);
+                astar.setSearchStrategy(new AStarSearch(heuristic));
+                if (astar.searchPath() != found || found && (astar.getPath().size() != bfs.getPath().size()
+                        || !isValid(astar, astar.getPath()))) {
+                    bad++;
+                }
+            }
+        }
+        check("random grids match BFS", bad == 0);
+    }
+
+    /**
+     * Check that path runs from entry to exit through adjacent free cells.
+     *
+     * @param maze maze
+     * @param path path found in maze
+     * @return true if path is valid
+     */
+    private static boolean isValid(Maze maze, List<MazeCoord> path) {
+        if (!path.get(0).equals(maze.getEntryLoc()) || !path.get(path.size() - 1).equals(maze.getExitLoc())) {
+            return false;
+        }
+        for (int i = 0; i < path.size(); i++) {
+            MazeCoord cell = path.get(i);
+            if (maze.hasWall(cell)) {
+                return false;
+            }
+            if (i > 0 && Math.abs(cell.getRow() - path.get(i - 1).getRow())
+                    + Math.abs(cell.getCol() - path.get(i - 1).getCol()) != 1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Print result of one check.
+     *
+     * @param name   check name
+     * @param passed true if check passed
+     */
+    private static void check(String name, boolean passed) {
+        System.out.println((passed ? "PASS " : "FAIL ") + name);
+        if (!passed) {
+            failed++;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/**
+ * Bidirectional breadth-first search, frontiers grow from entry and exit at the same time.
+ * Each round expands one whole BFS level of the smaller frontier. When a level touches the other side, the best
+ * meeting point in that level gives a shortest path and search stops.
+ * If either frontier becomes empty first, the two ends are in different regions and no path exists, so a sealed-in
+ * exit (or entry) costs only the size of its own small region instead of a flood of whole maze.
+ * <code>distance</code> in scratch is positive for cells reached from entry (entry is 1) and negative for cells
+ * reached from exit (exit is -1).
+ *
+ * @author BorisMirage
+ * Time: 2026/10/17 00:02
+ * Created with IntelliJ IDEA
+ */
+public class BidirectionalSearch implements SearchStrategy {
+
+    /**
+     * Alternate level expansion of both frontiers until they meet or one of them is exhausted.
+     *
+     * @param grid    wall grid
+     * @param start   flat index of entry
+     * @param end     flat index of exit
+     * @param scratch reusable working state
+     * @return search result
+     */
+    @Override
+    public SearchResult search(MazeGrid grid, int start, int end, SearchScratch scratch) {
+        IntQueue forward = scratch.queue;
+        IntQueue backward = scratch.backQueue;
+        int expanded = 0;
+
+        scratch.setDistance(start, 1);
+        scratch.setDistance(end, -1);
+        forward.add(start);
+        backward.add(end);
+
+        int bestLength = Integer.MAX_VALUE;     // number of cells of best path found
+        int bestFrom = -1;                      // meeting cell on entry side
+        int bestTo = -1;                        // meeting cell on exit side
+        while (!forward.isEmpty() && !backward.isEmpty()) {
+            boolean isForward = forward.size() <= backward.size();
+            IntQueue frontier = isForward ? forward : backward;
+            int sign = isForward ? 1 : -1;
+
+            /* Expand exactly one level */
+            for (int count = frontier.size(); count > 0; count--) {
+                int cell = frontier.poll();
+                int next = scratch.distance(cell) + sign;
+                expanded++;
+                for (int i = 0; i < 4; i++) {
+                    int n = grid.freeNeighbor(cell, i);
+                    if (n < 0) {
+                        continue;
+                    }
+                    int d = scratch.distance(n);
+                    if (d == 0) {
+                        scratch.setDistance(n, next);
+                        scratch.setParent(n, i);
+                        frontier.add(n);
+                    } else if ((d ^ sign) < 0) {
+
+                        /* Reached by the other side */
+                        int length = Math.abs(scratch.distance(cell)) + Math.abs(d);
+                        if (length < bestLength) {
+                            bestLength = length;
+                            bestFrom = isForward ? cell : n;
+                            bestTo = isForward ? n : cell;
+                        }
+                    }
+                }
+            }
+            if (bestFrom >= 0) {
+                return new SearchResult(stitchPath(grid, start, end, bestFrom, bestTo, scratch), expanded, 0,
+                        forward.peak() + backward.peak());
+            }
+        }
+        return new SearchResult(null, expanded, 0, forward.peak() + backward.peak());
+    }
+
+    /**
+     * Join the two half paths at meeting cells.
+     * Entry half is traced from <code>from</code> back to entry, exit half from <code>to</code> to exit, both following
+     * recorded orientation.
+     *
+     * @param grid    wall grid
+     * @param start   flat index of entry
+     * @param end     flat index of exit
+     * @param from    meeting cell reached from entry
+     * @param to      adjacent meeting cell reached from exit
+     * @param scratch scratch that contains distance and orientation
+     * @return flat indices of path from entry to exit
+     */
+    private static int[] stitchPath(MazeGrid grid, int start, int end, int from, int to, SearchScratch scratch) {
+        scratch.markPathStart();
+        int[] result = new int[scratch.distance(from) - scratch.distance(to)];
+
+        /* Entry half, filled from meeting cell backward */
+        int cell = from;
+        for (int k = scratch.distance(from) - 1; k > 0; k--) {
+            result[k] = cell;
+            cell = grid.neighbor(cell, 3 - scratch.parent(cell));
+        }
+        result[0] = start;
+
+        /* Exit half, filled from meeting cell forward */
+        cell = to;
+        for (int k = scratch.distance(from); k < result.length - 1; k++) {
+            result[k] = cell;
+            cell = grid.neighbor(cell, 3 - scratch.parent(cell));
+        }
+        result[result.length - 1] = end;
+        return result;
+    }
+}
@@ -0,0 +1,199 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Compact binary maze format, with converter from text format and memory-mapped loader.
+ * Layout (all values little-endian):
+ * <pre>
+ * offset  size  content
+ *      0     4  magic "MAZB"
+ *      4     4  format version, currently 1
+ *      8     4  rows
+ *     12     4  cols
+ *     16     4  entry row
+ *     20     4  entry col
+ *     24     4  exit row
+ *     28     4  exit col
+ *     32   8*n  wall bitmap, n = ceil(rows * cols / 64) long words, bit i is cell i in row-major order
+ * </pre>
+ * Bitmap has exactly the same layout as <code>MazeGrid</code> in memory, so <code>map</code> wraps the mapped file as
+ * wall storage directly. Nothing is parsed or copied, and the maze does not need to fit into heap.
+ * Usage of converter: <code>java BinaryMazeFile input.txt output.mzb</code>
+ *
+ * @author BorisMirage
+ * Time: 2026/10/17 00:08
+ * Created with IntelliJ IDEA
+ */
+public final class BinaryMazeFile {
+
+    private static final int MAGIC = 0x425a414d;    // "MAZB" in little-endian
+    private static final int VERSION = 1;
+    static final int HEADER_SIZE = 32;              // multiple of 8, so bitmap words are aligned
+    private static final int WRITE_BUFFER_SIZE = 1 << 20;
+
+    private BinaryMazeFile() {
+    }
+
+    /**
+     * Convert text maze file to binary format.
+     *
+     * @param args input text file and output binary file
+     */
+    public static void main(String[] args) {
+        if (args.length != 2) {
+            System.out.println("Usage: java BinaryMazeFile <input maze file> <output binary file>");
+            return;
+        }
+        try {
+            write(MazeFileReader.read(args[0]), Paths.get(args[1]));
+        } catch (IOException exc) {
+            System.out.println("ERROR: " + exc.getMessage());
+        }
+    }
+
+    /**
+     * Write maze to binary file.
+     *
+     * @param maze maze to be written
+     * @param path output file path, replaced if it exists
+     * @throws IOException file cannot be written, or maze has terrain costs, which this format cannot store
+     */
+    public static void write(Maze maze, Path path) throws IOException {
+        MazeGrid grid = maze.getGrid();
+        if (grid.isWeighted()) {
+            throw new IOException(path + ": binary maze format stores walls only, terrain costs would be lost");
+        }
+        int words = MazeGrid.numWords(grid.numRows(), grid.numCols());
+        ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(grid.numRows()).putInt(grid.numCols());
+        buffer.putInt(maze.getEntryLoc().getRow()).putInt(maze.getEntryLoc().getCol());
+        buffer.putInt(maze.getExitLoc().getRow()).putInt(maze.getExitLoc().getCol());
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (int w = 0; w < words; w++) {
+                if (buffer.remaining() < Long.BYTES) {
+                    flush(channel, buffer);
+                }
+                buffer.putLong(grid.word(w));
+            }
+            flush(channel, buffer);
+        }
+    }
+
+    /**
+     * Map binary maze file into memory and create maze on it.
+     * Walls are read straight from the mapping, which stays valid after file channel is closed.
+     * Mapping is read-only. <code>Maze.setWall</code> on the returned maze first copies walls into heap, and the file
+     * is never modified.
+     *
+     * @param path binary maze file path
+     * @return maze backed by mapped file
+     * @throws IOException file cannot be read, or it is not a valid binary maze file
+     */
+    public static Maze map(Path path) throws IOException {
+        long begin = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            int[] header = readHeader(channel, path);
+            long bitmapSize = (long) MazeGrid.numWords(header[0], header[1]) * Long.BYTES;
+            MappedByteBuffer bitmap = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE, bitmapSize);
+            MazeGrid grid = new MazeGrid(header[0], header[1], bitmap.order(ByteOrder.LITTLE_ENDIAN).asLongBuffer());
+            Maze maze = new Maze(grid, new MazeCoord(header[2], header[3]), new MazeCoord(header[4], header[5]));
+            maze.setLoadNanos(System.nanoTime() - begin);
+            return maze;
+        }
+    }
+
+    /**
+     * Map binary maze file into memory and create maze on it.
+     *
+     * @param fileName binary maze file path
+     * @return maze backed by mapped file
+     * @throws IOException file cannot be read, or it is not a valid binary maze file
+     */
+    public static Maze map(String fileName) throws IOException {
+        return map(Paths.get(fileName));
+    }
+
+    /**
+     * Read and check header of binary maze file.
+     *
+     * @param channel open file channel
+     * @param path    file path, for error message
+     * @return rows, cols, entry row, entry col, exit row and exit col
+     * @throws IOException file cannot be read, or it is not a valid binary maze file
+     */
+    static int[] readHeader(FileChannel channel, Path path) throws IOException {
+        long size = channel.size();
+        if (size < HEADER_SIZE) {
+            throw new IOException(path + ": file too small for binary maze header");
+        }
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        while (header.hasRemaining()) {
+            if (channel.read(header, header.position()) < 0) {
+                throw new IOException(path + ": file too small for binary maze header");
+            }
+        }
+        if (header.getInt(0) != MAGIC) {
+            throw new IOException(path + ": not a binary maze file");
+        }
+        if (header.getInt(4) != VERSION) {
+            throw new IOException(path + ": unsupported binary maze version " + header.getInt(4));
+        }
+        int rows = header.getInt(8);
+        int cols = header.getInt(12);
+        if (rows <= 0 || cols <= 0 || (long) rows * cols > Integer.MAX_VALUE) {
+            throw new IOException(path + ": invalid maze size " + rows + " x " + cols);
+        }
+        if (size < HEADER_SIZE + (long) MazeGrid.numWords(rows, cols) * Long.BYTES) {
+            throw new IOException(path + ": wall bitmap is truncated");
+        }
+        int[] values = new int[6];
+        values[0] = rows;
+        values[1] = cols;
+        for (int i = 2; i < 6; i++) {
+            values[i] = header.getInt(8 + 4 * i);
+        }
+        checkCoord(values[2], values[3], rows, cols, path, "entry");
+        checkCoord(values[4], values[5], rows, cols, path, "exit");
+        return values;
+    }
+
+    /**
+     * Check a location read from header is inside maze.
+     *
+     * @param row  row number
+     * @param col  column number
+     * @param rows number of rows of maze
+     * @param cols number of columns of maze
+     * @param path file path, for error message
+     * @param name name of location, for error message
+     * @throws IOException location is out of maze
+     */
+    private static void checkCoord(int row, int col, int rows, int cols, Path path, String name) throws IOException {
+        if (row < 0 || row >= rows || col < 0 || col >= cols) {
+            throw new IOException(path + ": " + name + " (" + row + ", " + col + ") is out of maze");
+        }
+    }
+
+    /**
+     * Write buffered bytes to channel and clear buffer.
+     *
+     * @param channel output channel
+     * @param buffer  buffer in write mode
+     * @throws IOException bytes cannot be written
+     */
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
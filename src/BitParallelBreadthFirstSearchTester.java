@@ -0,0 +1,135 @@
+import java.util.Random;
+
+/**
+ * Checks of <code>BitParallelBreadthFirstSearch</code> against <code>BreadthFirstSearch</code>, with one scratch reused
+ * by grids of different widths.
+ * Run with <code>java BitParallelBreadthFirstSearchTester</code>, exit status is 1 if any check fails.
+ *
+ * @author BorisMirage
+ * Time: 2026/10/17 01:48
+ * Created with IntelliJ IDEA
+ */
+public class BitParallelBreadthFirstSearchTester {
+
+    private static int failed;      // number of failed checks
+
+    /**
+     * Run all checks.
+     *
+     * @param args not used
+     */
+    public static void main(String[] args) {
+        checkWordEdges();
+        checkSharedScratch();
+        checkReachable();
+        System.out.println(failed == 0 ? "All checks passed" : failed + " checks failed");
+        if (failed > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Open grids whose width is around a multiple of 64, so paths cross word borders and padded last words.
+     */
+    private static void checkWordEdges() {
+        boolean same = true;
+        for (int cols : new int[]{1, 2, 63, 64, 65, 127, 128, 129}) {
+            Maze maze = new Maze(new MazeGrid(7, cols), new MazeCoord(0, 0), new MazeCoord(6, cols - 1));
+            maze.setSearchStrategy(new BitParallelBreadthFirstSearch());
+            MazeRoute route = maze.solve(maze.getEntryLoc(), maze.getExitLoc());
+            same &= route.getLength() == 7 + cols - 1 && isValid(maze, route);
+        }
+        check("word borders", same);
+    }
+
+    /**
+     * One scratch serves random grids of changing size and density in turn, so stale bits of a larger or differently
+     * shaped grid must never leak into the next search.
+     */
+    private static void checkSharedScratch() {
+        Random rnd = new Random(20180726L);
+        SearchScratch scratch = new SearchScratch(151 * 151);
+        SearchStrategy bitset = new BitParallelBreadthFirstSearch();
+        SearchStrategy bfs = new BreadthFirstSearch();
+        boolean same = true;
+        for (int t = 0; t < 300; t++) {
+            int rows = 1 + rnd.nextInt(150);
+            int cols = 1 + rnd.nextInt(150);
+            Maze maze = t % 2 == 0 ? new MazeGenerator(t).obstacles(rows, cols, rnd.nextDouble() * 0.4)
+                    : new MazeGenerator(t).braided(rows | 1, cols | 1, 0.3);
+            MazeGrid grid = maze.getGrid();
+            for (int q = 0; q < 5; q++) {
+                MazeCoord from = new MazeCoord(rnd.nextInt(grid.numRows()), rnd.nextInt(grid.numCols()));
+                MazeCoord to = new MazeCoord(rnd.nextInt(grid.numRows()), rnd.nextInt(grid.numCols()));
+                MazeRoute expected = Maze.solve(grid, bfs, scratch, from, to);
+                MazeRoute route = Maze.solve(grid, bitset, scratch, from, to);
+                same &= route.isFound() == expected.isFound() && route.getLength() == expected.getLength()
+                        && (!route.isFound() || isValid(maze, route));
+            }
+        }
+        check("shared scratch matches BFS", same);
+    }
+
+    /**
+     * Reachability with and without scratch agrees with BFS, including wall endpoints and a sealed corner.
+     */
+    private static void checkReachable() {
+        Random rnd = new Random(20180726L);
+        SearchScratch scratch = new SearchScratch(100 * 100);
+        boolean same = true;
+        for (int t = 0; t < 100; t++) {
+            int size = 10 + rnd.nextInt(91);
+            Maze maze = new MazeGenerator(t).obstacles(size, size, 0.1 + rnd.nextDouble() * 0.35);
+            MazeGrid grid = maze.getGrid();
+            for (int q = 0; q < 10; q++) {
+                MazeCoord from = new MazeCoord(rnd.nextInt(size), rnd.nextInt(size));
+                MazeCoord to = new MazeCoord(rnd.nextInt(size), rnd.nextInt(size));
+                boolean expected = maze.solve(from, to).isFound();
+                same &= BitParallelBreadthFirstSearch.isReachable(grid, from, to) == expected
+                        && BitParallelBreadthFirstSearch.isReachable(grid, from, to, scratch) == expected;
+            }
+        }
+        check("reachability matches BFS", same);
+
+        MazeGrid sealed = new MazeGrid(70, 70);
+        sealed.setWall(sealed.index(68, 69), true);
+        sealed.setWall(sealed.index(69, 68), true);
+        check("sealed corner", !BitParallelBreadthFirstSearch.isReachable(sealed, new MazeCoord(0, 0),
+                new MazeCoord(69, 69), scratch) && !BitParallelBreadthFirstSearch.isReachable(sealed,
+                new MazeCoord(0, 0), new MazeCoord(68, 69), scratch));
+    }
+
+    /**
+     * Check that route is a chain of adjacent free cells from start to target.
+     *
+     * @param maze  maze
+     * @param route found route
+     * @return true if route is valid
+     */
+    private static boolean isValid(Maze maze, MazeRoute route) {
+        MazePath path = route.getPath();
+        if (!path.get(0).equals(route.getFrom()) || !path.get(path.size() - 1).equals(route.getTo())) {
+            return false;
+        }
+        for (int i = 0; i < path.size(); i++) {
+            if (maze.getGrid().hasWall(path.cellAt(i)) || i > 0 && Math.abs(path.rowAt(i) - path.rowAt(i - 1))
+                    + Math.abs(path.colAt(i) - path.colAt(i - 1)) != 1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Print result of one check.
+     *
+     * @param name   check name
+     * @param passed true if check passed
+     */
+    private static void check(String name, boolean passed) {
+        System.out.println((passed ? "PASS " : "FAIL ") + name);
+        if (!passed) {
+            failed++;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/**
+ * Breadth-first search, which is Dijkstra algorithm on unit-weight grid.
+ * Since every move costs 1, the first time a cell is reached is already its min distance from entry.
+ * Hence each free cell is visited exactly once and never re-opened, and no recursion is involved.
+ * This search floods whole region reachable from entry, so after it <code>distance</code> in scratch is complete.
+ * Each reached cell records the orientation of the move from its parent in 2 bits, and path is rebuilt from these
+ * parents in one pass. When a cell can be reached from several parents of the same level, the parent kept is the
+ * one the previous distance-gradient trace chose, so the path is unchanged.
+ *
+ * @author BorisMirage
+ * Time: 2026/10/16 11:25
+ * Created with IntelliJ IDEA
+ */
+public class BreadthFirstSearch implements SearchStrategy {
+
+    /**
+     * Flood from entry with a primitive ring-buffer frontier, then follow parents back from exit.
+     * Neighbors are obtained by precomputed index offset, so no object is allocated per cell.
+     *
+     * @param grid    wall grid
+     * @param start   flat index of entry
+     * @param end     flat index of exit
+     * @param scratch reusable working state
+     * @return search result
+     */
+    @Override
+    public SearchResult search(MazeGrid grid, int start, int end, SearchScratch scratch) {
+        IntQueue frontier = scratch.queue;
+        int expanded = 0;
+
+        scratch.setDistance(start, 1);
+        frontier.add(start);
+        while (!frontier.isEmpty()) {
+            int cell = frontier.poll();
+            int next = scratch.distance(cell) + 1;
+            expanded++;
+
+            /* Same direction order as MazeCoord.move: up, left, right, down */
+            for (int i = 0; i < 4; i++) {
+                int n = grid.freeNeighbor(cell, i);
+                if (n < 0) {
+                    continue;
+                }
+                int d = scratch.distance(n);
+                if (d == 0) {
+                    scratch.setDistance(n, next);
+                    scratch.setParent(n, i);
+                    frontier.add(n);
+                } else if (d == next && i > scratch.parent(n)) {
+
+                    /* Trace from exit used to prefer neighbors in order up, left, right, down, which is the parent
+                     * reached by the largest orientation */
+                    scratch.setParent(n, i);
+                }
+            }
+        }
+
+        if (scratch.distance(end) == 0) {
+            return new SearchResult(null, expanded, 0, frontier.peak());
+        }
+        return new SearchResult(scratch.parentPath(grid, start, end), expanded, 0, frontier.peak());
+    }
+}
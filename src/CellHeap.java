@@ -0,0 +1,126 @@
+import java.util.Arrays;
+
+/**
+ * Binary min-heap of cells keyed by primitive long priority.
+ * Keys and cells are stored in two parallel arrays, so no node object is created per insertion.
+ * Used as open list of A* search.
+ *
+ * @author BorisMirage
+ * Time: 2026/10/16 11:20
+ * Created with IntelliJ IDEA
+ */
+final class CellHeap {
+
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    private long[] keys = new long[DEFAULT_CAPACITY];
+    private int[] cells = new int[DEFAULT_CAPACITY];
+    private int size;
+    private int peak;       // largest size since last clear
+
+    /**
+     * Insert cell with given priority.
+     *
+     * @param key  priority, smaller key is polled first
+     * @param cell flat cell index
+     */
+    void add(long key, int cell) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size << 1);
+            cells = Arrays.copyOf(cells, size << 1);
+        }
+
+        /* Sift up */
+        int i = size++;
+        if (size > peak) {
+            peak = size;
+        }
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (keys[parent] <= key) {
+                break;
+            }
+            keys[i] = keys[parent];
+            cells[i] = cells[parent];
+            i = parent;
+        }
+        keys[i] = key;
+        cells[i] = cell;
+    }
+
+    /**
+     * Get smallest key without removing it.
+     * Caller should check <code>isEmpty</code> first.
+     *
+     * @return smallest key
+     */
+    long peekKey() {
+        return keys[0];
+    }
+
+    /**
+     * Remove the cell with smallest key.
+     * Caller should check <code>isEmpty</code> first.
+     *
+     * @return flat cell index
+     */
+    int poll() {
+        int top = cells[0];
+        long key = keys[--size];
+        int cell = cells[size];
+
+        /* Sift down */
+        int i = 0;
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && keys[child + 1] < keys[child]) {
+                child++;
+            }
+            if (key <= keys[child]) {
+                break;
+            }
+            keys[i] = keys[child];
+            cells[i] = cells[child];
+            i = child;
+        }
+        keys[i] = key;
+        cells[i] = cell;
+        return top;
+    }
+
+    /**
+     * Get number of cells in heap.
+     *
+     * @return number of cells
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Get largest number of cells held at once since last <code>clear</code>.
+     *
+     * @return peak size
+     */
+    int peak() {
+        return peak;
+    }
+
+    /**
+     * Check if heap is empty.
+     *
+     * @return true if there is no cell in heap
+     */
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Remove all cells. Backing arrays are kept for reuse.
+     */
+    void clear() {
+        size = 0;
+        peak = 0;
+    }
+}
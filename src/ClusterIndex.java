@@ -0,0 +1,770 @@
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.InvalidParameterException;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.IntStream;
+
+/**
+ * Hierarchical path-finding (HPA*) index of a maze: a precomputed abstract graph over fixed-size square clusters.
+ * <p>
+ * Grid is split into clusters of <code>clusterSize</code> x <code>clusterSize</code> cells. Along each border between
+ * two clusters, every maximal run of cell pairs that are free on both sides gets one transition in its middle, or two
+ * at its ends if it is 6 cells or longer. Cells of transitions are the nodes of the abstract graph; nodes of the same
+ * cluster are linked by their distance inside the cluster (one BFS per node, stored as a small matrix), nodes facing
+ * each other across a border are linked by one move.
+ * <p>
+ * A query connects start and target to the nodes of their clusters with one BFS inside each cluster, runs A* on the
+ * abstract graph, then refines every abstract edge into cells with a BFS inside one cluster. Work per query depends on
+ * cluster size and the number of clusters the route crosses, not on total grid size. Abstract nodes are numbered
+ * densely, cluster by cluster, and g and parent of the abstract search live in flat arrays indexed by node number,
+ * invalidated by epoch like <code>SearchScratch</code>. Each running query or cluster build borrows such a scratch,
+ * together with the BFS buffers of one cluster, from a pool, so queries can run concurrently with each other and
+ * allocate little more than their route once the pool is warm. Routes are usually a few percent longer than
+ * the shortest path, since a route can only cross a border at a transition; use <code>Maze.solve</code> when exact
+ * length matters.
+ * <p>
+ * Walls should be changed through <code>setWall</code>, which rebuilds only the cluster of the cell and, for a
+ * border cell, the cluster on the other side. Walls changed by other means are detected on next query and the whole
+ * index is rebuilt once under the lock of the index, while other queries wait for it. <code>setWall</code>, and
+ * changing walls by other means, must not run concurrently with queries.
+ * <p>
+ * Index file layout (little-endian): magic "MAZH", version, rows, cols, cluster size, 8-byte content hash of the
+ * grid, then for each cluster in row-major order its node count k, k flat cell indices and k * k distances of 2 bytes.
+ *
+ * @author BorisMirage
+ * Time: 2026/10/17 00:31
+ * Created with IntelliJ IDEA
+ */
+public final class ClusterIndex {
+
+    public static final int DEFAULT_CLUSTER_SIZE = 32;
+    private static final int MIN_CLUSTER_SIZE = 4;
+    private static final int MAX_CLUSTER_SIZE = 128;       // longest path inside cluster must fit into a char
+    private static final char UNREACHABLE = Character.MAX_VALUE;
+    private static final int MAGIC = 0x485a414d;           // "MAZH" in little-endian
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 28;
+    private static final int WRITE_BUFFER_SIZE = 1 << 20;
+    private static final int START = -1;                   // virtual node of query start
+    private static final int TARGET = -2;                  // virtual node of query target
+
+    private final Maze maze;
+    private final MazeGrid grid;
+    private final int size;                 // cluster side length in cells
+    private final int clusterRows;
+    private final int clusterCols;
+    private final int[][] nodes;            // sorted flat indices of nodes of each cluster
+    private final char[][] distances;       // k * k distances between nodes of each cluster, row-major
+    private int[] nodeBase;                 // number of first node of each cluster, total node count at the end
+    private volatile int expectedModCount;  // grid modification count the index agrees with
+    private final ConcurrentLinkedQueue<Scratch> pool = new ConcurrentLinkedQueue<>();     // free query scratches
+
+    /**
+     * Create empty index, clusters are filled by caller.
+     *
+     * @param maze maze to be indexed
+     * @param size cluster side length
+     * @throws InvalidParameterException cluster size is out of range
+     */
+    private ClusterIndex(Maze maze, int size) {
+        if (size < MIN_CLUSTER_SIZE || size > MAX_CLUSTER_SIZE) {
+            throw new InvalidParameterException("Cluster size must be in [" + MIN_CLUSTER_SIZE + ", "
+                    + MAX_CLUSTER_SIZE + "]: " + size + " !");
+        }
+        this.maze = maze;
+        this.grid = maze.getGrid();
+        this.size = size;
+        this.clusterRows = (grid.numRows() + size - 1) / size;
+        this.clusterCols = (grid.numCols() + size - 1) / size;
+        this.nodes = new int[clusterRows * clusterCols][];
+        this.distances = new char[clusterRows * clusterCols][];
+    }
+
+    /**
+     * Build index with default cluster size.
+     *
+     * @param maze maze to be indexed
+     * @return index
+     */
+    public static ClusterIndex build(Maze maze) {
+        return build(maze, DEFAULT_CLUSTER_SIZE);
+    }
+
+    /**
+     * Build index. Clusters are independent and are built in parallel on common pool.
+     *
+     * @param maze        maze to be indexed
+     * @param clusterSize cluster side length in cells, 4 to 128
+     * @return index
+     * @throws InvalidParameterException cluster size is out of range
+     */
+    public static ClusterIndex build(Maze maze, int clusterSize) {
+        ClusterIndex index = new ClusterIndex(maze, clusterSize);
+        index.rebuildAll();
+        return index;
+    }
+
+    /**
+     * Load index saved by <code>save</code> for given maze.
+     *
+     * @param maze maze the index was built for
+     * @param path index file path
+     * @return index
+     * @throws IOException file cannot be read, is not a valid index file (including nodes that are out of their
+     *                     cluster, not on its border, on a wall or not sorted), or was built for other walls
+     */
+    public static ClusterIndex load(Maze maze, Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_SIZE || fileSize > Integer.MAX_VALUE) {
+                throw new IOException(path + ": invalid cluster index size " + fileSize);
+            }
+            ByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize).order(ByteOrder.LITTLE_ENDIAN);
+            if (in.getInt() != MAGIC) {
+                throw new IOException(path + ": not a cluster index file");
+            }
+            int version = in.getInt();
+            if (version != VERSION) {
+                throw new IOException(path + ": unsupported cluster index version " + version);
+            }
+            MazeGrid grid = maze.getGrid();
+            int rows = in.getInt();
+            int cols = in.getInt();
+            int clusterSize = in.getInt();
+            if (rows != grid.numRows() || cols != grid.numCols() || in.getLong() != grid.contentHash()) {
+                throw new IOException(path + ": cluster index was built for another maze");
+            }
+            if (clusterSize < MIN_CLUSTER_SIZE || clusterSize > MAX_CLUSTER_SIZE) {
+                throw new IOException(path + ": invalid cluster size " + clusterSize);
+            }
+
+            ClusterIndex index = new ClusterIndex(maze, clusterSize);
+            try {
+                for (int c = 0; c < index.nodes.length; c++) {
+                    int k = in.getInt();
+                    if (k < 0 || k > 4 * clusterSize) {
+                        throw new IOException(path + ": invalid node count " + k + " of cluster " + c);
+                    }
+                    int[] cells = new int[k];
+                    in.asIntBuffer().get(cells);
+                    in.position(in.position() + 4 * k);
+                    char[] dist = new char[k * k];
+                    in.asCharBuffer().get(dist);
+                    in.position(in.position() + 2 * k * k);
+                    index.nodes[c] = cells;
+                    index.distances[c] = dist;
+                    if (!index.isValidCluster(c)) {
+                        throw new IOException(path + ": invalid nodes or distances of cluster " + c);
+                    }
+                }
+            } catch (BufferUnderflowException exc) {
+                throw new IOException(path + ": cluster index is truncated");
+            }
+            if (in.hasRemaining()) {
+                throw new IOException(path + ": unexpected data after last cluster");
+            }
+            index.numberNodes();
+            index.expectedModCount = grid.modCount();
+            return index;
+        }
+    }
+
+    /**
+     * Save index to file.
+     *
+     * @param path output file path, replaced if it exists
+     * @throws IOException file cannot be written
+     */
+    public void save(Path path) throws IOException {
+        checkCurrent();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(grid.numRows()).putInt(grid.numCols()).putInt(size);
+        buffer.putLong(grid.contentHash());
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (int c = 0; c < nodes.length; c++) {
+                if (buffer.remaining() < Integer.BYTES) {
+                    flush(channel, buffer);
+                }
+                buffer.putInt(nodes[c].length);
+                for (int cell : nodes[c]) {
+                    if (buffer.remaining() < Integer.BYTES) {
+                        flush(channel, buffer);
+                    }
+                    buffer.putInt(cell);
+                }
+                for (char d : distances[c]) {
+                    if (buffer.remaining() < Character.BYTES) {
+                        flush(channel, buffer);
+                    }
+                    buffer.putChar(d);
+                }
+            }
+            flush(channel, buffer);
+        }
+    }
+
+    /**
+     * Put or remove a wall and rebuild affected clusters.
+     *
+     * @param loc  location to be changed
+     * @param wall true to put wall, false to remove it
+     * @throws InvalidParameterException location is out of maze
+     */
+    public synchronized void setWall(MazeCoord loc, boolean wall) {
+        if (!grid.contains(loc.getRow(), loc.getCol())) {
+            throw new InvalidParameterException("Location out of maze: " + loc + " !");
+        }
+        int cell = grid.index(loc.getRow(), loc.getCol());
+        if (grid.hasWall(cell) == wall) {
+            return;
+        }
+        boolean current = expectedModCount == grid.modCount();
+        maze.setWall(loc, wall);
+        if (!current) {
+            return;
+        }
+        expectedModCount = grid.modCount();
+
+        /* Transitions on a border belong to both clusters of it */
+        int cr = loc.getRow() / size;
+        int cc = loc.getCol() / size;
+        buildCluster(cr, cc);
+        if (loc.getRow() % size == 0 && cr > 0) {
+            buildCluster(cr - 1, cc);
+        }
+        if (loc.getRow() % size == size - 1 && cr < clusterRows - 1) {
+            buildCluster(cr + 1, cc);
+        }
+        if (loc.getCol() % size == 0 && cc > 0) {
+            buildCluster(cr, cc - 1);
+        }
+        if (loc.getCol() % size == size - 1 && cc < clusterCols - 1) {
+            buildCluster(cr, cc + 1);
+        }
+        numberNodes();
+    }
+
+    /**
+     * Find route from entry to exit of maze.
+     *
+     * @return route
+     */
+    public MazeRoute solve() {
+        return solve(maze.getEntryLoc(), maze.getExitLoc());
+    }
+
+    /**
+     * Find route between two locations: abstract search over cluster graph, then refinement inside clusters.
+     * Expanded count of result is the number of expanded abstract nodes.
+     *
+     * @param from start location
+     * @param to   target location
+     * @return route, usually close to but not always the shortest one
+     * @throws InvalidParameterException location is out of maze
+     */
+    public MazeRoute solve(MazeCoord from, MazeCoord to) {
+        if (!grid.contains(from.getRow(), from.getCol()) || !grid.contains(to.getRow(), to.getCol())) {
+            throw new InvalidParameterException("Location out of maze: " + from + " -> " + to + " !");
+        }
+        checkCurrent();
+        if (grid.hasWall(from.getRow(), from.getCol()) || grid.hasWall(to.getRow(), to.getCol())) {
+            return new MazeRoute(from, to, grid.numCols(), null, 0);
+        }
+        int start = grid.index(from.getRow(), from.getCol());
+        int end = grid.index(to.getRow(), to.getCol());
+        if (start == end) {
+            return new MazeRoute(from, to, grid.numCols(), new int[]{end}, 0);
+        }
+
+        /* Connect start and target to nodes of their clusters */
+        int startCluster = clusterOf(start);
+        int endCluster = clusterOf(end);
+        Scratch scratch = borrow();
+        try {
+            int[] startField = localDistances(startCluster, start, scratch.startField, scratch.frontier);
+            int[] endField = localDistances(endCluster, end, scratch.endField, scratch.frontier);
+
+            /* A* over abstract graph, g + 1 and parent of each reached node are kept in scratch by node number */
+            SearchScratch search = scratch.search;
+            int expanded = 0;
+            search.setDistance(nodeId(START), 1);
+            int[] startNodes = nodes[startCluster];
+            for (int i = 0; i < startNodes.length; i++) {
+                int d = startField[local(startCluster, startNodes[i])] - 1;
+                if (d >= 0) {
+                    relax(scratch, START, startNodes[i], nodeBase[startCluster] + i, d, end);
+                }
+            }
+            if (startCluster == endCluster && startField[local(startCluster, end)] != 0) {
+                relax(scratch, START, TARGET, nodeId(TARGET), startField[local(startCluster, end)] - 1, end);
+            }
+
+            while (!search.heap.isEmpty()) {
+                long key = search.heap.peekKey();
+                int u = search.heap.poll();
+                if (u == TARGET) {
+                    break;
+                }
+                int cluster = clusterOf(u);
+                int[] clusterNodes = nodes[cluster];
+                int i = Arrays.binarySearch(clusterNodes, u);
+                int gu = search.distance(nodeBase[cluster] + i) - 1;
+                if ((int) key != gu) {
+                    continue;       // stale entry
+                }
+                expanded++;
+                char[] dist = distances[cluster];
+                int k = clusterNodes.length;
+
+                /* Intra-cluster edges */
+                for (int j = 0; j < k; j++) {
+                    char d = dist[i * k + j];
+                    if (j != i && d != UNREACHABLE) {
+                        relax(scratch, u, clusterNodes[j], nodeBase[cluster] + j, gu + d, end);
+                    }
+                }
+
+                /* Inter-cluster edges */
+                for (int o = 0; o < 4; o++) {
+                    int v = grid.freeNeighbor(u, o);
+                    if (v >= 0 && clusterOf(v) != cluster) {
+                        int j = Arrays.binarySearch(nodes[clusterOf(v)], v);
+                        if (j >= 0) {
+                            relax(scratch, u, v, nodeBase[clusterOf(v)] + j, gu + 1, end);
+                        }
+                    }
+                }
+
+                /* Target */
+                if (cluster == endCluster && endField[local(endCluster, u)] != 0) {
+                    relax(scratch, u, TARGET, nodeId(TARGET), gu + endField[local(endCluster, u)] - 1, end);
+                }
+            }
+            int length = search.distance(nodeId(TARGET)) - 1;
+            if (length < 0) {
+                return new MazeRoute(from, to, grid.numCols(), null, expanded);
+            }
+            return new MazeRoute(from, to, grid.numCols(), refine(scratch, start, end, length), expanded);
+        } finally {
+            release(scratch);
+        }
+    }
+
+    /**
+     * Get cluster side length.
+     *
+     * @return cluster size in cells
+     */
+    public int getClusterSize() {
+        return size;
+    }
+
+    /**
+     * Get number of nodes of abstract graph.
+     *
+     * @return node count
+     */
+    public int numNodes() {
+        int total = 0;
+        for (int[] clusterNodes : nodes) {
+            total += clusterNodes.length;
+        }
+        return total;
+    }
+
+    /**
+     * Rebuild whole index if walls were changed without going through <code>setWall</code>.
+     * Checked again under lock, so that only the first of several concurrent queries rebuilds it.
+     */
+    private void checkCurrent() {
+        if (expectedModCount != grid.modCount()) {
+            synchronized (this) {
+                if (expectedModCount != grid.modCount()) {
+                    rebuildAll();
+                }
+            }
+        }
+    }
+
+    /**
+     * Build all clusters in parallel.
+     */
+    private void rebuildAll() {
+        IntStream.range(0, nodes.length).parallel().forEach(c -> buildCluster(c / clusterCols, c % clusterCols));
+        numberNodes();
+        expectedModCount = grid.modCount();
+    }
+
+    /**
+     * Number nodes densely in cluster order, after node count of any cluster has changed.
+     */
+    private void numberNodes() {
+        int[] base = new int[nodes.length + 1];
+        for (int c = 0; c < nodes.length; c++) {
+            base[c + 1] = base[c] + nodes[c].length;
+        }
+        nodeBase = base;
+    }
+
+    /**
+     * Get number of abstract node. Start and target of query are numbered after all nodes of clusters.
+     *
+     * @param node flat cell index of node, or <code>START</code> or <code>TARGET</code>
+     * @return node number
+     */
+    private int nodeId(int node) {
+        if (node < 0) {
+            return nodeBase[nodes.length] - 1 - node;
+        }
+        int cluster = clusterOf(node);
+        return nodeBase[cluster] + Arrays.binarySearch(nodes[cluster], node);
+    }
+
+    /**
+     * Take a free query scratch from pool, or create one if pool is empty or its scratch is too small for the
+     * current node count.
+     *
+     * @return reset scratch owned by caller until released
+     */
+    private Scratch borrow() {
+        return borrow(nodeBase[nodes.length] + 2);
+    }
+
+    /**
+     * Take a free scratch from pool that holds at least given number of node numbers, or create one.
+     *
+     * @param capacity number of node numbers needed, 0 if only the local BFS buffers are used
+     * @return reset scratch owned by caller until released
+     */
+    private Scratch borrow(int capacity) {
+        Scratch scratch = pool.poll();
+        if (scratch == null || scratch.parent.length < capacity) {
+            scratch = new Scratch(capacity + capacity / 8, size * size);
+        }
+        scratch.search.reset();
+        return scratch;
+    }
+
+    /**
+     * Return query scratch to pool.
+     *
+     * @param scratch borrowed scratch
+     */
+    private void release(Scratch scratch) {
+        pool.offer(scratch);
+    }
+
+    /**
+     * Check nodes and distances of a loaded cluster: nodes must be sorted free cells on the cluster's border, and
+     * distances must be 0 from a node to itself and shorter than the cluster's cell count otherwise.
+     *
+     * @param c cluster number
+     * @return true if cluster is consistent with grid
+     */
+    private boolean isValidCluster(int c) {
+        int[] clusterNodes = nodes[c];
+        char[] dist = distances[c];
+        int k = clusterNodes.length;
+        int r0 = (c / clusterCols) * size;
+        int c0 = (c % clusterCols) * size;
+        int r1 = Math.min(r0 + size, grid.numRows()) - 1;
+        int c1 = Math.min(c0 + size, grid.numCols()) - 1;
+        for (int i = 0; i < k; i++) {
+            int cell = clusterNodes[i];
+            if (cell < 0 || cell >= grid.numCells() || (i > 0 && cell <= clusterNodes[i - 1])) {
+                return false;
+            }
+            int r = cell / grid.numCols();
+            int col = cell % grid.numCols();
+            if (r < r0 || r > r1 || col < c0 || col > c1 || grid.hasWall(cell)) {
+                return false;
+            }
+            if (r != r0 && r != r1 && col != c0 && col != c1) {
+                return false;
+            }
+            for (int j = 0; j < k; j++) {
+                char d = dist[i * k + j];
+                if (i == j ? d != 0 : d != UNREACHABLE && d >= size * size) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Find transition cells of cluster on its four borders, then distances between them inside cluster.
+     *
+     * @param cr cluster row
+     * @param cc cluster column
+     */
+    private void buildCluster(int cr, int cc) {
+        int r0 = cr * size;
+        int c0 = cc * size;
+        int r1 = Math.min(r0 + size, grid.numRows()) - 1;
+        int c1 = Math.min(c0 + size, grid.numCols()) - 1;
+        int[] found = new int[8 * size];
+        int k = 0;
+        if (cr > 0) {
+            k = scanBorder(r0, c0, 0, 1, c1 - c0 + 1, -grid.numCols(), found, k);
+        }
+        if (cr < clusterRows - 1) {
+            k = scanBorder(r1, c0, 0, 1, c1 - c0 + 1, grid.numCols(), found, k);
+        }
+        if (cc > 0) {
+            k = scanBorder(r0, c0, 1, 0, r1 - r0 + 1, -1, found, k);
+        }
+        if (cc < clusterCols - 1) {
+            k = scanBorder(r0, c1, 1, 0, r1 - r0 + 1, 1, found, k);
+        }
+
+        /* Corner cells may be found on two borders */
+        Arrays.sort(found, 0, k);
+        int unique = 0;
+        for (int i = 0; i < k; i++) {
+            if (unique == 0 || found[unique - 1] != found[i]) {
+                found[unique++] = found[i];
+            }
+        }
+        int[] clusterNodes = Arrays.copyOf(found, unique);
+
+        int cluster = cr * clusterCols + cc;
+        char[] dist = new char[unique * unique];
+        Scratch scratch = borrow(0);
+        try {
+            for (int i = 0; i < unique; i++) {
+                int[] field = localDistances(cluster, clusterNodes[i], scratch.startField, scratch.frontier);
+                for (int j = 0; j < unique; j++) {
+                    int d = field[local(cluster, clusterNodes[j])];
+                    dist[i * unique + j] = d == 0 ? UNREACHABLE : (char) (d - 1);
+                }
+            }
+        } finally {
+            release(scratch);
+        }
+        distances[cluster] = dist;
+        nodes[cluster] = clusterNodes;
+    }
+
+    /**
+     * Scan one border of cluster for runs of cell pairs free on both sides, and add transition cells on this side.
+     * Border is always scanned in increasing row or column, so both clusters of a border pick the same transitions.
+     *
+     * @param row    row of first cell on this side
+     * @param col    column of first cell on this side
+     * @param dRow   row step along border
+     * @param dCol   column step along border
+     * @param length number of cells along border
+     * @param across flat index offset to the facing cell of other cluster
+     * @param found  output array of transition cells
+     * @param k      number of cells already in output
+     * @return number of cells in output
+     */
+    private int scanBorder(int row, int col, int dRow, int dCol, int length, int across, int[] found, int k) {
+        int first = grid.index(row, col);
+        int step = dRow * grid.numCols() + dCol;
+        int runStart = -1;
+        for (int i = 0; i <= length; i++) {
+            int cell = first + i * step;
+            boolean open = i < length && !grid.hasWall(cell) && !grid.hasWall(cell + across);
+            if (open && runStart < 0) {
+                runStart = i;
+            } else if (!open && runStart >= 0) {
+                int runLength = i - runStart;
+                int runFirst = first + runStart * step;
+                if (runLength >= 6) {
+                    found[k++] = runFirst;
+                    found[k++] = runFirst + (runLength - 1) * step;
+                } else {
+                    found[k++] = runFirst + (runLength / 2) * step;
+                }
+                runStart = -1;
+            }
+        }
+        return k;
+    }
+
+    /**
+     * BFS inside one cluster from given cell.
+     *
+     * @param cluster cluster number
+     * @param source  flat index of source cell, inside cluster
+     * @param field    array of cluster's cell count to be overwritten
+     * @param frontier queue to be reused, cleared here
+     * @return field, holding distance + 1 of each cell of cluster by local index, 0 if unreachable
+     */
+    private int[] localDistances(int cluster, int source, int[] field, IntQueue frontier) {
+        Arrays.fill(field, 0);
+        frontier.clear();
+        field[local(cluster, source)] = 1;
+        frontier.add(source);
+        while (!frontier.isEmpty()) {
+            int cell = frontier.poll();
+            int next = field[local(cluster, cell)] + 1;
+            for (int o = 0; o < 4; o++) {
+                int n = grid.freeNeighbor(cell, o);
+                if (n >= 0 && clusterOf(n) == cluster && field[local(cluster, n)] == 0) {
+                    field[local(cluster, n)] = next;
+                    frontier.add(n);
+                }
+            }
+        }
+        return field;
+    }
+
+    /**
+     * Turn abstract path into cells: each abstract edge is either one move across a border, or a BFS path inside one
+     * cluster.
+     *
+     * @param scratch query scratch, parent of each reached node by node number, and local BFS buffers
+     * @param start   flat index of start
+     * @param end     flat index of target
+     * @param length  number of moves of route
+     * @return flat indices from start to target
+     */
+    private int[] refine(Scratch scratch, int start, int end, int length) {
+        int[] parent = scratch.parent;
+
+        /* Abstract path from target back to start */
+        int[] abstractPath = new int[16];
+        int n = 0;
+        for (int u = TARGET; u != START; u = parent[nodeId(u)]) {
+            if (n == abstractPath.length) {
+                abstractPath = Arrays.copyOf(abstractPath, n << 1);
+            }
+            abstractPath[n++] = u == TARGET ? end : u;
+        }
+
+        int[] path = new int[length + 1];
+        int filled = length;
+        path[filled] = end;
+        int[] field = scratch.startField;
+        int to = end;
+        for (int i = 1; i <= n; i++) {
+            int from = i < n ? abstractPath[i] : start;
+            if (clusterOf(from) != clusterOf(to)) {
+                path[--filled] = from;      // one move across border
+            } else {
+
+                /* BFS from target end of edge, then walk towards it from the other end */
+                int cluster = clusterOf(to);
+                localDistances(cluster, to, field, scratch.frontier);
+                int cell = from;
+                int steps = field[local(cluster, from)] - 1;
+                int base = filled - steps;
+                for (int s = 0; s < steps; s++) {
+                    path[base + s] = cell;
+                    int d = field[local(cluster, cell)];
+                    for (int o = 0; o < 4; o++) {
+                        int m = grid.freeNeighbor(cell, o);
+                        if (m >= 0 && clusterOf(m) == cluster && field[local(cluster, m)] == d - 1) {
+                            cell = m;
+                            break;
+                        }
+                    }
+                }
+                filled = base;
+            }
+            to = from;
+        }
+        return path;
+    }
+
+    /**
+     * Relax abstract edge, push target node if its g is improved.
+     *
+     * @param scratch query scratch, g + 1 of reached nodes as distance and open list keyed by f in high half and g
+     *                in low half
+     * @param u       node the edge starts from
+     * @param v       node the edge ends at
+     * @param id      node number of v
+     * @param gv      g of v through u
+     * @param end     flat index of target, for heuristic
+     */
+    private void relax(Scratch scratch, int u, int v, int id, int gv, int end) {
+        int old = scratch.search.distance(id);
+        if (old != 0 && old - 1 <= gv) {
+            return;
+        }
+        scratch.search.setDistance(id, gv + 1);
+        scratch.parent[id] = u;
+        int cell = v == TARGET ? end : v;
+        int cols = grid.numCols();
+        int h = Math.abs(cell / cols - end / cols) + Math.abs(cell % cols - end % cols);
+        scratch.search.heap.add(((long) (gv + h) << 32) | gv, v);
+    }
+
+    /**
+     * Get cluster number of cell.
+     *
+     * @param cell flat cell index
+     * @return cluster number in row-major order
+     */
+    private int clusterOf(int cell) {
+        int cols = grid.numCols();
+        return (cell / cols / size) * clusterCols + (cell % cols) / size;
+    }
+
+    /**
+     * Get index of cell inside its cluster.
+     *
+     * @param cluster cluster of cell
+     * @param cell    flat cell index
+     * @return local index, row-major inside cluster
+     */
+    private int local(int cluster, int cell) {
+        int cols = grid.numCols();
+        int r = cell / cols - (cluster / clusterCols) * size;
+        int c = cell % cols - (cluster % clusterCols) * size;
+        return r * size + c;
+    }
+
+    /**
+     * Write buffered bytes to channel and clear buffer.
+     *
+     * @param channel output channel
+     * @param buffer  buffer in write mode
+     * @throws IOException bytes cannot be written
+     */
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Working state of one query over abstract graph, indexed by node number, with BFS buffers of one cluster.
+     */
+    private static final class Scratch {
+
+        private final SearchScratch search;     // g + 1 as distance, epoch stamps and open list
+        private final int[] parent;             // node each reached node was reached from, as flat cell index
+        private final int[] startField;         // local distances from start, also used by cluster build and refine
+        private final int[] endField;           // local distances from target
+        private final IntQueue frontier;        // BFS queue of local distances
+
+        /**
+         * Create scratch.
+         *
+         * @param capacity number of node numbers it can hold
+         * @param cells    cell count of a cluster
+         */
+        Scratch(int capacity, int cells) {
+            search = new SearchScratch(capacity);
+            parent = new int[capacity];
+            startField = new int[cells];
+            endField = new int[cells];
+            frontier = new IntQueue(cells);
+        }
+    }
+}
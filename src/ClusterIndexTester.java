@@ -0,0 +1,260 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.InvalidParameterException;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Checks of HPA* routes of <code>ClusterIndex</code> against BFS, and of its wall changes and index files.
+ * Run with <code>java ClusterIndexTester</code>, exit status is 1 if any check fails.
+ *
+ * @author BorisMirage
+ * Time: 2026/10/17 00:31
+ * Created with IntelliJ IDEA
+ */
+public class ClusterIndexTester {
+
+    private static int failed;      // number of failed checks
+
+    /**
+     * Run all checks.
+     *
+     * @param args not used
+     * @throws IOException temporary index file cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        checkRoutes();
+        checkEndpoints();
+        checkBorderWall();
+        checkStaleIndex();
+        checkSaveLoad();
+        checkCorruptFiles();
+        checkClusterSize();
+        System.out.println(failed == 0 ? "All checks passed" : failed + " checks failed");
+        if (failed > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Routes across many clusters are valid and never shorter than BFS, and a single-cluster route is exact.
+     */
+    private static void checkRoutes() {
+        Random rnd = new Random(20180726L);
+        Maze maze = new MazeGenerator(20).braided(101, 121, 0.4);
+        ClusterIndex index = ClusterIndex.build(maze, 16);
+        boolean same = true;
+        for (int t = 0; t < 300; t++) {
+            MazeCoord from = new MazeCoord(rnd.nextInt(101), rnd.nextInt(121));
+            MazeCoord to = new MazeCoord(rnd.nextInt(101), rnd.nextInt(121));
+            same &= agrees(maze, index.solve(from, to), from, to, false);
+        }
+        check("routes across clusters", same);
+
+        Maze small = new MazeGenerator(3).obstacles(12, 12, 0.2);
+        ClusterIndex single = ClusterIndex.build(small, 16);
+        same = true;
+        for (int t = 0; t < 100; t++) {
+            MazeCoord from = new MazeCoord(rnd.nextInt(12), rnd.nextInt(12));
+            MazeCoord to = new MazeCoord(rnd.nextInt(12), rnd.nextInt(12));
+            same &= agrees(small, single.solve(from, to), from, to, true);
+        }
+        check("routes inside one cluster", same);
+    }
+
+    /**
+     * Start equal to target, endpoint on a wall, and target behind a wall column.
+     */
+    private static void checkEndpoints() {
+        Maze maze = new Maze(new MazeGrid(20, 20), new MazeCoord(0, 0), new MazeCoord(19, 19));
+        for (int i = 0; i < 20; i++) {
+            maze.setWall(new MazeCoord(i, 10), true);
+        }
+        ClusterIndex index = ClusterIndex.build(maze, 8);
+        MazeCoord cell = new MazeCoord(3, 3);
+        check("start equals target", index.solve(cell, cell).getLength() == 1);
+        MazeRoute onWall = index.solve(new MazeCoord(5, 10), cell);
+        check("endpoint on wall", !onWall.isFound() && onWall.getExpanded() == 0);
+        check("unreachable target", !index.solve().isFound());
+    }
+
+    /**
+     * Closing and reopening the only gap of a wall that runs along a cluster border.
+     */
+    private static void checkBorderWall() {
+        Maze maze = new Maze(new MazeGrid(16, 16), new MazeCoord(0, 0), new MazeCoord(0, 15));
+        ClusterIndex index = ClusterIndex.build(maze, 8);
+        for (int i = 0; i < 15; i++) {
+            index.setWall(new MazeCoord(i, 8), true);
+        }
+        check("route through gap", agrees(maze, index.solve(), maze.getEntryLoc(), maze.getExitLoc(), true));
+        index.setWall(new MazeCoord(15, 8), true);
+        check("gap closed", !index.solve().isFound());
+        index.setWall(new MazeCoord(15, 8), false);
+        check("gap reopened", agrees(maze, index.solve(), maze.getEntryLoc(), maze.getExitLoc(), true));
+
+        boolean rejected = false;
+        try {
+            index.setWall(new MazeCoord(16, 0), true);
+        } catch (InvalidParameterException exc) {
+            rejected = true;
+        }
+        check("location out of maze", rejected);
+    }
+
+    /**
+     * Wall changed through <code>Maze.setWall</code> instead of index is detected by next query.
+     */
+    private static void checkStaleIndex() {
+        Maze maze = new Maze(new MazeGrid(16, 16), new MazeCoord(0, 0), new MazeCoord(15, 0));
+        ClusterIndex index = ClusterIndex.build(maze, 8);
+        for (int j = 0; j < 16; j++) {
+            maze.setWall(new MazeCoord(8, j), true);
+        }
+        check("stale index rebuilt", !index.solve().isFound());
+        maze.setWall(new MazeCoord(8, 15), false);
+        check("stale index route", agrees(maze, index.solve(), maze.getEntryLoc(), maze.getExitLoc(), false));
+    }
+
+    /**
+     * Index saved to a file loads with the same nodes and routes, and is refused for a maze with other walls.
+     *
+     * @throws IOException temporary index file cannot be written
+     */
+    private static void checkSaveLoad() throws IOException {
+        Maze maze = new MazeGenerator(5).braided(61, 61, 0.3);
+        ClusterIndex index = ClusterIndex.build(maze, 12);
+        Path file = Files.createTempFile("cluster", ".idx");
+        try {
+            index.save(file);
+            ClusterIndex loaded = ClusterIndex.load(maze, file);
+            check("round trip", loaded.numNodes() == index.numNodes() && loaded.getClusterSize() == 12
+                    && loaded.solve().getPath().equals(index.solve().getPath()));
+
+            Maze other = new MazeGenerator(6).braided(61, 61, 0.3);
+            boolean rejected = false;
+            try {
+                ClusterIndex.load(other, file);
+            } catch (IOException exc) {
+                rejected = true;
+            }
+            check("file of other maze", rejected);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    /**
+     * Index files with bad magic, cut short, followed by extra bytes, or with a node out of its cluster are rejected
+     * with <code>IOException</code>.
+     *
+     * @throws IOException temporary index file cannot be written
+     */
+    private static void checkCorruptFiles() throws IOException {
+        Maze maze = new MazeGenerator(5).braided(61, 61, 0.3);
+        Path file = Files.createTempFile("cluster", ".idx");
+        try {
+            ClusterIndex.build(maze, 12).save(file);
+            byte[] bytes = Files.readAllBytes(file);
+
+            byte[] magic = bytes.clone();
+            magic[0] ^= 1;
+            check("bad magic", rejects(maze, file, magic));
+            check("truncated file", rejects(maze, file, Arrays.copyOf(bytes, bytes.length - 1)));
+            check("trailing data", rejects(maze, file, Arrays.copyOf(bytes, bytes.length + 4)));
+
+            /* First node of first cluster (after 28-byte header and node count) moved to the far corner */
+            byte[] node = bytes.clone();
+            ByteBuffer.wrap(node).order(ByteOrder.LITTLE_ENDIAN).putInt(32, 61 * 61 - 1);
+            check("node out of cluster", rejects(maze, file, node));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    /**
+     * Cluster sizes outside of [4, 128] are rejected.
+     */
+    private static void checkClusterSize() {
+        Maze maze = new Maze(new MazeGrid(8, 8), new MazeCoord(0, 0), new MazeCoord(7, 7));
+        int rejected = 0;
+        for (int size : new int[]{3, 129}) {
+            try {
+                ClusterIndex.build(maze, size);
+            } catch (InvalidParameterException exc) {
+                rejected++;
+            }
+        }
+        check("invalid cluster size", rejected == 2);
+    }
+
+    /**
+     * Write bytes as index file and try to load it.
+     *
+     * @param maze  maze
+     * @param file  index file path
+     * @param bytes file content
+     * @return true if load failed with <code>IOException</code>
+     * @throws IOException file cannot be written
+     */
+    private static boolean rejects(Maze maze, Path file, byte[] bytes) throws IOException {
+        Files.write(file, bytes);
+        try {
+            ClusterIndex.load(maze, file);
+        } catch (IOException exc) {
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Check that route agrees with BFS in reachability, is no shorter than BFS, and is a chain of adjacent free cells
+     * from start to target.
+     *
+     * @param maze  maze
+     * @param route route of index
+     * @param from  start location
+     * @param to    target location
+     * @param exact true if route must be as short as BFS
+     * @return true if route is correct
+     */
+    private static boolean agrees(Maze maze, MazeRoute route, MazeCoord from, MazeCoord to, boolean exact) {
+        MazeRoute expected = maze.solve(from, to);
+        if (route.isFound() != expected.isFound()) {
+            return false;
+        }
+        if (!route.isFound()) {
+            return true;
+        }
+        if (route.getLength() < expected.getLength() || exact && route.getLength() != expected.getLength()) {
+            return false;
+        }
+        MazePath path = route.getPath();
+        if (!path.get(0).equals(from) || !path.get(path.size() - 1).equals(to)) {
+            return false;
+        }
+        for (int i = 0; i < path.size(); i++) {
+            if (maze.getGrid().hasWall(path.cellAt(i)) || i > 0 && Math.abs(path.rowAt(i) - path.rowAt(i - 1))
+                    + Math.abs(path.colAt(i) - path.colAt(i - 1)) != 1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Print result of one check.
+     *
+     * @param name   check name
+     * @param passed true if check passed
+     */
+    private static void check(String name, boolean passed) {
+        System.out.println((passed ? "PASS " : "FAIL ") + name);
+        if (!passed) {
+            failed++;
+        }
+    }
+}
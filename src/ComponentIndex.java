@@ -0,0 +1,437 @@
+import java.security.InvalidParameterException;
+import java.util.Arrays;
+
+/**
+ * Connected-component labels of free cells of a grid, to reject queries between disconnected locations in O(1)
+ * instead of flooding the whole reachable region first.
+ * <p>
+ * Labels are built by one scanline pass: each free cell takes the label of its left neighbour or a new one, and is
+ * united with its upper neighbour in a union-find over labels; a second pass replaces every label by its compact root.
+ * Afterwards each cell keeps a label whose union-find root names its component, so removing a wall only unites the
+ * components around the cell. Adding a wall may split a component: breadth-first probes are started from the free
+ * neighbours of the new wall and run in turns, probes that meet are merged, and a probe group that runs out of cells
+ * before the others is a separated part and is relabelled. Cost of a split is therefore about the size of the smaller
+ * parts, but a wall that does not split still explores until its probes meet again, which on a long detour can be a
+ * large part of the component.
+ * <p>
+ * Walls should be changed through <code>Maze.setWall</code> of a maze the index is installed on. Walls changed by
+ * other means are detected on next query and labels are rebuilt from scratch. Not thread-safe, since lookups compress
+ * union-find paths.
+ *
+ * @author BorisMirage
+ * Time: 2026/10/17 00:44
+ * Created with IntelliJ IDEA
+ */
+public final class ComponentIndex {
+
+    private final MazeGrid grid;
+    private final int[] label;          // label of each cell, 0 for wall
+    private int[] parent;               // union-find parent of each label, root is its own parent
+    private int[] rank;                 // union-find rank of each root
+    private int nextLabel;              // next unused label
+    private int components;             // number of components
+    private int expectedModCount;       // grid modification count the labels agree with
+    private int[] mark;                 // probe owner of each cell, (epoch << 2) + probe, created on first split check
+    private int epoch;
+
+    /**
+     * Create index and label grid.
+     *
+     * @param grid wall grid
+     */
+    private ComponentIndex(MazeGrid grid) {
+        this.grid = grid;
+        this.label = new int[grid.numCells()];
+        rebuild();
+    }
+
+    /**
+     * Label connected components of grid.
+     *
+     * @param grid wall grid
+     * @return index
+     */
+    public static ComponentIndex build(MazeGrid grid) {
+        return new ComponentIndex(grid);
+    }
+
+    /**
+     * Check if two locations are free and connected.
+     *
+     * @param from start location
+     * @param to   target location
+     * @return true if a path exists between them
+     * @throws InvalidParameterException location is out of maze
+     */
+    public boolean isConnected(MazeCoord from, MazeCoord to) {
+        return isConnected(index(from), index(to));
+    }
+
+    /**
+     * Get component of location. Component numbers are stable until next wall change.
+     *
+     * @param loc location
+     * @return component number, -1 if location is wall
+     * @throws InvalidParameterException location is out of maze
+     */
+    public int componentOf(MazeCoord loc) {
+        int cell = index(loc);
+        checkCurrent();
+        return label[cell] == 0 ? -1 : find(label[cell]);
+    }
+
+    /**
+     * Get number of connected components of free cells.
+     *
+     * @return component count
+     */
+    public int numComponents() {
+        checkCurrent();
+        return components;
+    }
+
+    /**
+     * Check if two cells are free and connected.
+     *
+     * @param a flat index of first cell
+     * @param b flat index of second cell
+     * @return true if a path exists between them
+     */
+    boolean isConnected(int a, int b) {
+        checkCurrent();
+        return label[a] != 0 && label[b] != 0 && find(label[a]) == find(label[b]);
+    }
+
+    /**
+     * Put or remove a wall on grid and update labels.
+     *
+     * @param cell flat cell index
+     * @param wall true to put wall, false to remove it
+     */
+    void setWall(int cell, boolean wall) {
+        if (grid.hasWall(cell) == wall) {
+            return;
+        }
+        boolean current = expectedModCount == grid.modCount();
+        grid.setWall(cell, wall);
+        if (!current) {
+            return;
+        }
+        expectedModCount = grid.modCount();
+        if (wall) {
+            addWall(cell);
+        } else {
+            removeWall(cell);
+        }
+        if (nextLabel > 2 * label.length + 16) {
+            rebuild();      // too many labels left behind by splits
+        }
+    }
+
+    /**
+     * Label whole grid from scratch.
+     */
+    private void rebuild() {
+        int cols = grid.numCols();
+        parent = new int[64];
+        rank = new int[64];
+        nextLabel = 1;
+
+        /* Scanline pass: take left label, unite with upper one */
+        for (int cell = 0; cell < label.length; cell++) {
+            if (grid.hasWall(cell)) {
+                label[cell] = 0;
+                continue;
+            }
+            int left = cell % cols != 0 ? label[cell - 1] : 0;
+            label[cell] = left != 0 ? left : newLabel();
+            if (cell >= cols && label[cell - cols] != 0) {
+                union(label[cell], label[cell - cols]);
+            }
+        }
+
+        /* Replace labels by compact roots */
+        int[] compact = new int[nextLabel];
+        int count = 0;
+        for (int l = 1; l < nextLabel; l++) {
+            int root = find(l);
+            if (compact[root] == 0) {
+                compact[root] = ++count;
+            }
+            compact[l] = compact[root];
+        }
+        for (int cell = 0; cell < label.length; cell++) {
+            label[cell] = compact[label[cell]];
+        }
+        parent = new int[Math.max(64, count + 1)];
+        rank = new int[parent.length];
+        for (int l = 1; l <= count; l++) {
+            parent[l] = l;
+        }
+        nextLabel = count + 1;
+        components = count;
+        expectedModCount = grid.modCount();
+    }
+
+    /**
+     * Rebuild labels if walls were changed without going through <code>setWall</code>.
+     */
+    private void checkCurrent() {
+        if (expectedModCount != grid.modCount()) {
+            rebuild();
+        }
+    }
+
+    /**
+     * New free cell joins all components around it.
+     *
+     * @param cell flat index of cell that became free
+     */
+    private void removeWall(int cell) {
+        int own = 0;
+        for (int o = 0; o < 4; o++) {
+            int n = grid.freeNeighbor(cell, o);
+            if (n < 0) {
+                continue;
+            }
+            if (own == 0) {
+                own = find(label[n]);
+            } else if (union(own, label[n])) {
+                components--;
+            }
+        }
+        if (own == 0) {
+            own = newLabel();
+            components++;
+        }
+        label[cell] = own;
+    }
+
+    /**
+     * New wall may cut its component into up to four parts, probe from each free neighbour to find out.
+     *
+     * @param cell flat index of cell that became wall
+     */
+    private void addWall(int cell) {
+        label[cell] = 0;
+        Probe[] probes = new Probe[4];
+        int k = 0;
+        for (int o = 0; o < 4; o++) {
+            int n = grid.freeNeighbor(cell, o);
+            if (n >= 0) {
+                probes[k++] = new Probe(n);
+            }
+        }
+        if (k == 0) {
+            components--;       // an isolated cell was closed
+            return;
+        }
+        if (k == 1) {
+            return;             // a dead end was closed
+        }
+        if (mark == null) {
+            mark = new int[label.length];
+        }
+        if (++epoch >= 1 << 29) {
+            Arrays.fill(mark, 0);
+            epoch = 1;
+        }
+
+        /* Group of each probe, probes that meet are joined into one group */
+        int[] group = {0, 1, 2, 3};
+        for (int i = 0; i < k; i++) {
+            mark[probes[i].cells[0]] = (epoch << 2) + i;
+        }
+        int running = k;        // groups with cells left to expand
+        boolean[] done = new boolean[4];
+        while (running > 1) {
+            for (int i = 0; i < k && running > 1; i++) {
+                if (done[group[i]]) {
+                    continue;
+                }
+                Probe probe = probes[i];
+                if (probe.head < probe.tail) {
+                    expand(probe, i, group, probes, k);
+                }
+                running = countRunning(probes, k, group, done);
+            }
+        }
+    }
+
+    /**
+     * Expand one cell of probe and join groups of probes it meets.
+     *
+     * @param probe  probe to be expanded
+     * @param i      probe number
+     * @param group  group of each probe
+     * @param probes all probes
+     * @param k      number of probes
+     */
+    private void expand(Probe probe, int i, int[] group, Probe[] probes, int k) {
+        int cell = probe.cells[probe.head++];
+        for (int o = 0; o < 4; o++) {
+            int n = grid.freeNeighbor(cell, o);
+            if (n < 0) {
+                continue;
+            }
+            int m = mark[n];
+            if (m >>> 2 == epoch) {
+                int other = group[m & 3];
+                int own = group[i];
+                if (other != own) {
+
+                    /* Two probes met: everything in the larger group number joins the smaller one */
+                    int from = Math.max(own, other);
+                    int to = Math.min(own, other);
+                    for (int j = 0; j < k; j++) {
+                        if (group[j] == from) {
+                            group[j] = to;
+                        }
+                    }
+                }
+            } else {
+                mark[n] = (epoch << 2) + i;
+                probe.add(n);
+            }
+        }
+    }
+
+    /**
+     * Find groups whose probes all ran out of cells, give each such group except the last running one a new label.
+     *
+     * @param probes all probes
+     * @param k      number of probes
+     * @param group  group of each probe
+     * @param done   groups already finished, updated
+     * @return number of groups still running
+     */
+    private int countRunning(Probe[] probes, int k, int[] group, boolean[] done) {
+        int running = 0;
+        for (int g = 0; g < k; g++) {
+            if (done[g] || group[g] != g) {
+                continue;       // finished, or not the representative of its group
+            }
+            boolean exhausted = true;
+            for (int j = 0; j < k; j++) {
+                if (group[j] == g && probes[j].head < probes[j].tail) {
+                    exhausted = false;
+                }
+            }
+            if (!exhausted) {
+                running++;
+                continue;
+            }
+
+            /* Separated part: cells reached by probes of this group form a new component */
+            done[g] = true;
+            int fresh = newLabel();
+            components++;
+            for (int j = 0; j < k; j++) {
+                if (group[j] == g) {
+                    for (int t = 0; t < probes[j].tail; t++) {
+                        label[probes[j].cells[t]] = fresh;
+                    }
+                }
+            }
+        }
+        return running;
+    }
+
+    /**
+     * Allocate a new label as its own root.
+     *
+     * @return label
+     */
+    private int newLabel() {
+        if (nextLabel == parent.length) {
+            parent = Arrays.copyOf(parent, nextLabel << 1);
+            rank = Arrays.copyOf(rank, nextLabel << 1);
+        }
+        parent[nextLabel] = nextLabel;
+        return nextLabel++;
+    }
+
+    /**
+     * Find root of label, halving path on the way.
+     *
+     * @param l label
+     * @return root label
+     */
+    private int find(int l) {
+        while (parent[l] != l) {
+            parent[l] = parent[parent[l]];
+            l = parent[l];
+        }
+        return l;
+    }
+
+    /**
+     * Unite sets of two labels by rank.
+     *
+     * @param a first label
+     * @param b second label
+     * @return true if they were in different sets
+     */
+    private boolean union(int a, int b) {
+        int ra = find(a);
+        int rb = find(b);
+        if (ra == rb) {
+            return false;
+        }
+        if (rank[ra] < rank[rb]) {
+            parent[ra] = rb;
+        } else {
+            parent[rb] = ra;
+            if (rank[ra] == rank[rb]) {
+                rank[ra]++;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Convert location to flat index.
+     *
+     * @param loc location
+     * @return flat cell index
+     * @throws InvalidParameterException location is out of maze
+     */
+    private int index(MazeCoord loc) {
+        if (!grid.contains(loc.getRow(), loc.getCol())) {
+            throw new InvalidParameterException("Location out of maze: " + loc + " !");
+        }
+        return grid.index(loc.getRow(), loc.getCol());
+    }
+
+    /**
+     * Breadth-first probe from one neighbour of a new wall. Cells array is both its queue and the list of cells it
+     * reached.
+     */
+    private static final class Probe {
+
+        private int[] cells = new int[16];
+        private int head;       // next cell to expand
+        private int tail;       // number of reached cells
+
+        /**
+         * Create probe from one cell.
+         *
+         * @param start flat index of first cell
+         */
+        Probe(int start) {
+            cells[tail++] = start;
+        }
+
+        /**
+         * Append reached cell.
+         *
+         * @param cell flat cell index
+         */
+        void add(int cell) {
+            if (tail == cells.length) {
+                cells = Arrays.copyOf(cells, tail << 1);
+            }
+            cells[tail++] = cell;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+import java.security.InvalidParameterException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Checks of <code>ComponentIndex</code> labels under wall changes that split, merge, or keep components.
+ * Run with <code>java ComponentIndexTester</code>, exit status is 1 if any check fails.
+ *
+ * @author BorisMirage
+ * Time: 2026/10/17 00:44
+ * Created with IntelliJ IDEA
+ */
+public class ComponentIndexTester {
+
+    private static int failed;      // number of failed checks
+
+    /**
+     * Run all checks.
+     *
+     * @param args not used
+     */
+    public static void main(String[] args) {
+        checkDoor();
+        checkSingleCells();
+        checkQueries();
+        checkRandomEdits();
+        System.out.println(failed == 0 ? "All checks passed" : failed + " checks failed");
+        if (failed > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Two rooms joined by one door: closing the door splits, opening it merges, closing a corner changes nothing.
+     */
+    private static void checkDoor() {
+        Maze maze = new Maze(new MazeGrid(5, 11), new MazeCoord(0, 0), new MazeCoord(0, 10));
+        for (int i = 0; i < 5; i++) {
+            if (i != 2) {
+                maze.setWall(new MazeCoord(i, 5), true);
+            }
+        }
+        ComponentIndex index = maze.buildComponentIndex();
+        check("rooms with open door", index.numComponents() == 1);
+
+        maze.setWall(new MazeCoord(2, 5), true);
+        check("door closed splits", index.numComponents() == 2
+                && !index.isConnected(new MazeCoord(0, 0), new MazeCoord(4, 10)) && matchesFresh(maze, index));
+        maze.setWall(new MazeCoord(2, 5), false);
+        check("door opened merges", index.numComponents() == 1
+                && index.isConnected(new MazeCoord(0, 0), new MazeCoord(4, 10)) && matchesFresh(maze, index));
+
+        maze.setWall(new MazeCoord(0, 0), true);
+        check("corner closed keeps count", index.numComponents() == 1 && matchesFresh(maze, index));
+    }
+
+    /**
+     * Closing an isolated cell removes its component, opening it again adds one, and a wall cell has no component.
+     */
+    private static void checkSingleCells() {
+        Maze maze = new Maze(new MazeGrid(1, 3), new MazeCoord(0, 0), new MazeCoord(0, 2));
+        maze.setWall(new MazeCoord(0, 1), true);
+        ComponentIndex index = maze.buildComponentIndex();
+        check("two single cells", index.numComponents() == 2);
+        maze.setWall(new MazeCoord(0, 0), true);
+        check("isolated cell closed", index.numComponents() == 1 && index.componentOf(new MazeCoord(0, 0)) == -1);
+        maze.setWall(new MazeCoord(0, 0), false);
+        check("isolated cell opened", index.numComponents() == 2 && index.componentOf(new MazeCoord(0, 0)) >= 0);
+        maze.setWall(new MazeCoord(0, 1), false);
+        check("middle opened merges", index.numComponents() == 1 && matchesFresh(maze, index));
+    }
+
+    /**
+     * <code>Maze.solve</code> answers wall endpoints and queries across components without expanding any cell.
+     */
+    private static void checkQueries() {
+        Maze maze = new Maze(new MazeGrid(10, 10), new MazeCoord(0, 0), new MazeCoord(9, 9));
+        for (int j = 0; j < 10; j++) {
+            maze.setWall(new MazeCoord(5, j), true);
+        }
+        ComponentIndex index = maze.buildComponentIndex();
+        MazeRoute across = maze.solve(new MazeCoord(0, 0), new MazeCoord(9, 9));
+        check("query across components", !across.isFound() && across.getExpanded() == 0);
+        MazeRoute wall = maze.solve(new MazeCoord(0, 0), new MazeCoord(5, 3));
+        check("query to wall", !wall.isFound() && wall.getExpanded() == 0
+                && !index.isConnected(new MazeCoord(5, 3), new MazeCoord(5, 3)));
+        check("query inside component", maze.solve(new MazeCoord(0, 0), new MazeCoord(4, 9)).getLength() == 14);
+
+        boolean rejected = false;
+        try {
+            index.componentOf(new MazeCoord(10, 0));
+        } catch (InvalidParameterException exc) {
+            rejected = true;
+        }
+        check("location out of maze", rejected);
+
+        maze.getGrid().setWall(maze.getGrid().index(4, 0), true);
+        check("direct grid change detected", index.componentOf(new MazeCoord(4, 0)) == -1);
+    }
+
+    /**
+     * Random wall changes on mazes of different density leave the same partition as a fresh build.
+     */
+    private static void checkRandomEdits() {
+        Random rnd = new Random(20180726L);
+        boolean same = true;
+        for (int t = 0; t < 60; t++) {
+            Maze maze = t % 2 == 0 ? new MazeGenerator(t).braided(21, 31, 0.2)
+                    : new MazeGenerator(t).obstacles(21, 31, 0.1 + t % 5 * 0.1);
+            ComponentIndex index = maze.buildComponentIndex();
+            for (int e = 0; e < 50; e++) {
+                maze.setWall(new MazeCoord(rnd.nextInt(21), rnd.nextInt(31)), rnd.nextBoolean());
+                same &= matchesFresh(maze, index);
+            }
+        }
+        check("random edits match fresh build", same);
+    }
+
+    /**
+     * Check that index has the same components as one built from scratch on current walls.
+     *
+     * @param maze  maze the index is installed on
+     * @param index index kept up to date by wall changes
+     * @return true if both partitions are the same
+     */
+    private static boolean matchesFresh(Maze maze, ComponentIndex index) {
+        MazeGrid grid = maze.getGrid();
+        ComponentIndex fresh = ComponentIndex.build(grid);
+        if (fresh.numComponents() != index.numComponents()) {
+            return false;
+        }
+        Map<Integer, Integer> toFresh = new HashMap<>();
+        Map<Integer, Integer> toIndex = new HashMap<>();
+        for (int i = 0; i < grid.numRows(); i++) {
+            for (int j = 0; j < grid.numCols(); j++) {
+                MazeCoord loc = new MazeCoord(i, j);
+                int a = index.componentOf(loc);
+                int b = fresh.componentOf(loc);
+                if ((a < 0) != (b < 0)) {
+                    return false;
+                }
+                if (a >= 0 && (toFresh.computeIfAbsent(a, k -> b) != b || toIndex.computeIfAbsent(b, k -> a) != a)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Print result of one check.
+     *
+     * @param name   check name
+     * @param passed true if check passed
+     */
+    private static void check(String name, boolean passed) {
+        System.out.println((passed ? "PASS " : "FAIL ") + name);
+        if (!passed) {
+            failed++;
+        }
+    }
+}
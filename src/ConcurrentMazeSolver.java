@@ -0,0 +1,200 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Thread-safe query engine over one shared maze.
+ * The wall grid is only read, and each running query borrows its own <code>SearchScratch</code> from a bounded pool,
+ * so any number of threads can call <code>solve</code> at once.
+ * Pool size limits how many scratches exist, which is the memory bound (about 6.25 bytes per cell each), and threads
+ * beyond this limit wait for a free one. This also keeps memory bounded when queries are run on virtual threads.
+ * <code>solveAll</code> splits a batch into chunks and runs them on a configurable executor.
+ *
+ * @author BorisMirage
+ * Time: 2026/10/17 00:05
+ * Created with IntelliJ IDEA
+ */
+public class ConcurrentMazeSolver {
+
+    private static final int CHUNKS_PER_THREAD = 4;     // more chunks than threads to balance uneven queries
+
+    private final MazeGrid grid;
+    private final SearchStrategy strategy;
+    private final ExecutorService executor;
+    private final int parallelism;
+    private final Semaphore permits;
+    private final ConcurrentLinkedQueue<SearchScratch> pool = new ConcurrentLinkedQueue<>();
+    private volatile SearchListener listener;   // notified after every query, null if none
+
+    /**
+     * Create solver with BFS, common fork-join pool, and one scratch per processor.
+     *
+     * @param grid shared wall grid, must not be modified while solver is in use
+     */
+    public ConcurrentMazeSolver(MazeGrid grid) {
+        this(grid, new BreadthFirstSearch(), ForkJoinPool.commonPool(), Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Create solver.
+     * On Java 21 or later, <code>Executors.newVirtualThreadPerTaskExecutor()</code> can be used as executor.
+     *
+     * @param grid        shared wall grid, must not be modified while solver is in use
+     * @param strategy    stateless search strategy shared by all threads
+     * @param executor    executor that runs chunks of <code>solveAll</code>
+     * @param parallelism max number of scratches, which is also max number of queries running at the same time
+     */
+    public ConcurrentMazeSolver(MazeGrid grid, SearchStrategy strategy, ExecutorService executor, int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Invalid parallelism: " + parallelism + " !");
+        }
+        this.grid = grid;
+        this.strategy = strategy;
+        this.executor = executor;
+        this.parallelism = parallelism;
+        this.permits = new Semaphore(parallelism);
+    }
+
+    /**
+     * Get shared wall grid.
+     *
+     * @return wall grid
+     */
+    public MazeGrid getGrid() {
+        return grid;
+    }
+
+    /**
+     * Install listener that is called after every query, on the thread that ran it.
+     * Metrics are only collected while a listener is installed.
+     *
+     * @param listener thread-safe listener, null to remove it
+     */
+    public void setSearchListener(SearchListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Solve one query. Can be called by any number of threads at once.
+     *
+     * @param from start location
+     * @param to   target location
+     * @return immutable query result
+     * @throws InterruptedException thread is interrupted while waiting for free scratch
+     */
+    public MazeRoute solve(MazeCoord from, MazeCoord to) throws InterruptedException {
+        SearchScratch scratch = borrow();
+        try {
+            return solve(scratch, from, to);
+        } finally {
+            release(scratch);
+        }
+    }
+
+    /**
+     * Solve a batch of queries on executor.
+     * Queries are split into consecutive chunks, each chunk is solved with one borrowed scratch.
+     *
+     * @param queries queries to be solved
+     * @return results in the same order as queries
+     * @throws InterruptedException thread is interrupted while waiting for results
+     */
+    public List<MazeRoute> solveAll(List<MazeQuery> queries) throws InterruptedException {
+        MazeQuery[] batch = queries.toArray(new MazeQuery[0]);
+        MazeRoute[] results = new MazeRoute[batch.length];
+        int chunks = Math.max(1, Math.min(batch.length, parallelism * CHUNKS_PER_THREAD));
+        int chunkSize = (batch.length + chunks - 1) / chunks;
+
+        List<Future<?>> futures = new ArrayList<>(chunks);
+        for (int begin = 0; begin < batch.length; begin += chunkSize) {
+            int from = begin;
+            int to = Math.min(batch.length, begin + chunkSize);
+            futures.add(executor.submit(() -> {
+                solveRange(batch, results, from, to);
+                return null;
+            }));
+        }
+
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException exc) {
+            for (Future<?> future : futures) {
+                future.cancel(true);
+            }
+            Throwable cause = exc.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException("Query failed", cause);
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Solve queries in range [from, to) of batch with one scratch.
+     *
+     * @param batch   all queries
+     * @param results result array to be filled
+     * @param from    first index (inclusive)
+     * @param to      last index (exclusive)
+     * @throws InterruptedException thread is interrupted while waiting for free scratch
+     */
+    private void solveRange(MazeQuery[] batch, MazeRoute[] results, int from, int to) throws InterruptedException {
+        SearchScratch scratch = borrow();
+        try {
+            for (int i = from; i < to; i++) {
+                results[i] = solve(scratch, batch[i].getFrom(), batch[i].getTo());
+            }
+        } finally {
+            release(scratch);
+        }
+    }
+
+    /**
+     * Solve one query with given scratch, collect metrics and notify listener if one is installed.
+     *
+     * @param scratch borrowed scratch
+     * @param from    start location
+     * @param to      target location
+     * @return immutable query result
+     */
+    private MazeRoute solve(SearchScratch scratch, MazeCoord from, MazeCoord to) {
+        SearchListener current = listener;
+        if (current == null) {
+            return Maze.solve(grid, strategy, scratch, from, to);
+        }
+        MazeRoute route = Maze.solve(grid, strategy, scratch, from, to, true, 0);
+        current.searchFinished(route);
+        return route;
+    }
+
+    /**
+     * Take a free scratch from pool, create one if pool is empty but limit is not reached.
+     *
+     * @return scratch owned by caller until released
+     * @throws InterruptedException thread is interrupted while waiting
+     */
+    private SearchScratch borrow() throws InterruptedException {
+        permits.acquire();
+        SearchScratch scratch = pool.poll();
+        return scratch != null ? scratch : new SearchScratch(grid.numCells());
+    }
+
+    /**
+     * Return scratch to pool.
+     *
+     * @param scratch borrowed scratch
+     */
+    private void release(SearchScratch scratch) {
+        pool.offer(scratch);
+        permits.release();
+    }
+}
@@ -0,0 +1,99 @@
+/**
+ * Dijkstra search with Dial's bucket queue, for grids with terrain costs.
+ * Moving into a cell costs <code>MazeGrid.cost</code> of that cell (1 to <code>MazeGrid.MAX_COST</code>). Since every
+ * edge costs at most C = <code>MAX_COST</code>, all cells waiting in the queue have distances within C of the current
+ * one, so the queue is C + 1 FIFO buckets used circularly by distance modulo C + 1. Push and pop are O(1) and the
+ * search runs in O(n + D) for n reached cells and final distance D, with no heap and no object per cell.
+ * A cell whose distance drops is pushed again into its new bucket, and its old entry is skipped when popped.
+ * Search stops as soon as exit is popped (settled). On a grid without costs it expands cells in BFS order and finds a
+ * path of the same length as <code>BreadthFirstSearch</code>.
+ *
+ * @author BorisMirage
+ * Time: 2026/10/17 00:46
+ * Created with IntelliJ IDEA
+ */
+public class DialSearch implements SearchStrategy {
+
+    /**
+     * Pop buckets in distance order until exit is settled, then follow parents back from exit.
+     * <code>distance</code> in scratch stores cost + 1 of each reached cell.
+     *
+     * @param grid    wall grid with costs
+     * @param start   flat index of entry
+     * @param end     flat index of exit
+     * @param scratch reusable working state
+     * @return search result
+     */
+    @Override
+    public SearchResult search(MazeGrid grid, int start, int end, SearchScratch scratch) {
+        IntQueue[] buckets = scratch.buckets();
+        int expanded = 0;
+        int reopened = 0;
+        int pending = 1;        // entries in all buckets, including stale ones
+        int peak = 1;
+
+        scratch.setDistance(start, 1);
+        buckets[0].add(start);
+        for (int d = 1; pending > 0; d++) {
+            IntQueue bucket = buckets[(d - 1) % buckets.length];
+            while (!bucket.isEmpty()) {
+                int cell = bucket.poll();
+                pending--;
+                if (scratch.distance(cell) != d) {
+                    continue;       // stale entry, cell was reached cheaper
+                }
+                if (cell == end) {
+                    return new SearchResult(path(grid, start, end, scratch), expanded, reopened, peak);
+                }
+                expanded++;
+                for (int i = 0; i < 4; i++) {
+                    int n = grid.freeNeighbor(cell, i);
+                    if (n < 0) {
+                        continue;
+                    }
+                    int next = d + grid.cost(n);
+                    int old = scratch.distance(n);
+                    if (old != 0 && old <= next) {
+                        continue;
+                    }
+                    if (old != 0) {
+                        reopened++;
+                    }
+                    scratch.setDistance(n, next);
+                    scratch.setParent(n, i);
+                    buckets[(next - 1) % buckets.length].add(n);
+                    if (++pending > peak) {
+                        peak = pending;
+                    }
+                }
+            }
+        }
+        return new SearchResult(null, expanded, reopened, peak);
+    }
+
+    /**
+     * Rebuild path by following parent orientations. Number of cells is not known from distance on a weighted grid,
+     * so parents are walked twice: once to count, once to fill the array from its tail.
+     *
+     * @param grid    wall grid
+     * @param start   flat index of entry
+     * @param end     flat index of exit
+     * @param scratch working state with parents of settled cells
+     * @return flat indices of path from entry to exit
+     */
+    private static int[] path(MazeGrid grid, int start, int end, SearchScratch scratch) {
+        scratch.markPathStart();
+        int length = 1;
+        for (int cell = end; cell != start; cell = grid.neighbor(cell, 3 - scratch.parent(cell))) {
+            length++;
+        }
+        int[] result = new int[length];
+        int cell = end;
+        for (int k = length - 1; k > 0; k--) {
+            result[k] = cell;
+            cell = grid.neighbor(cell, 3 - scratch.parent(cell));
+        }
+        result[0] = start;
+        return result;
+    }
+}
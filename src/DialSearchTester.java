@@ -0,0 +1,191 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.InvalidParameterException;
+import java.util.Arrays;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+/**
+ * Checks of terrain costs and <code>DialSearch</code> against a plain Dijkstra over a <code>PriorityQueue</code>.
+ * Run with <code>java DialSearchTester</code>, exit status is 1 if any check fails.
+ *
+ * @author BorisMirage
+ * Time: 2026/10/17 00:46
+ * Created with IntelliJ IDEA
+ */
+public class DialSearchTester {
+
+    private static int failed;      // number of failed checks
+
+    /**
+     * Run all checks.
+     *
+     * @param args not used
+     * @throws IOException temporary maze file cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        checkUniformCosts();
+        checkCheapDetour();
+        checkCostRange();
+        checkRandomCosts();
+        checkTextRoundTrip();
+        System.out.println(failed == 0 ? "All checks passed" : failed + " checks failed");
+        if (failed > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Without costs, Dial search finds paths as long as BFS.
+     */
+    private static void checkUniformCosts() {
+        Maze bfs = new MazeGenerator(23).braided(41, 41, 0.4);
+        Maze dial = new Maze(bfs.getGrid(), bfs.getEntryLoc(), bfs.getExitLoc());
+        dial.setSearchStrategy(new DialSearch());
+        boolean same = true;
+        Random rnd = new Random(20180726L);
+        for (int t = 0; t < 100; t++) {
+            MazeCoord from = new MazeCoord(rnd.nextInt(41), rnd.nextInt(41));
+            MazeCoord to = new MazeCoord(rnd.nextInt(41), rnd.nextInt(41));
+            same &= dial.solve(from, to).getLength() == bfs.solve(from, to).getLength();
+        }
+        check("uniform costs same as BFS", same);
+    }
+
+    /**
+     * Expensive cells on the direct route make the default strategy of a weighted maze take a longer cheap detour,
+     * while BFS still takes the direct one.
+     */
+    private static void checkCheapDetour() {
+        Maze maze = new Maze(new MazeGrid(3, 7), new MazeCoord(0, 0), new MazeCoord(0, 6));
+        for (int j = 1; j < 6; j++) {
+            maze.setCost(new MazeCoord(0, j), 9);
+        }
+        MazeRoute cheap = maze.solve(maze.getEntryLoc(), maze.getExitLoc());
+        check("weighted maze takes cheap detour", cheap.getLength() == 9 && maze.pathCost(cheap.getPath()) == 8);
+
+        maze.setSearchStrategy(new BreadthFirstSearch());
+        MazeRoute direct = maze.solve(maze.getEntryLoc(), maze.getExitLoc());
+        check("BFS ignores costs", direct.getLength() == 7 && maze.pathCost(direct.getPath()) == 46);
+    }
+
+    /**
+     * Costs outside of [1, MAX_COST] are rejected, and a cost under a wall is kept but never paid.
+     */
+    private static void checkCostRange() {
+        Maze maze = new Maze(new MazeGrid(1, 5), new MazeCoord(0, 0), new MazeCoord(0, 4));
+        int rejected = 0;
+        for (int cost : new int[]{0, MazeGrid.MAX_COST + 1}) {
+            try {
+                maze.setCost(new MazeCoord(0, 2), cost);
+            } catch (InvalidParameterException exc) {
+                rejected++;
+            }
+        }
+        check("cost out of range", rejected == 2);
+
+        maze.setWall(new MazeCoord(0, 2), true);
+        maze.setCost(new MazeCoord(0, 2), 5);
+        check("cost on wall", !maze.solve(maze.getEntryLoc(), maze.getExitLoc()).isFound());
+        maze.setWall(new MazeCoord(0, 2), false);
+        MazeRoute route = maze.solve(maze.getEntryLoc(), maze.getExitLoc());
+        check("cost kept after wall removed", maze.pathCost(route.getPath()) == 8);
+    }
+
+    /**
+     * Path costs of random weighted grids equal those of reference Dijkstra, including unreachable queries.
+     */
+    private static void checkRandomCosts() {
+        Random rnd = new Random(20180726L);
+        boolean same = true;
+        for (int t = 0; t < 40; t++) {
+            Maze maze = t % 2 == 0 ? new MazeGenerator(t).braided(25, 35, 0.3)
+                    : new MazeGenerator(t).obstacles(25, 35, 0.3);
+            for (int k = 0; k < 300; k++) {
+                maze.setCost(new MazeCoord(rnd.nextInt(25), rnd.nextInt(35)), 1 + rnd.nextInt(MazeGrid.MAX_COST));
+            }
+            for (int q = 0; q < 20; q++) {
+                MazeCoord from = new MazeCoord(rnd.nextInt(25), rnd.nextInt(35));
+                MazeCoord to = new MazeCoord(rnd.nextInt(25), rnd.nextInt(35));
+                MazeRoute route = maze.solve(from, to);
+                long expected = dijkstra(maze.getGrid(), from, to);
+                same &= route.isFound() ? maze.pathCost(route.getPath()) == expected : expected < 0;
+            }
+        }
+        check("random costs match Dijkstra", same);
+    }
+
+    /**
+     * Costs written to a maze file are read back unchanged.
+     *
+     * @throws IOException temporary maze file cannot be written
+     */
+    private static void checkTextRoundTrip() throws IOException {
+        Maze maze = new MazeGenerator(4).braided(15, 15, 0.3);
+        for (int i = 0; i < 15; i++) {
+            maze.setCost(new MazeCoord(i, i), 2 + i % 8);
+        }
+        Path file = Files.createTempFile("weighted", ".txt");
+        try {
+            MazeFileWriter.write(maze, file);
+            Maze loaded = MazeFileReader.read(file);
+            check("costs survive text file", loaded.getGrid().contentHash() == maze.getGrid().contentHash()
+                    && loaded.getGrid().isWeighted());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    /**
+     * Reference Dijkstra with a binary heap of boxed entries.
+     *
+     * @param grid grid with costs
+     * @param from start location
+     * @param to   target location
+     * @return cost of cheapest path, -1 if none
+     */
+    private static long dijkstra(MazeGrid grid, MazeCoord from, MazeCoord to) {
+        int start = grid.index(from.getRow(), from.getCol());
+        int end = grid.index(to.getRow(), to.getCol());
+        if (grid.hasWall(start) || grid.hasWall(end)) {
+            return -1;
+        }
+        long[] cost = new long[grid.numCells()];
+        Arrays.fill(cost, Long.MAX_VALUE);
+        cost[start] = 0;
+        PriorityQueue<long[]> open = new PriorityQueue<>((a, b) -> Long.compare(a[0], b[0]));
+        open.add(new long[]{0, start});
+        while (!open.isEmpty()) {
+            long[] top = open.poll();
+            int cell = (int) top[1];
+            if (top[0] != cost[cell]) {
+                continue;       // stale entry
+            }
+            if (cell == end) {
+                return cost[cell];
+            }
+            for (int o = 0; o < 4; o++) {
+                int n = grid.freeNeighbor(cell, o);
+                if (n >= 0 && cost[cell] + grid.cost(n) < cost[n]) {
+                    cost[n] = cost[cell] + grid.cost(n);
+                    open.add(new long[]{cost[n], n});
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Print result of one check.
+     *
+     * @param name   check name
+     * @param passed true if check passed
+     */
+    private static void check(String name, boolean passed) {
+        System.out.println((passed ? "PASS " : "FAIL ") + name);
+        if (!passed) {
+            failed++;
+        }
+    }
+}
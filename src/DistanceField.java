@@ -0,0 +1,340 @@
+import java.security.InvalidParameterException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable shortest-distance field of a maze from one or several sources.
+ * Field is computed once by a single BFS and keeps, for every cell, its distance to the nearest source and the
+ * orientation it was reached from (2 bits). Afterwards any number of targets are answered without searching again:
+ * distance and nearest source in O(1), path in O(path length) by following parent orientations.
+ * <p>
+ * Single source serves "one depot to many exits"; since moves are symmetric, a field computed from an exit also
+ * serves "many entries to one exit" through <code>getPathToSource</code>. With several sources, the BFS is seeded from
+ * all of them at once and each cell records its nearest source, ties going to the source listed first.
+ * For a single source, paths are the same as the ones found by <code>Maze.solve</code> with BFS.
+ * Field is a snapshot: it does not follow later wall changes of the grid.
+ * <p>
+ * BFS runs on int arrays, which are then kept in the narrowest width that holds every value: distances take a char
+ * per cell on grids of fewer than 65536 cells and an int otherwise, since a winding corridor of a larger grid can be
+ * longer than 65535 moves; nearest source takes a byte per cell for up to 256 sources, a char for up to 65536 and an
+ * int beyond. With 2-bit parents, a single-source field keeps 2.25 bytes per cell on small grids and 4.25 on large
+ * ones, and a field of a few depots adds one byte per cell.
+ *
+ * @author BorisMirage
+ * Time: 2026/10/17 00:22
+ * Created with IntelliJ IDEA
+ */
+public final class DistanceField {
+
+    private final int rows;
+    private final int cols;
+    private final List<MazeCoord> sources;
+    private final int[] distance;       // distance from nearest source, source is 1, 0 means unreachable
+    private final char[] shortDistance;     // distance of grid of fewer than 65536 cells, then distance is null
+    private final long[] parents;       // orientation of move that reached each cell, 2 bits per cell
+    private final byte[] nearestByte;   // nearest source of each cell, as unsigned byte, up to 256 sources
+    private final char[] nearestChar;   // nearest source of each cell, up to 65536 sources
+    private final int[] nearestInt;     // nearest source of each cell, more than 65536 sources
+
+    /**
+     * Create field from computed arrays, narrowing distance and nearest source to the smallest width that holds them.
+     *
+     * @param grid     wall grid
+     * @param sources  source locations
+     * @param distance distance array
+     * @param parents  parent orientations
+     * @param nearest  nearest source array, null for single source
+     */
+    private DistanceField(MazeGrid grid, List<MazeCoord> sources, int[] distance, long[] parents, int[] nearest) {
+        this.rows = grid.numRows();
+        this.cols = grid.numCols();
+        this.sources = sources;
+        this.parents = parents;
+        boolean small = distance.length <= Character.MAX_VALUE;     // distance + 1 is at most number of cells
+        this.distance = small ? null : distance;
+        this.shortDistance = small ? toChars(distance) : null;
+        int n = sources.size();
+        this.nearestByte = nearest != null && n <= 256 ? toBytes(nearest) : null;
+        this.nearestChar = nearest != null && n > 256 && n <= 65536 ? toChars(nearest) : null;
+        this.nearestInt = nearest != null && n > 65536 ? nearest : null;
+    }
+
+    /**
+     * Compute distance field of maze from one source.
+     *
+     * @param grid   wall grid
+     * @param source source location
+     * @return distance field
+     * @throws InvalidParameterException source is out of maze
+     */
+    public static DistanceField compute(MazeGrid grid, MazeCoord source) {
+        return compute(grid, Collections.singletonList(source), false);
+    }
+
+    /**
+     * Compute distance field of maze from nearest of several sources, with one BFS seeded from all of them.
+     *
+     * @param grid    wall grid
+     * @param sources source locations, at least one
+     * @return distance field that also records nearest source of each cell
+     * @throws InvalidParameterException no source is given or a source is out of maze
+     */
+    public static DistanceField computeMultiSource(MazeGrid grid, List<MazeCoord> sources) {
+        if (sources.isEmpty()) {
+            throw new InvalidParameterException("No source is given !");
+        }
+        return compute(grid, sources, sources.size() > 1);
+    }
+
+    /**
+     * Run BFS from all sources. Source on wall reaches nothing.
+     * A cell reached at the same distance from several sources takes the parent with the lowest source index, so
+     * ties go to the source listed first. Among parents of the same source, choice follows
+     * <code>BreadthFirstSearch</code>. Nearest source follows the chosen parent, so path and nearest source always
+     * agree.
+     *
+     * @param grid     wall grid
+     * @param sources  source locations
+     * @param multiple true to record nearest source of each cell
+     * @return distance field
+     * @throws InvalidParameterException a source is out of maze
+     */
+    private static DistanceField compute(MazeGrid grid, List<MazeCoord> sources, boolean multiple) {
+        int[] distance = new int[grid.numCells()];
+        long[] parents = new long[(int) (((long) grid.numCells() + 31) >>> 5)];
+        int[] nearest = multiple ? new int[grid.numCells()] : null;
+        IntQueue frontier = new IntQueue();
+
+        /* Seed all sources at distance 1 */
+        for (int k = 0; k < sources.size(); k++) {
+            MazeCoord source = sources.get(k);
+            if (!grid.contains(source.getRow(), source.getCol())) {
+                throw new InvalidParameterException("Source out of maze: " + source + " !");
+            }
+            int cell = grid.index(source.getRow(), source.getCol());
+            if (!grid.hasWall(cell) && distance[cell] == 0) {
+                distance[cell] = 1;
+                if (multiple) {
+                    nearest[cell] = k;
+                }
+                frontier.add(cell);
+            }
+        }
+
+        while (!frontier.isEmpty()) {
+            int cell = frontier.poll();
+            int next = distance[cell] + 1;
+            for (int i = 0; i < 4; i++) {
+                int n = grid.freeNeighbor(cell, i);
+                if (n < 0) {
+                    continue;
+                }
+                int d = distance[n];
+                if (d == 0) {
+                    distance[n] = next;
+                    SearchScratch.setParent(parents, n, i);
+                    if (multiple) {
+                        nearest[n] = nearest[cell];
+                    }
+                    frontier.add(n);
+                } else if (d == next && (multiple && nearest[cell] != nearest[n] ? nearest[cell] < nearest[n]
+                        : i > SearchScratch.parent(parents, n))) {
+
+                    /* Tie: lower source index wins, same source keeps parent choice of BreadthFirstSearch */
+                    SearchScratch.setParent(parents, n, i);
+                    if (multiple) {
+                        nearest[n] = nearest[cell];
+                    }
+                }
+            }
+        }
+        List<MazeCoord> copy = Collections.unmodifiableList(new ArrayList<>(sources));
+        return new DistanceField(grid, copy, distance, parents, nearest);
+    }
+
+    /**
+     * Get number of sources.
+     *
+     * @return number of sources
+     */
+    public int numSources() {
+        return sources.size();
+    }
+
+    /**
+     * Get source location.
+     *
+     * @param k source index
+     * @return source location
+     */
+    public MazeCoord getSource(int k) {
+        return sources.get(k);
+    }
+
+    /**
+     * Check if location can be reached from any source.
+     *
+     * @param loc location
+     * @return true if reachable
+     * @throws InvalidParameterException location is out of maze
+     */
+    public boolean isReachable(MazeCoord loc) {
+        return distance(index(loc)) != 0;
+    }
+
+    /**
+     * Get number of moves from nearest source to location.
+     *
+     * @param loc location
+     * @return number of moves, 0 at a source, -1 if unreachable
+     * @throws InvalidParameterException location is out of maze
+     */
+    public int getDistance(MazeCoord loc) {
+        return distance(index(loc)) - 1;
+    }
+
+    /**
+     * Get nearest source of location.
+     *
+     * @param loc location
+     * @return index of nearest source, -1 if unreachable
+     * @throws InvalidParameterException location is out of maze
+     */
+    public int getNearestSource(MazeCoord loc) {
+        int cell = index(loc);
+        if (distance(cell) == 0) {
+            return -1;
+        }
+        if (nearestByte != null) {
+            return nearestByte[cell] & 0xFF;
+        }
+        if (nearestChar != null) {
+            return nearestChar[cell];
+        }
+        return nearestInt == null ? 0 : nearestInt[cell];
+    }
+
+    /**
+     * Get shortest path from nearest source to location.
+     *
+     * @param target target location
+     * @return path from source to target, empty if unreachable
+     * @throws InvalidParameterException location is out of maze
+     */
+    public MazePath getPathTo(MazeCoord target) {
+        int cell = index(target);
+        int[] result = new int[distance(cell)];
+        for (int k = result.length - 1; k >= 0; k--) {
+            result[k] = cell;
+            cell = previous(cell);
+        }
+        return new MazePath(result, cols);
+    }
+
+    /**
+     * Get shortest path from location to its nearest source, i.e. reverse of <code>getPathTo</code>.
+     *
+     * @param from start location
+     * @return path from start to source, empty if unreachable
+     * @throws InvalidParameterException location is out of maze
+     */
+    public MazePath getPathToSource(MazeCoord from) {
+        int cell = index(from);
+        int[] result = new int[distance(cell)];
+        for (int k = 0; k < result.length; k++) {
+            result[k] = cell;
+            cell = previous(cell);
+        }
+        return new MazePath(result, cols);
+    }
+
+    /**
+     * Estimate memory held by this field, used by <code>RouteCache</code> to bound its size.
+     *
+     * @return approximate size in bytes
+     */
+    long sizeInBytes() {
+        long cells = (long) rows * cols;
+        long bytes = 64 + 16L * sources.size() + (distance != null ? 4 : 2) * cells + 8L * parents.length;
+        if (nearestByte != null) {
+            bytes += cells;
+        } else if (nearestChar != null) {
+            bytes += 2 * cells;
+        } else if (nearestInt != null) {
+            bytes += 4 * cells;
+        }
+        return bytes;
+    }
+
+    /**
+     * Get stored distance of cell.
+     *
+     * @param cell flat cell index
+     * @return distance from nearest source, source is 1, 0 if unreachable
+     */
+    private int distance(int cell) {
+        return distance != null ? distance[cell] : shortDistance[cell];
+    }
+
+    /**
+     * Narrow values that all fit into a char.
+     *
+     * @param values values from 0 to 65535
+     * @return chars of same values
+     */
+    private static char[] toChars(int[] values) {
+        char[] result = new char[values.length];
+        for (int i = 0; i < values.length; i++) {
+            result[i] = (char) values[i];
+        }
+        return result;
+    }
+
+    /**
+     * Narrow values that all fit into an unsigned byte.
+     *
+     * @param values values from 0 to 255
+     * @return bytes of same values, to be read with <code>&amp; 0xFF</code>
+     */
+    private static byte[] toBytes(int[] values) {
+        byte[] result = new byte[values.length];
+        for (int i = 0; i < values.length; i++) {
+            result[i] = (byte) values[i];
+        }
+        return result;
+    }
+
+    /**
+     * Get parent of reached cell, one step closer to its source. Only valid for non-source cells.
+     *
+     * @param cell flat cell index
+     * @return flat index of parent
+     */
+    private int previous(int cell) {
+        switch (SearchScratch.parent(parents, cell)) {
+            case 0:
+                return cell + cols;     // reached by moving up
+            case 1:
+                return cell + 1;        // reached by moving left
+            case 2:
+                return cell - 1;        // reached by moving right
+            default:
+                return cell - cols;     // reached by moving down
+        }
+    }
+
+    /**
+     * Convert location to flat index.
+     *
+     * @param loc location
+     * @return flat cell index
+     * @throws InvalidParameterException location is out of maze
+     */
+    private int index(MazeCoord loc) {
+        if (loc.getRow() < 0 || loc.getRow() >= rows || loc.getCol() < 0 || loc.getCol() >= cols) {
+            throw new InvalidParameterException("Location out of maze: " + loc + " !");
+        }
+        return loc.getRow() * cols + loc.getCol();
+    }
+}
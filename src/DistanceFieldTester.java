@@ -0,0 +1,220 @@
+import java.security.InvalidParameterException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Checks of single- and multi-source <code>DistanceField</code>.
+ * Run with <code>java DistanceFieldTester</code>, exit status is 1 if any check fails.
+ *
+ * @author BorisMirage
+ * Time: 2026/10/17 00:22
+ * Created with IntelliJ IDEA
+ */
+public class DistanceFieldTester {
+
+    private static int failed;      // number of failed checks
+
+    /**
+     * Run all checks.
+     *
+     * @param args not used
+     */
+    public static void main(String[] args) {
+        checkCorridor();
+        checkUnreachable();
+        checkSameAsSolve();
+        checkMultiSource();
+        checkTies();
+        checkInvalidSources();
+        checkWidths();
+        System.out.println(failed == 0 ? "All checks passed" : failed + " checks failed");
+        if (failed > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Distances along a straight corridor, both path directions, and snapshot semantics after a wall change.
+     */
+    private static void checkCorridor() {
+        MazeGrid grid = new MazeGrid(1, 10);
+        DistanceField field = DistanceField.compute(grid, new MazeCoord(0, 0));
+        boolean distances = true;
+        for (int j = 0; j < 10; j++) {
+            MazeCoord cell = new MazeCoord(0, j);
+            distances &= field.getDistance(cell) == j && field.getNearestSource(cell) == 0;
+        }
+        check("corridor distances", distances);
+
+        MazePath to = field.getPathTo(new MazeCoord(0, 6));
+        List<MazeCoord> back = new ArrayList<>(field.getPathToSource(new MazeCoord(0, 6)));
+        Collections.reverse(back);
+        check("corridor paths", to.size() == 7 && to.get(0).equals(new MazeCoord(0, 0)) && to.equals(back));
+
+        grid.setWall(grid.index(0, 3), true);
+        check("field is a snapshot", field.getDistance(new MazeCoord(0, 9)) == 9);
+    }
+
+    /**
+     * Cells behind a wall column, a wall cell itself, and a source on a wall are all unreachable.
+     */
+    private static void checkUnreachable() {
+        MazeGrid grid = new MazeGrid(3, 5);
+        for (int i = 0; i < 3; i++) {
+            grid.setWall(grid.index(i, 2), true);
+        }
+        DistanceField field = DistanceField.compute(grid, new MazeCoord(1, 0));
+        MazeCoord behind = new MazeCoord(1, 4);
+        check("cell behind wall", field.getDistance(behind) == -1 && !field.isReachable(behind)
+                && field.getNearestSource(behind) == -1 && field.getPathTo(behind).isEmpty());
+        check("wall cell", !field.isReachable(new MazeCoord(0, 2)));
+
+        DistanceField onWall = DistanceField.compute(grid, new MazeCoord(1, 2));
+        check("source on wall", !onWall.isReachable(new MazeCoord(1, 1)) && !onWall.isReachable(behind));
+    }
+
+    /**
+     * Single-source paths are the same as the ones of <code>Maze.solve</code> with BFS.
+     */
+    private static void checkSameAsSolve() {
+        Maze maze = new MazeGenerator(17).braided(31, 41, 0.5);
+        MazeCoord source = new MazeCoord(1, 1);
+        DistanceField field = maze.distanceField(source);
+        boolean same = true;
+        for (int i = 0; i < 31; i += 3) {
+            for (int j = 0; j < 41; j += 3) {
+                MazeCoord target = new MazeCoord(i, j);
+                MazeRoute route = maze.solve(source, target);
+                same &= route.isFound() ? route.getPath().equals(field.getPathTo(target))
+                        : !field.isReachable(target);
+            }
+        }
+        check("same paths as solve", same);
+    }
+
+    /**
+     * Multi-source distance is the smallest distance over all sources, including duplicated and walled sources, and
+     * path of each cell starts at its nearest source.
+     */
+    private static void checkMultiSource() {
+        Random rnd = new Random(20180726L);
+        boolean same = true;
+        for (int t = 0; t < 20; t++) {
+            Maze maze = new MazeGenerator(t).obstacles(20 + rnd.nextInt(20), 20 + rnd.nextInt(20), 0.3);
+            MazeGrid grid = maze.getGrid();
+            List<MazeCoord> sources = new ArrayList<>();
+            for (int k = 0; k < 4; k++) {
+                sources.add(new MazeCoord(rnd.nextInt(grid.numRows()), rnd.nextInt(grid.numCols())));
+            }
+            sources.add(sources.get(0));
+            DistanceField field = DistanceField.computeMultiSource(grid, sources);
+            for (int i = 0; i < grid.numRows(); i++) {
+                for (int j = 0; j < grid.numCols(); j++) {
+                    MazeCoord target = new MazeCoord(i, j);
+                    int best = -1;
+                    for (MazeCoord source : sources) {
+                        MazeRoute route = maze.solve(source, target);
+                        if (route.isFound() && (best < 0 || route.getLength() - 1 < best)) {
+                            best = route.getLength() - 1;
+                        }
+                    }
+                    same &= field.getDistance(target) == best;
+                    if (best >= 0) {
+                        MazePath path = field.getPathTo(target);
+                        same &= path.size() == best + 1
+                                && path.get(0).equals(sources.get(field.getNearestSource(target)));
+                    }
+                }
+            }
+        }
+        check("multi-source distances", same);
+    }
+
+    /**
+     * Cell at equal distance from two sources belongs to the one listed first, even if the other one is expanded
+     * first, and its path starts there.
+     */
+    private static void checkTies() {
+        MazeGrid grid = new MazeGrid(1, 3);
+        MazeCoord middle = new MazeCoord(0, 1);
+        DistanceField field = DistanceField.computeMultiSource(grid, Arrays.asList(new MazeCoord(0, 2),
+                new MazeCoord(0, 0)));
+        check("tie goes to first listed source", field.getNearestSource(middle) == 0
+                && field.getPathTo(middle).get(0).equals(new MazeCoord(0, 2)));
+
+        grid = new MazeGrid(5, 5);
+        field = DistanceField.computeMultiSource(grid, Arrays.asList(new MazeCoord(4, 4), new MazeCoord(0, 0)));
+        boolean first = true;
+        for (int i = 0; i < 5; i++) {
+            MazeCoord diagonal = new MazeCoord(i, 4 - i);
+            first &= field.getNearestSource(diagonal) == 0 && field.getPathTo(diagonal).get(0).equals(
+                    new MazeCoord(4, 4));
+        }
+        check("tie along diagonal", first);
+    }
+
+    /**
+     * Source out of maze and empty source list are rejected.
+     */
+    private static void checkInvalidSources() {
+        MazeGrid grid = new MazeGrid(4, 4);
+        boolean rejected = false;
+        try {
+            DistanceField.compute(grid, new MazeCoord(4, 0));
+        } catch (InvalidParameterException exc) {
+            rejected = true;
+        }
+        check("source out of maze", rejected);
+
+        rejected = false;
+        try {
+            DistanceField.computeMultiSource(grid, Collections.emptyList());
+        } catch (InvalidParameterException exc) {
+            rejected = true;
+        }
+        check("no source", rejected);
+    }
+
+    /**
+     * Distances and nearest sources at the edges of their narrowed widths: longest distance that fits a char, a
+     * distance past it, and source indices past a byte.
+     */
+    private static void checkWidths() {
+        DistanceField small = DistanceField.compute(new MazeGrid(1, 65535), new MazeCoord(0, 0));
+        check("char distances", small.getDistance(new MazeCoord(0, 65534)) == 65534
+                && small.sizeInBytes() < 3L * 65535);
+        DistanceField large = DistanceField.compute(new MazeGrid(1, 70000), new MazeCoord(0, 0));
+        check("int distances", large.getDistance(new MazeCoord(0, 69999)) == 69999);
+
+        /* One source per column of a 3-row strip, each cell is nearest to the source of its own column */
+        for (int cols : new int[]{256, 257, 600, 70000}) {
+            List<MazeCoord> sources = new ArrayList<>();
+            for (int j = 0; j < cols; j++) {
+                sources.add(new MazeCoord(1, j));
+            }
+            DistanceField field = DistanceField.computeMultiSource(new MazeGrid(3, cols), sources);
+            boolean nearest = true;
+            for (int j = 0; j < cols; j++) {
+                nearest &= field.getNearestSource(new MazeCoord(0, j)) == j
+                        && field.getNearestSource(new MazeCoord(2, j)) == j;
+            }
+            check("nearest of " + cols + " sources", nearest);
+        }
+    }
+
+    /**
+     * Print result of one check.
+     *
+     * @param name   check name
+     * @param passed true if check passed
+     */
+    private static void check(String name, boolean passed) {
+        System.out.println((passed ? "PASS " : "FAIL ") + name);
+        if (!passed) {
+            failed++;
+        }
+    }
+}
@@ -0,0 +1,627 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.InvalidParameterException;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.function.IntConsumer;
+
+/**
+ * Out-of-core shortest path solver for binary maze files (see <code>BinaryMazeFile</code>) too large to be held in
+ * heap. Walls are never loaded as a whole: the maze is cut into bands of consecutive rows, and only one band is in
+ * memory at a time. Band height is derived from a configurable memory budget, so peak working memory does not depend
+ * on maze size.
+ * <p>
+ * Distance of every cell from entry (stored as distance + 1, 0 for unreached) is spilled to a temporary file of one
+ * int per cell. Processing a band reads its walls and its distances, together with the row just above and below it,
+ * as two contiguous chunks, relaxes distances inside the band, and writes back the range of rows that changed.
+ * Relaxation is a breadth-first search seeded from the two boundary rows (cells whose outside neighbour offers a
+ * shorter distance), with seeds merged into the FIFO queue in distance order, so every cell is settled at most once
+ * per pass. A band whose first or last row changed marks the band on that side as dirty, and the dirty band nearest to
+ * the current one is processed next. Frontier is therefore held as dirty flags plus boundary rows instead of a list of
+ * cells, and the solver only ever reads and writes whole bands, never single cells.
+ * <p>
+ * Path is rebuilt by a backward pass over the stored distances: starting from exit, each step moves to a neighbour one
+ * closer to entry, loading the window of rows around the current cell whenever the walk leaves the loaded one. Walls
+ * are not needed for this pass. Cells are handed to a sink as the walk finds them, from exit back to entry, so
+ * <code>solve(from, to, sink)</code> never holds the path; <code>solve(from, to)</code> collects it into a route.
+ * <p>
+ * Number of band passes depends on how often shortest paths turn back across band borders. Open and obstacle grids
+ * settle in a few passes over the maze, while perfect mazes with long corridors winding between bands need many more.
+ * Larger budgets mean fewer and larger bands and fewer passes.
+ * Usage: <code>java ExternalMazeSolver maze.mzb [memory budget in MB]</code>
+ *
+ * @author BorisMirage
+ * Time: 2026/10/17 00:51
+ * Created with IntelliJ IDEA
+ */
+public final class ExternalMazeSolver implements Closeable {
+
+    public static final long DEFAULT_MEMORY_BUDGET = 64L << 20;
+
+    private static final int IO_BUFFER_SIZE = 1 << 20;
+
+    private final Path mazeFile;
+    private final FileChannel walls;        // binary maze file
+    private final FileChannel distances;    // temporary file of distance + 1 of each cell
+    private final Path distanceFile;
+    private final int rows;
+    private final int cols;
+    private final MazeCoord entry;
+    private final MazeCoord exit;
+    private final int bandRows;             // number of rows of one band
+    private final int numBands;
+    private final ByteBuffer io;            // transfer buffer of all reads and writes
+
+    /* Working state of one band, sized once from memory budget */
+    private final long[] bandWalls;         // wall words covering band, starting at word of its first cell
+    private final int[] bandDistances;      // distances of band with one row above and below it
+    private final int[] queue;              // BFS queue of local band cells, each cell is added at most once
+    private final long[] seeds;             // (distance << 32) | local cell of boundary seeds
+
+    private long bandLoads;                 // bands read from disk during last solve
+    private long expanded;                  // cells expanded during last solve
+
+    /**
+     * Open binary maze file with default memory budget and temporary directory.
+     *
+     * @param mazeFile binary maze file
+     * @throws IOException file cannot be read, or it is not a valid binary maze file
+     */
+    public ExternalMazeSolver(Path mazeFile) throws IOException {
+        this(mazeFile, DEFAULT_MEMORY_BUDGET, null);
+    }
+
+    /**
+     * Open binary maze file.
+     *
+     * @param mazeFile     binary maze file
+     * @param memoryBudget bytes of working memory allowed for band state and I/O buffer
+     * @param tempDir      directory of temporary distance file, null for system default
+     * @throws IOException               file cannot be read, or it is not a valid binary maze file
+     * @throws InvalidParameterException budget is too small to hold a single row of maze
+     */
+    public ExternalMazeSolver(Path mazeFile, long memoryBudget, Path tempDir) throws IOException {
+        this.mazeFile = mazeFile;
+        this.walls = FileChannel.open(mazeFile, StandardOpenOption.READ);
+        try {
+            int[] header = BinaryMazeFile.readHeader(walls, mazeFile);
+            rows = header[0];
+            cols = header[1];
+            entry = new MazeCoord(header[2], header[3]);
+            exit = new MazeCoord(header[4], header[5]);
+            bandRows = fitBandRows(memoryBudget, rows, cols);
+        } catch (IOException | RuntimeException exc) {
+            walls.close();
+            throw exc;
+        }
+        numBands = (rows + bandRows - 1) / bandRows;
+        io = ByteBuffer.allocateDirect(IO_BUFFER_SIZE);
+        bandWalls = new long[(int) (((long) bandRows * cols + 127) >>> 6)];
+        bandDistances = new int[(bandRows + 2) * cols];
+        queue = new int[bandRows * cols];
+        seeds = new long[2 * cols + 1];
+
+        distanceFile = tempDir == null ? Files.createTempFile("maze", ".dist")
+                : Files.createTempFile(tempDir, "maze", ".dist");
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(distanceFile, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE, StandardOpenOption.DELETE_ON_CLOSE);
+        } catch (IOException exc) {
+            walls.close();
+            Files.deleteIfExists(distanceFile);
+            throw exc;
+        }
+        distances = channel;
+    }
+
+    /**
+     * Solve binary maze file and print path length, band loads and time.
+     *
+     * @param args binary maze file and optional memory budget in MB
+     */
+    public static void main(String[] args) {
+        if (args.length != 1 && args.length != 2) {
+            System.out.println("Usage: java ExternalMazeSolver <binary maze file> [memory budget in MB]");
+            return;
+        }
+        long budget = args.length == 2 ? Long.parseLong(args[1]) << 20 : DEFAULT_MEMORY_BUDGET;
+        long begin = System.nanoTime();
+        try (ExternalMazeSolver solver = new ExternalMazeSolver(Paths.get(args[0]), budget, null)) {
+            int length = solver.solve(solver.entry, solver.exit, cell -> { });     // path is only counted
+            System.out.println(String.format(Locale.ROOT, "%s: %s, %d x %d in bands of %d rows, %d band loads, "
+                            + "%.3f s", args[0], length > 0 ? "path length " + length : "no path",
+                    solver.rows, solver.cols, solver.bandRows, solver.bandLoads, (System.nanoTime() - begin) / 1e9));
+        } catch (IOException exc) {
+            System.out.println("ERROR: " + exc.getMessage());
+        }
+    }
+
+    /**
+     * Get largest band height that fits into memory budget.
+     * Each band cell needs an int of distance, an int of queue and a bit of wall. Two halo rows, boundary seeds and
+     * I/O buffer are fixed costs.
+     *
+     * @param memoryBudget bytes of working memory
+     * @param rows         number of rows
+     * @param cols         number of columns
+     * @return band height, at most number of rows
+     * @throws InvalidParameterException budget is too small to hold a single row
+     */
+    private static int fitBandRows(long memoryBudget, int rows, int cols) {
+        long fixed = IO_BUFFER_SIZE + 24L * cols + 64;
+        long perRow = cols * 8L + cols / 8 + 16;
+        long bandRows = (memoryBudget - fixed) / perRow;
+        if (bandRows < 1) {
+            throw new InvalidParameterException("Memory budget of " + memoryBudget
+                    + " bytes is too small for a maze of " + cols + " columns !");
+        }
+        return (int) Math.min(Math.min(bandRows, rows), (Integer.MAX_VALUE - 16) / cols - 2);
+    }
+
+    /**
+     * Solve from entry to exit stored in maze file.
+     *
+     * @return route, not found if exit cannot be reached
+     * @throws IOException maze or temporary file cannot be read or written
+     */
+    public MazeRoute solve() throws IOException {
+        return solve(entry, exit);
+    }
+
+    /**
+     * Find shortest path between two locations.
+     *
+     * @param from start location
+     * @param to   target location
+     * @return route, not found if target cannot be reached
+     * @throws IOException               maze or temporary file cannot be read or written
+     * @throws InvalidParameterException location is out of maze
+     */
+    public MazeRoute solve(MazeCoord from, MazeCoord to) throws IOException {
+        int start = index(from);
+        int end = index(to);
+        int length = relaxAll(start, end);
+        if (length == 0) {
+            return new MazeRoute(from, to, cols, null, (int) Math.min(expanded, Integer.MAX_VALUE));
+        }
+        int[] path = new int[length];
+        int[] next = {length};      // path is filled from exit backwards
+        walkBack(start, end, length, cell -> path[--next[0]] = cell);
+        return new MazeRoute(from, to, cols, path, (int) Math.min(expanded, Integer.MAX_VALUE));
+    }
+
+    /**
+     * Find shortest path between two locations and stream its cells to sink, without holding the path in memory.
+     *
+     * @param from start location
+     * @param to   target location
+     * @param sink receives flat index of every path cell, from target back to start
+     * @return number of cells of path, 0 if target cannot be reached
+     * @throws IOException               maze or temporary file cannot be read or written
+     * @throws InvalidParameterException location is out of maze
+     */
+    public int solve(MazeCoord from, MazeCoord to, IntConsumer sink) throws IOException {
+        int start = index(from);
+        int end = index(to);
+        int length = relaxAll(start, end);
+        if (length > 0) {
+            walkBack(start, end, length, sink);
+        }
+        return length;
+    }
+
+    /**
+     * Compute distances from start into distance file, band by band.
+     *
+     * @param start flat index of start cell
+     * @param end   flat index of target cell
+     * @return stored distance of target, i.e. number of cells of path, 0 if target cannot be reached
+     * @throws IOException maze or temporary file cannot be read or written
+     */
+    private int relaxAll(int start, int end) throws IOException {
+        bandLoads = 0;
+        expanded = 0;
+        distances.truncate(0);
+        distances.write(ByteBuffer.allocate(Integer.BYTES), (long) rows * cols * Integer.BYTES - Integer.BYTES);
+
+        /* Relax dirty bands, always moving to the nearest one, until no band changes */
+        boolean[] dirty = new boolean[numBands];
+        int band = start / cols / bandRows;
+        dirty[band] = true;
+        int direction = 1;
+        while (band >= 0) {
+            dirty[band] = false;
+            int changed = relax(band, start);
+            if ((changed & 1) != 0 && band > 0) {
+                dirty[band - 1] = true;
+            }
+            if ((changed & 2) != 0 && band < numBands - 1) {
+                dirty[band + 1] = true;
+            }
+            int next = nearestDirty(dirty, band, direction);
+            if (next >= 0) {
+                direction = next > band ? 1 : -1;
+            }
+            band = next;
+        }
+        return readDistance(end);
+    }
+
+    /**
+     * Find dirty band nearest to current one, preferring current direction on a tie.
+     *
+     * @param dirty     dirty flag of each band
+     * @param band      current band
+     * @param direction current direction, 1 or -1
+     * @return nearest dirty band, -1 if none
+     */
+    private static int nearestDirty(boolean[] dirty, int band, int direction) {
+        for (int d = 1; d < dirty.length; d++) {
+            int ahead = band + d * direction;
+            int behind = band - d * direction;
+            if (ahead >= 0 && ahead < dirty.length && dirty[ahead]) {
+                return ahead;
+            }
+            if (behind >= 0 && behind < dirty.length && dirty[behind]) {
+                return behind;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Load one band, lower its distances through paths inside band, and write back rows that changed.
+     *
+     * @param band  band number
+     * @param start flat index of start cell
+     * @return bit 0 set if first row of band changed, bit 1 set if last row changed
+     * @throws IOException maze or temporary file cannot be read or written
+     */
+    private int relax(int band, int start) throws IOException {
+        int first = band * bandRows;
+        int last = Math.min(first + bandRows, rows);       // exclusive
+        int haloFirst = Math.max(first - 1, 0);
+        int haloLast = Math.min(last + 1, rows);
+        int base = (first - 1) * cols;                      // flat index of local cell 0
+        int cells = (last - first) * cols;
+        int wallShift = (int) ((long) first * cols & 63);
+        bandLoads++;
+
+        /* Distances of band and halo rows, walls of band rows only */
+        Arrays.fill(bandDistances, 0, cols, 0);
+        Arrays.fill(bandDistances, (last - first + 1) * cols, (last - first + 2) * cols, 0);
+        readInts((long) haloFirst * cols, bandDistances, (haloFirst - first + 1) * cols, (haloLast - haloFirst) * cols);
+        readWalls((long) first * cols >>> 6, (wallShift + cells + 63) >>> 6);
+
+        /* Seeds: start cell, and boundary cells whose outside neighbour offers a shorter distance */
+        int count = 0;
+        if (start >= first * cols && start < last * cols && bandDistances[start - base] != 1
+                && !isWall(start - base - cols, wallShift)) {
+            bandDistances[start - base] = 1;
+            seeds[count++] = (1L << 32) | (start - base);
+        }
+        int bottom = (last - first) * cols;                 // local index of first cell of last band row
+        for (int c = 0; c < cols; c++) {
+            count = seed(cols + c, bandDistances[c], wallShift, count);
+            count = seed(bottom + c, bandDistances[bottom + cols + c], wallShift, count);
+        }
+        if (count == 0) {
+            return 0;
+        }
+        Arrays.sort(seeds, 0, count);
+
+        /* BFS from seeds, next cell is the smaller of queue head and next seed */
+        int minChanged = Integer.MAX_VALUE;
+        int maxChanged = -1;
+        int head = 0;
+        int tail = 0;
+        int s = 0;
+        while (s < count || head < tail) {
+            int cell;
+            if (head < tail && (s == count || bandDistances[queue[head]] <= (int) (seeds[s] >>> 32))) {
+                cell = queue[head++];
+            } else {
+                long seed = seeds[s++];
+                cell = (int) seed;
+                if (bandDistances[cell] != (int) (seed >>> 32)) {
+                    continue;       // cell was reached cheaper inside band
+                }
+            }
+            minChanged = Math.min(minChanged, cell);
+            maxChanged = Math.max(maxChanged, cell);
+            expanded++;
+            int next = bandDistances[cell] + 1;
+            int col = cell % cols;
+            for (int o = 0; o < 4; o++) {
+                int n;
+                if (o == 0) {
+                    n = cell >= 2 * cols ? cell - cols : -1;
+                } else if (o == 1) {
+                    n = col > 0 ? cell - 1 : -1;
+                } else if (o == 2) {
+                    n = col < cols - 1 ? cell + 1 : -1;
+                } else {
+                    n = cell < bottom ? cell + cols : -1;
+                }
+                if (n >= 0 && !isWall(n - cols, wallShift)
+                        && (bandDistances[n] == 0 || bandDistances[n] > next)) {
+                    bandDistances[n] = next;
+                    queue[tail++] = n;
+                }
+            }
+        }
+
+        /* Every changed cell was expanded, write back rows between the first and last one */
+        int fromRow = minChanged / cols;
+        int toRow = maxChanged / cols + 1;
+        writeInts((long) base + (long) fromRow * cols, bandDistances, fromRow * cols, (toRow - fromRow) * cols);
+        return (fromRow == 1 ? 1 : 0) | (toRow == last - first + 1 ? 2 : 0);
+    }
+
+    /**
+     * Add boundary cell as seed if outside neighbour offers a shorter distance.
+     *
+     * @param cell      local index of boundary cell
+     * @param outside   stored distance of outside neighbour, 0 if unreached
+     * @param wallShift bit offset of first band cell in wall words
+     * @param count     number of seeds so far
+     * @return new number of seeds
+     */
+    private int seed(int cell, int outside, int wallShift, int count) {
+        if (outside == 0 || isWall(cell - cols, wallShift)) {
+            return count;
+        }
+        int d = bandDistances[cell];
+        if (d != 0 && d <= outside + 1) {
+            return count;
+        }
+        bandDistances[cell] = outside + 1;
+        seeds[count] = ((long) (outside + 1) << 32) | cell;
+        return count + 1;
+    }
+
+    /**
+     * Check if band cell has wall.
+     *
+     * @param cell      index of cell from first band cell
+     * @param wallShift bit offset of first band cell in wall words
+     * @return true if cell has wall
+     */
+    private boolean isWall(int cell, int wallShift) {
+        int bit = cell + wallShift;
+        return (bandWalls[bit >>> 6] & (1L << bit)) != 0;
+    }
+
+    /**
+     * Walk path from exit back to entry along decreasing distances, handing each cell to sink as it is found.
+     * A window of band height centred on the current row is loaded whenever walk leaves the loaded rows.
+     *
+     * @param start  flat index of entry
+     * @param end    flat index of exit
+     * @param length number of cells of path, i.e. stored distance of exit
+     * @param sink   receives flat index of every path cell, from exit back to entry
+     * @throws IOException temporary file cannot be read
+     */
+    private void walkBack(int start, int end, int length, IntConsumer sink) throws IOException {
+        int loadedFirst = 0;
+        int loadedLast = 0;         // exclusive, nothing loaded yet
+        int cell = end;
+        for (int k = length - 1; k > 0; k--) {
+            sink.accept(cell);
+            int row = cell / cols;
+            if (row <= loadedFirst && loadedFirst > 0 || row >= loadedLast - 1 && loadedLast < rows
+                    || loadedLast == 0) {
+                int window = bandRows + 2;
+                loadedFirst = Math.max(0, Math.min(row - window / 2, rows - window));
+                loadedLast = Math.min(loadedFirst + window, rows);
+                readInts((long) loadedFirst * cols, bandDistances, 0, (loadedLast - loadedFirst) * cols);
+                bandLoads++;
+            }
+
+            /* Loaded rows include both neighbours of current row */
+            int local = cell - loadedFirst * cols;
+            int col = cell % cols;
+            int d = bandDistances[local] - 1;
+            if (row > 0 && bandDistances[local - cols] == d) {
+                cell -= cols;
+            } else if (col > 0 && bandDistances[local - 1] == d) {
+                cell--;
+            } else if (col < cols - 1 && bandDistances[local + 1] == d) {
+                cell++;
+            } else {
+                cell += cols;
+            }
+        }
+        sink.accept(start);
+    }
+
+    /**
+     * Read stored distance of one cell.
+     *
+     * @param cell flat cell index
+     * @return distance + 1, 0 if unreached
+     * @throws IOException temporary file cannot be read
+     */
+    private int readDistance(int cell) throws IOException {
+        int[] value = new int[1];
+        readInts(cell, value, 0, 1);
+        return value[0];
+    }
+
+    /**
+     * Read consecutive ints from distance file.
+     *
+     * @param from   flat index of first cell
+     * @param target destination array
+     * @param offset first index in destination
+     * @param count  number of ints
+     * @throws IOException temporary file cannot be read
+     */
+    private void readInts(long from, int[] target, int offset, int count) throws IOException {
+        long position = from * Integer.BYTES;
+        while (count > 0) {
+            int n = Math.min(count, IO_BUFFER_SIZE / Integer.BYTES);
+            fill(distances, position, n * Integer.BYTES);
+            io.order(ByteOrder.nativeOrder()).asIntBuffer().get(target, offset, n);
+            position += (long) n * Integer.BYTES;
+            offset += n;
+            count -= n;
+        }
+    }
+
+    /**
+     * Write consecutive ints to distance file.
+     *
+     * @param from   flat index of first cell
+     * @param source source array
+     * @param offset first index in source
+     * @param count  number of ints
+     * @throws IOException temporary file cannot be written
+     */
+    private void writeInts(long from, int[] source, int offset, int count) throws IOException {
+        long position = from * Integer.BYTES;
+        while (count > 0) {
+            int n = Math.min(count, IO_BUFFER_SIZE / Integer.BYTES);
+            io.clear();
+            io.order(ByteOrder.nativeOrder()).asIntBuffer().put(source, offset, n);
+            io.limit(n * Integer.BYTES);
+            while (io.hasRemaining()) {
+                position += distances.write(io, position);
+            }
+            offset += n;
+            count -= n;
+        }
+    }
+
+    /**
+     * Read wall words of band from maze file into <code>bandWalls</code>. Words beyond the bitmap read as 0.
+     *
+     * @param fromWord first bitmap word
+     * @param count    number of words
+     * @throws IOException maze file cannot be read
+     */
+    private void readWalls(long fromWord, int count) throws IOException {
+        long available = MazeGrid.numWords(rows, cols) - fromWord;
+        int words = (int) Math.min(count, available);
+        Arrays.fill(bandWalls, words, count, 0L);
+        long position = BinaryMazeFile.HEADER_SIZE + fromWord * Long.BYTES;
+        int offset = 0;
+        while (offset < words) {
+            int n = Math.min(words - offset, IO_BUFFER_SIZE / Long.BYTES);
+            fill(walls, position, n * Long.BYTES);
+            io.order(ByteOrder.LITTLE_ENDIAN).asLongBuffer().get(bandWalls, offset, n);
+            position += (long) n * Long.BYTES;
+            offset += n;
+        }
+    }
+
+    /**
+     * Read given number of bytes from channel into I/O buffer, leaving buffer ready to be read from position 0.
+     *
+     * @param channel  file channel
+     * @param position file position
+     * @param bytes    number of bytes, at most buffer size
+     * @throws IOException file cannot be read or ends early
+     */
+    private void fill(FileChannel channel, long position, int bytes) throws IOException {
+        io.clear().limit(bytes);
+        while (io.hasRemaining()) {
+            int n = channel.read(io, position);
+            if (n < 0) {
+                throw new IOException((channel == walls ? mazeFile : distanceFile) + ": unexpected end of file");
+            }
+            position += n;
+        }
+        io.flip();
+    }
+
+    /**
+     * Convert location to flat index.
+     *
+     * @param loc location
+     * @return flat cell index
+     * @throws InvalidParameterException location is out of maze
+     */
+    private int index(MazeCoord loc) {
+        if (loc.getRow() < 0 || loc.getRow() >= rows || loc.getCol() < 0 || loc.getCol() >= cols) {
+            throw new InvalidParameterException("Location out of maze: " + loc + " !");
+        }
+        return loc.getRow() * cols + loc.getCol();
+    }
+
+    /**
+     * Get number of rows of maze.
+     *
+     * @return number of rows
+     */
+    public int numRows() {
+        return rows;
+    }
+
+    /**
+     * Get number of columns of maze.
+     *
+     * @return number of columns
+     */
+    public int numCols() {
+        return cols;
+    }
+
+    /**
+     * Get entry stored in maze file.
+     *
+     * @return entry location
+     */
+    public MazeCoord getEntryLoc() {
+        return entry;
+    }
+
+    /**
+     * Get exit stored in maze file.
+     *
+     * @return exit location
+     */
+    public MazeCoord getExitLoc() {
+        return exit;
+    }
+
+    /**
+     * Get number of rows of one band, derived from memory budget.
+     *
+     * @return band height
+     */
+    public int getBandRows() {
+        return bandRows;
+    }
+
+    /**
+     * Get number of band reads (sweep and backward pass) of last solve, a measure of its I/O volume.
+     *
+     * @return band loads
+     */
+    public long getBandLoads() {
+        return bandLoads;
+    }
+
+    /**
+     * Close maze file and delete temporary distance file.
+     *
+     * @throws IOException file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            walls.close();
+        } finally {
+            distances.close();
+        }
+    }
+}
@@ -0,0 +1,240 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.InvalidParameterException;
+import java.util.Random;
+
+/**
+ * Checks of band-by-band <code>ExternalMazeSolver</code> against in-memory BFS, down to bands of a single row.
+ * Run with <code>java ExternalMazeSolverTester</code>, exit status is 1 if any check fails.
+ *
+ * @author BorisMirage
+ * Time: 2026/10/17 00:51
+ * Created with IntelliJ IDEA
+ */
+public class ExternalMazeSolverTester {
+
+    private static int failed;      // number of failed checks
+
+    /**
+     * Run all checks.
+     *
+     * @param args not used
+     * @throws IOException temporary maze file cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        Path file = Files.createTempFile("maze", ".mzb");
+        try {
+            checkSingleRowBands(file);
+            checkEndpoints(file);
+            checkRandomMazes(file);
+            checkStreamedPath(file);
+            checkInvalidFile(file);
+        } finally {
+            Files.delete(file);
+        }
+        System.out.println(failed == 0 ? "All checks passed" : failed + " checks failed");
+        if (failed > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Smallest budget that is accepted gives bands of one row, which still solve a perfect maze whose corridors turn
+     * back across every band border; one byte less is rejected.
+     *
+     * @param file temporary maze file
+     * @throws IOException temporary file cannot be read or written
+     */
+    private static void checkSingleRowBands(Path file) throws IOException {
+        Maze maze = new MazeGenerator(24).backtracker(41, 31);
+        BinaryMazeFile.write(maze, file);
+        long low = 1;
+        long high = 2L << 20;
+        while (low < high) {
+            long mid = (low + high) >>> 1;
+            if (accepts(file, mid)) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        try (ExternalMazeSolver solver = new ExternalMazeSolver(file, low, null)) {
+            check("smallest budget gives one-row bands", solver.getBandRows() == 1);
+            check("one-row bands match BFS", agrees(maze, solver.solve(), maze.getEntryLoc(), maze.getExitLoc()));
+        }
+        check("budget below one row", !accepts(file, low - 1));
+    }
+
+    /**
+     * Exit sealed by walls, start on a wall, and start equal to exit.
+     *
+     * @param file temporary maze file
+     * @throws IOException temporary file cannot be read or written
+     */
+    private static void checkEndpoints(Path file) throws IOException {
+        Maze maze = new Maze(new MazeGrid(20, 20), new MazeCoord(0, 0), new MazeCoord(19, 19));
+        maze.setWall(new MazeCoord(18, 19), true);
+        maze.setWall(new MazeCoord(19, 18), true);
+        maze.setWall(new MazeCoord(5, 5), true);
+        BinaryMazeFile.write(maze, file);
+        try (ExternalMazeSolver solver = new ExternalMazeSolver(file, 1L << 21, null)) {
+            check("unreachable exit", !solver.solve().isFound());
+            check("start on wall", !solver.solve(new MazeCoord(5, 5), new MazeCoord(0, 0)).isFound());
+            MazeCoord cell = new MazeCoord(7, 3);
+            check("start equals exit", solver.solve(cell, cell).getLength() == 1);
+
+            boolean rejected = false;
+            try {
+                solver.solve(new MazeCoord(20, 0), cell);
+            } catch (InvalidParameterException exc) {
+                rejected = true;
+            }
+            check("location out of maze", rejected);
+        }
+    }
+
+    /**
+     * Random queries on obstacle, braided and perfect mazes with bands of a few rows.
+     *
+     * @param file temporary maze file
+     * @throws IOException temporary file cannot be read or written
+     */
+    private static void checkRandomMazes(Path file) throws IOException {
+        Random rnd = new Random(20180726L);
+        boolean same = true;
+        for (int t = 0; t < 30; t++) {
+            int rows = 11 + 2 * rnd.nextInt(20);
+            int cols = 11 + 2 * rnd.nextInt(20);
+            MazeGenerator generator = new MazeGenerator(t);
+            Maze maze = t % 3 == 0 ? generator.obstacles(rows, cols, 0.3)
+                    : t % 3 == 1 ? generator.braided(rows, cols, 0.3) : generator.kruskal(rows, cols);
+            BinaryMazeFile.write(maze, file);
+            long budget = (1 << 20) + 2048 + rnd.nextInt(4096);
+            try (ExternalMazeSolver solver = new ExternalMazeSolver(file, budget, null)) {
+                for (int q = 0; q < 10; q++) {
+                    MazeCoord from = new MazeCoord(rnd.nextInt(rows), rnd.nextInt(cols));
+                    MazeCoord to = new MazeCoord(rnd.nextInt(rows), rnd.nextInt(cols));
+                    same &= agrees(maze, solver.solve(from, to), from, to);
+                }
+            }
+        }
+        check("random mazes match BFS", same);
+    }
+
+    /**
+     * Path streamed to a sink comes from target back to start, and is the route of <code>solve</code> reversed.
+     *
+     * @param file temporary maze file
+     * @throws IOException temporary file cannot be read or written
+     */
+    private static void checkStreamedPath(Path file) throws IOException {
+        Maze maze = new MazeGenerator(7).braided(61, 41, 0.3);
+        BinaryMazeFile.write(maze, file);
+        try (ExternalMazeSolver solver = new ExternalMazeSolver(file, (1 << 20) + 4096, null)) {
+            MazeRoute route = solver.solve();
+            int[] streamed = new int[route.getLength()];
+            int[] count = {0};
+            int length = solver.solve(maze.getEntryLoc(), maze.getExitLoc(), cell -> {
+                if (count[0] < streamed.length) {
+                    streamed[count[0]] = cell;
+                }
+                count[0]++;
+            });
+            boolean same = route.isFound() && length == route.getLength() && count[0] == length;
+            for (int i = 0; same && i < length; i++) {
+                same = streamed[i] == route.getPath().cellAt(length - 1 - i);
+            }
+            check("streamed path is route reversed", same);
+
+            /* Target on a wall */
+            MazeGrid grid = maze.getGrid();
+            int wall = 0;
+            while (!grid.hasWall(wall)) {
+                wall++;
+            }
+            count[0] = 0;
+            MazeCoord to = new MazeCoord(wall / grid.numCols(), wall % grid.numCols());
+            check("unreachable target streams nothing",
+                    solver.solve(maze.getEntryLoc(), to, cell -> count[0]++) == 0 && count[0] == 0);
+        }
+    }
+
+    /**
+     * File that is not a binary maze is rejected with <code>IOException</code>.
+     *
+     * @param file temporary maze file
+     * @throws IOException temporary file cannot be written
+     */
+    private static void checkInvalidFile(Path file) throws IOException {
+        Files.write(file, "0 1\n1 0\n".getBytes());
+        boolean rejected = false;
+        try {
+            new ExternalMazeSolver(file).close();
+        } catch (IOException exc) {
+            rejected = true;
+        }
+        check("not a binary maze", rejected);
+    }
+
+    /**
+     * Try to open solver with given budget.
+     *
+     * @param file   binary maze file
+     * @param budget memory budget in bytes
+     * @return true if budget is large enough for one row
+     * @throws IOException file cannot be read
+     */
+    private static boolean accepts(Path file, long budget) throws IOException {
+        try {
+            new ExternalMazeSolver(file, budget, null).close();
+            return true;
+        } catch (InvalidParameterException exc) {
+            return false;
+        }
+    }
+
+    /**
+     * Check that route agrees with in-memory BFS in reachability and length, and is a chain of adjacent free cells
+     * from start to target.
+     *
+     * @param maze  maze held in memory
+     * @param route route of external solver
+     * @param from  start location
+     * @param to    target location
+     * @return true if route is correct
+     */
+    private static boolean agrees(Maze maze, MazeRoute route, MazeCoord from, MazeCoord to) {
+        MazeRoute expected = maze.solve(from, to);
+        if (route.isFound() != expected.isFound() || route.getLength() != expected.getLength()) {
+            return false;
+        }
+        if (!route.isFound()) {
+            return true;
+        }
+        MazePath path = route.getPath();
+        if (!path.get(0).equals(from) || !path.get(path.size() - 1).equals(to)) {
+            return false;
+        }
+        for (int i = 0; i < path.size(); i++) {
+            if (maze.getGrid().hasWall(path.cellAt(i)) || i > 0 && Math.abs(path.rowAt(i) - path.rowAt(i - 1))
+                    + Math.abs(path.colAt(i) - path.colAt(i - 1)) != 1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Print result of one check.
+     *
+     * @param name   check name
+     * @param passed true if check passed
+     */
+    private static void check(String name, boolean passed) {
+        System.out.println((passed ? "PASS " : "FAIL ") + name);
+        if (!passed) {
+            failed++;
+        }
+    }
+}
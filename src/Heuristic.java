@@ -0,0 +1,32 @@
+/**
+ * Estimation of remaining distance used by <code>AStarSearch</code>.
+ * To guarantee shortest path, estimation must never exceed real distance (admissible), and it should also satisfy
+ * h(a) &lt;= 1 + h(b) for adjacent cells a and b (consistent), so that each cell is expanded at most once.
+ *
+ * @author BorisMirage
+ * Time: 2026/10/16 11:14
+ * Created with IntelliJ IDEA
+ */
+public interface Heuristic {
+
+    /**
+     * Manhattan distance, which is the exact distance on a grid without wall.
+     */
+    Heuristic MANHATTAN = (fromRow, fromCol, toRow, toCol) -> Math.abs(fromRow - toRow) + Math.abs(fromCol - toCol);
+
+    /**
+     * Always 0, A* search then works as Dijkstra algorithm.
+     */
+    Heuristic ZERO = (fromRow, fromCol, toRow, toCol) -> 0;
+
+    /**
+     * Estimate distance between two locations.
+     *
+     * @param fromRow row of current cell
+     * @param fromCol column of current cell
+     * @param toRow   row of target cell
+     * @param toCol   column of target cell
+     * @return estimated number of moves
+     */
+    int estimate(int fromRow, int fromCol, int toRow, int toCol);
+}
@@ -0,0 +1,271 @@
+import java.security.InvalidParameterException;
+import java.util.Arrays;
+
+/**
+ * Shortest path between two fixed locations of a maze whose walls change over time, re-planned with Lifelong
+ * Planning A* (LPA*) instead of searching from scratch.
+ * Solver keeps, for every cell, its distance from start (g) and the one-step lookahead of it (rhs). After
+ * <code>setWall</code> only the changed cell and its neighbours are marked inconsistent, and next <code>solve</code>
+ * repairs distances starting from them, in A* order towards target, so a door that opens or closes far from the
+ * current path costs a few expansions and one next to it costs roughly the part of maze whose distance changed.
+ * First <code>solve</code> is an ordinary A* search with Manhattan heuristic.
+ * <p>
+ * Walls must be changed through this solver to be repaired locally. Walls changed by other means (e.g.
+ * <code>Maze.setWall</code> called directly) are detected and make next <code>solve</code> start over.
+ * Solver holds two int arrays of the maze size and is not thread-safe.
+ *
+ * @author BorisMirage
+ * Time: 2026/10/17 00:28
+ * Created with IntelliJ IDEA
+ */
+public final class IncrementalMazeSolver {
+
+    private static final int INF = Integer.MAX_VALUE / 2;      // distance of unreachable cell, INF + 1 cannot overflow
+
+    private final Maze maze;
+    private final MazeGrid grid;
+    private final MazeCoord from;
+    private final MazeCoord to;
+    private final int start;
+    private final int goal;
+    private final int goalRow;
+    private final int goalCol;
+    private final int[] g;                  // current distance from start
+    private final int[] rhs;                // distance from start through best neighbour
+    private final CellHeap open = new CellHeap();
+    private int expectedModCount = -1;      // grid modification count the distances agree with, -1 before first solve
+    private int expanded;                   // cells expanded by current solve
+
+    /**
+     * Create solver from entry to exit of maze.
+     *
+     * @param maze maze to be searched
+     */
+    public IncrementalMazeSolver(Maze maze) {
+        this(maze, maze.getEntryLoc(), maze.getExitLoc());
+    }
+
+    /**
+     * Create solver between two locations of maze.
+     *
+     * @param maze maze to be searched
+     * @param from start location
+     * @param to   target location
+     * @throws InvalidParameterException location is out of maze
+     */
+    public IncrementalMazeSolver(Maze maze, MazeCoord from, MazeCoord to) {
+        this.maze = maze;
+        this.grid = maze.getGrid();
+        if (!grid.contains(from.getRow(), from.getCol()) || !grid.contains(to.getRow(), to.getCol())) {
+            throw new InvalidParameterException("Location out of maze: " + from + " -> " + to + " !");
+        }
+        this.from = from;
+        this.to = to;
+        this.start = grid.index(from.getRow(), from.getCol());
+        this.goal = grid.index(to.getRow(), to.getCol());
+        this.goalRow = to.getRow();
+        this.goalCol = to.getCol();
+        this.g = new int[grid.numCells()];
+        this.rhs = new int[grid.numCells()];
+    }
+
+    /**
+     * Put or remove a wall and mark affected cells for repair on next <code>solve</code>.
+     *
+     * @param loc  location to be changed
+     * @param wall true to put wall, false to remove it
+     * @throws InvalidParameterException location is out of maze
+     */
+    public void setWall(MazeCoord loc, boolean wall) {
+        if (!grid.contains(loc.getRow(), loc.getCol())) {
+            throw new InvalidParameterException("Location out of maze: " + loc + " !");
+        }
+        int cell = grid.index(loc.getRow(), loc.getCol());
+        if (grid.hasWall(cell) == wall) {
+            return;
+        }
+        boolean consistent = expectedModCount == grid.modCount();
+        maze.setWall(loc, wall);
+        if (!consistent) {
+            return;
+        }
+        expectedModCount = grid.modCount();
+
+        /* Only the cell itself and edges to its neighbours changed */
+        update(cell);
+        for (int i = 0; i < 4; i++) {
+            int n = grid.neighbor(cell, i);
+            if (n >= 0) {
+                update(n);
+            }
+        }
+    }
+
+    /**
+     * Get shortest route from start to target under current walls, repairing distances left by previous call.
+     *
+     * @return immutable route, expanded count covers this call only
+     */
+    public MazeRoute solve() {
+        if (expectedModCount != grid.modCount()) {
+            initialize();
+        }
+        expanded = 0;
+        if (grid.hasWall(start) || grid.hasWall(goal)) {
+            return new MazeRoute(from, to, grid.numCols(), null, 0);
+        }
+        computeShortestPath();
+        if (g[goal] >= INF) {
+            return new MazeRoute(from, to, grid.numCols(), null, expanded);
+        }
+        return new MazeRoute(from, to, grid.numCols(), extractPath(), expanded);
+    }
+
+    /**
+     * Get start location.
+     *
+     * @return start location
+     */
+    public MazeCoord getFrom() {
+        return from;
+    }
+
+    /**
+     * Get target location.
+     *
+     * @return target location
+     */
+    public MazeCoord getTo() {
+        return to;
+    }
+
+    /**
+     * Forget all distances and seed search from start.
+     */
+    private void initialize() {
+        Arrays.fill(g, INF);
+        Arrays.fill(rhs, INF);
+        open.clear();
+        if (!grid.hasWall(start)) {
+            rhs[start] = 0;
+            open.add(key(start), start);
+        }
+        expectedModCount = grid.modCount();
+    }
+
+    /**
+     * Expand inconsistent cells in key order until target is consistent and no queued cell can improve it.
+     * Heap uses lazy deletion: an entry is skipped if its cell became consistent or got a different key after it was
+     * pushed, every inconsistent cell always has an entry with its current key.
+     */
+    private void computeShortestPath() {
+        while (!open.isEmpty() && (open.peekKey() < key(goal) || rhs[goal] != g[goal])) {
+            long k = open.peekKey();
+            int u = open.poll();
+            if (g[u] == rhs[u] || k != key(u)) {
+                continue;
+            }
+            expanded++;
+            if (g[u] > rhs[u]) {
+
+                /* Over-consistent: distance got shorter, settle it */
+                g[u] = rhs[u];
+                for (int i = 0; i < 4; i++) {
+                    int n = grid.neighbor(u, i);
+                    if (n >= 0) {
+                        update(n);
+                    }
+                }
+            } else {
+
+                /* Under-consistent: distance got longer, invalidate it and let neighbours find a new one */
+                g[u] = INF;
+                update(u);
+                for (int i = 0; i < 4; i++) {
+                    int n = grid.neighbor(u, i);
+                    if (n >= 0) {
+                        update(n);
+                    }
+                }
+            }
+        }
+        compact();
+    }
+
+    /**
+     * Recompute rhs of cell from its free neighbours and queue it if it became inconsistent.
+     *
+     * @param u flat cell index
+     */
+    private void update(int u) {
+        if (u == start) {
+            rhs[u] = grid.hasWall(u) ? INF : 0;
+        } else if (grid.hasWall(u)) {
+            rhs[u] = INF;
+        } else {
+            int best = INF;
+            for (int i = 0; i < 4; i++) {
+                int n = grid.freeNeighbor(u, i);
+                if (n >= 0 && g[n] + 1 < best) {
+                    best = g[n] + 1;
+                }
+            }
+            rhs[u] = best;
+        }
+        if (g[u] != rhs[u]) {
+            open.add(key(u), u);
+        }
+    }
+
+    /**
+     * Priority of cell: min(g, rhs) + h in high half, min(g, rhs) in low half, smaller is expanded first.
+     *
+     * @param u flat cell index
+     * @return packed key
+     */
+    private long key(int u) {
+        int m = Math.min(g[u], rhs[u]);
+        if (m >= INF) {
+            return Long.MAX_VALUE;
+        }
+        int h = Math.abs(u / grid.numCols() - goalRow) + Math.abs(u % grid.numCols() - goalCol);
+        return ((long) (m + h) << 32) | m;
+    }
+
+    /**
+     * Follow decreasing distance from target back to start.
+     *
+     * @return flat indices from start to target
+     */
+    private int[] extractPath() {
+        int[] path = new int[g[goal] + 1];
+        int cell = goal;
+        for (int k = path.length - 1; k > 0; k--) {
+            path[k] = cell;
+            for (int i = 0; i < 4; i++) {
+                int n = grid.freeNeighbor(cell, i);
+                if (n >= 0 && g[n] == g[cell] - 1) {
+                    cell = n;
+                    break;
+                }
+            }
+        }
+        path[0] = start;
+        return path;
+    }
+
+    /**
+     * Drop stale heap entries when they outnumber cells, so a long series of edits does not grow heap without bound.
+     */
+    private void compact() {
+        if (open.size() <= 2 * g.length + 1024) {
+            return;
+        }
+        open.clear();
+        for (int u = 0; u < g.length; u++) {
+            if (g[u] != rhs[u]) {
+                open.add(key(u), u);
+            }
+        }
+    }
+}
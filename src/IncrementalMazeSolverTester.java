@@ -0,0 +1,160 @@
+import java.security.InvalidParameterException;
+import java.util.Random;
+
+/**
+ * Checks of LPA* re-planning in <code>IncrementalMazeSolver</code> against BFS from scratch.
+ * Run with <code>java IncrementalMazeSolverTester</code>, exit status is 1 if any check fails.
+ *
+ * @author BorisMirage
+ * Time: 2026/10/17 00:28
+ * Created with IntelliJ IDEA
+ */
+public class IncrementalMazeSolverTester {
+
+    private static int failed;      // number of failed checks
+
+    /**
+     * Run all checks.
+     *
+     * @param args not used
+     */
+    public static void main(String[] args) {
+        checkWallOnPath();
+        checkWallOffPath();
+        checkSealedEnds();
+        checkDirectWallChange();
+        checkRandomEdits();
+        System.out.println(failed == 0 ? "All checks passed" : failed + " checks failed");
+        if (failed > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Wall put on the middle of current path is avoided, and removing it restores the original length.
+     */
+    private static void checkWallOnPath() {
+        Maze maze = new MazeGenerator(19).braided(41, 41, 0.5);
+        IncrementalMazeSolver solver = new IncrementalMazeSolver(maze);
+        MazeRoute before = solver.solve();
+        check("initial route", matches(maze, before));
+
+        MazeCoord middle = before.getPath().get(before.getLength() / 2);
+        solver.setWall(middle, true);
+        MazeRoute blocked = solver.solve();
+        check("wall on path avoided", matches(maze, blocked) && !blocked.getPath().contains(middle));
+
+        solver.setWall(middle, false);
+        MazeRoute restored = solver.solve();
+        check("wall removed again", matches(maze, restored) && restored.getLength() == before.getLength());
+    }
+
+    /**
+     * Wall in a far corner of an open grid does not touch any distance on the way to target, so repair is cheap.
+     */
+    private static void checkWallOffPath() {
+        Maze maze = new Maze(new MazeGrid(100, 100), new MazeCoord(0, 0), new MazeCoord(0, 99));
+        IncrementalMazeSolver solver = new IncrementalMazeSolver(maze);
+        MazeRoute first = solver.solve();
+        solver.setWall(new MazeCoord(99, 0), true);
+        MazeRoute again = solver.solve();
+        check("wall off path", again.getLength() == 100 && again.getExpanded() * 10 < first.getExpanded());
+    }
+
+    /**
+     * Exit sealed by walls is not found, and found again once one wall is removed. Same for a wall on start.
+     */
+    private static void checkSealedEnds() {
+        Maze maze = new Maze(new MazeGrid(10, 10), new MazeCoord(0, 0), new MazeCoord(9, 9));
+        IncrementalMazeSolver solver = new IncrementalMazeSolver(maze);
+        solver.solve();
+        solver.setWall(new MazeCoord(8, 9), true);
+        solver.setWall(new MazeCoord(9, 8), true);
+        check("sealed exit", !solver.solve().isFound());
+        solver.setWall(new MazeCoord(9, 8), false);
+        check("reopened exit", solver.solve().getLength() == 19);
+
+        solver.setWall(new MazeCoord(0, 0), true);
+        check("wall on start", !solver.solve().isFound());
+        solver.setWall(new MazeCoord(0, 0), false);
+        check("start cleared", solver.solve().getLength() == 19);
+
+        boolean rejected = false;
+        try {
+            solver.setWall(new MazeCoord(10, 0), true);
+        } catch (InvalidParameterException exc) {
+            rejected = true;
+        }
+        check("location out of maze", rejected);
+    }
+
+    /**
+     * Wall changed through <code>Maze.setWall</code> instead of solver is detected by next solve.
+     */
+    private static void checkDirectWallChange() {
+        Maze maze = new MazeGenerator(7).braided(31, 31, 0.3);
+        IncrementalMazeSolver solver = new IncrementalMazeSolver(maze);
+        MazeRoute before = solver.solve();
+        maze.setWall(before.getPath().get(before.getLength() / 2), true);
+        check("direct wall change", matches(maze, solver.solve()));
+    }
+
+    /**
+     * Random wall changes, mostly through solver, all answered like a fresh BFS.
+     */
+    private static void checkRandomEdits() {
+        Random rnd = new Random(20180726L);
+        boolean same = true;
+        for (int t = 0; t < 40; t++) {
+            Maze maze = t % 2 == 0 ? new MazeGenerator(t).braided(25, 25, 0.3)
+                    : new MazeGenerator(t).obstacles(25, 25, 0.25);
+            IncrementalMazeSolver solver = new IncrementalMazeSolver(maze);
+            for (int e = 0; e < 30; e++) {
+                same &= matches(maze, solver.solve());
+                MazeCoord loc = new MazeCoord(rnd.nextInt(25), rnd.nextInt(25));
+                if (e % 10 == 9) {
+                    maze.setWall(loc, rnd.nextBoolean());
+                } else {
+                    solver.setWall(loc, rnd.nextBoolean());
+                }
+            }
+        }
+        check("random edits", same);
+    }
+
+    /**
+     * Check that route agrees with BFS from entry to exit in reachability and length, and is a chain of adjacent free
+     * cells.
+     *
+     * @param maze  maze
+     * @param route route of solver
+     * @return true if route is correct
+     */
+    private static boolean matches(Maze maze, MazeRoute route) {
+        MazeRoute expected = maze.solve(maze.getEntryLoc(), maze.getExitLoc());
+        if (route.isFound() != expected.isFound() || route.getLength() != expected.getLength()) {
+            return false;
+        }
+        MazePath path = route.getPath();
+        for (int i = 0; i < path.size(); i++) {
+            if (maze.getGrid().hasWall(path.cellAt(i)) || i > 0 && Math.abs(path.rowAt(i) - path.rowAt(i - 1))
+                    + Math.abs(path.colAt(i) - path.colAt(i - 1)) != 1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Print result of one check.
+     *
+     * @param name   check name
+     * @param passed true if check passed
+     */
+    private static void check(String name, boolean passed) {
+        System.out.println((passed ? "PASS " : "FAIL ") + name);
+        if (!passed) {
+            failed++;
+        }
+    }
+}
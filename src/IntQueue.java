@@ -0,0 +1,111 @@
+/**
+ * First-in-first-out queue of primitive int values backed by a growable ring buffer.
+ * Used as search frontier so that no boxing or node object is created for each cell.
+ * Capacity is always power of two, hence index wrap-around is a single mask operation.
+ *
+ * @author BorisMirage
+ * Time: 2026/10/16 09:12
+ * Created with IntelliJ IDEA
+ */
+final class IntQueue {
+
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    private int[] data;
+    private int head;       // index of next element to poll
+    private int size;
+    private int peak;       // largest size since last clear
+
+    /**
+     * Create an empty queue with default capacity.
+     */
+    IntQueue() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Create an empty queue that can hold given number of elements before growing.
+     *
+     * @param capacity initial capacity, rounded up to power of two
+     */
+    IntQueue(int capacity) {
+        int c = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+        data = new int[c > 0 ? c : 1 << 30];
+    }
+
+    /**
+     * Append value to the tail of queue.
+     *
+     * @param value value to be added
+     */
+    void add(int value) {
+        if (size == data.length) {
+            grow();
+        }
+        data[(head + size) & (data.length - 1)] = value;
+        if (++size > peak) {
+            peak = size;
+        }
+    }
+
+    /**
+     * Remove and return the head of queue.
+     * Caller should check <code>isEmpty</code> first.
+     *
+     * @return head value
+     */
+    int poll() {
+        int value = data[head];
+        head = (head + 1) & (data.length - 1);
+        size--;
+        return value;
+    }
+
+    /**
+     * Get number of elements in queue.
+     *
+     * @return number of elements
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Get largest number of elements held at once since last <code>clear</code>.
+     *
+     * @return peak size
+     */
+    int peak() {
+        return peak;
+    }
+
+    /**
+     * Check if queue is empty.
+     *
+     * @return true if there is no element in queue
+     */
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Remove all elements. Backing array is kept for reuse.
+     */
+    void clear() {
+        head = 0;
+        size = 0;
+        peak = 0;
+    }
+
+    /**
+     * Double the backing array and unwrap elements to start at index 0.
+     */
+    private void grow() {
+        int[] larger = new int[data.length << 1];
+        int firstPart = data.length - head;
+        System.arraycopy(data, head, larger, 0, firstPart);
+        System.arraycopy(data, 0, larger, firstPart, head);
+        data = larger;
+        head = 0;
+    }
+}
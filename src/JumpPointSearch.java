@@ -0,0 +1,326 @@
+import java.util.Arrays;
+
+/**
+ * Jump Point Search on the 4-connected grid defined by <code>MazeCoord.move</code>.
+ * Instead of pushing every neighbor into open list, search "jumps" along a straight line until it reaches a cell where
+ * the direction may need to change, which is called jump point:
+ * <ul>
+ * <li>moving horizontally, a cell is jump point if its upper or lower neighbor is free while the same neighbor of the
+ * previous cell is blocked (the wall that was beside the line ends here);</li>
+ * <li>moving vertically, the same check is applied to left and right neighbors, and the cell is also a jump point if a
+ * horizontal jump from it finds any jump point;</li>
+ * <li>exit is always a jump point.</li>
+ * </ul>
+ * Only jump points enter open list, which is ordered the same way as <code>AStarSearch</code>. On large open rooms this
+ * skips almost all cells. Each jump point records the orientation it was reached from, so path can be expanded back
+ * into one entry per cell.
+ * <p>
+ * Whether a horizontal jump from a cell finds a jump point other than exit only depends on walls, so it is kept as one
+ * bit per cell in a turn table in <code>SearchScratch</code>, built once per grid and rebuilt when
+ * <code>MazeGrid.modCount</code> changes. A vertical jump reads one bit per cell passed instead of scanning the row on
+ * both sides, and only scans the row of exit.
+ *
+ * @author BorisMirage
+ * Time: 2026/10/17 00:02
+ * Created with IntelliJ IDEA
+ */
+public class JumpPointSearch implements SearchStrategy {
+
+    /**
+     * Run A* over jump points, then expand path cell by cell from exit.
+     * <code>distance</code> in scratch stores g + 1 of each reached jump point, other cells stay 0.
+     *
+     * @param grid    wall grid
+     * @param start   flat index of entry
+     * @param end     flat index of exit
+     * @param scratch reusable working state
+     * @return search result
+     */
+    @Override
+    public SearchResult search(MazeGrid grid, int start, int end, SearchScratch scratch) {
+        CellHeap open = scratch.heap;
+        int cols = grid.numCols();
+        int endRow = end / cols;
+        int endCol = end % cols;
+        int expanded = 0;
+        int reopened = 0;
+        long[] turns = scratch.turnBits(grid);
+        if (turns == null) {
+            int words = MazeGrid.numWords(grid.numRows(), cols);
+            turns = scratch.newTurnBits(grid, words);
+            buildTurns(grid, turns, words);
+        }
+
+        scratch.setDistance(start, 1);
+        open.add(AStarSearch.key(1, Heuristic.MANHATTAN.estimate(start / cols, start % cols, endRow, endCol)), start);
+        while (!open.isEmpty()) {
+            long key = open.peekKey();
+            int cell = open.poll();
+            int g = scratch.distance(cell);
+            int row = cell / cols;
+            int col = cell % cols;
+            if (key != AStarSearch.key(g, Heuristic.MANHATTAN.estimate(row, col, endRow, endCol))) {
+                continue;       // stale entry
+            }
+            expanded++;
+            if (cell == end) {
+                return new SearchResult(expandPath(grid, start, end, scratch), expanded, reopened, open.peak());
+            }
+
+            /* Every direction except going back */
+            int back = cell == start ? -1 : 3 - scratch.parent(cell);
+            for (int i = 0; i < 4; i++) {
+                if (i == back) {
+                    continue;
+                }
+                int jump = (i == 1 || i == 2) ? jumpHorizontal(grid, cell, i, end)
+                        : jumpVertical(grid, cell, i, end, turns);
+                if (jump < 0) {
+                    continue;
+                }
+                int next = g + Math.abs(jump / cols - row) + Math.abs(jump % cols - col);
+                int d = scratch.distance(jump);
+                if (d == 0 || d > next) {
+                    if (d != 0) {
+                        reopened++;
+                    }
+                    scratch.setDistance(jump, next);
+                    scratch.setParent(jump, i);
+                    int h = Heuristic.MANHATTAN.estimate(jump / cols, jump % cols, endRow, endCol);
+                    open.add(AStarSearch.key(next, h), jump);
+                }
+            }
+        }
+        return new SearchResult(null, expanded, reopened, open.peak());
+    }
+
+    /**
+     * Jump left or right from cell until a jump point is found.
+     * Row is scanned 64 cells at a time with wall bits of current row and the rows above and below.
+     *
+     * @param grid        wall grid
+     * @param cell        flat index to jump from
+     * @param orientation 1 - left, 2 - right
+     * @param end         flat index of exit
+     * @return flat index of jump point, or -1 if line is blocked before any jump point
+     */
+    private static int jumpHorizontal(MazeGrid grid, int cell, int orientation, int end) {
+        int cols = grid.numCols();
+        int row = cell / cols;
+        int rowStart = row * cols;
+        boolean hasUp = row > 0;
+        boolean hasDown = row < grid.numRows() - 1;
+
+        if (orientation == 2) {
+            int rowEnd = rowStart + cols - 1;
+            for (int p = cell + 1; p <= rowEnd; p += 64) {
+
+                /* Bit i represents cell p + i */
+                int n = Math.min(64, rowEnd - p + 1);
+                long valid = n == 64 ? -1L : (1L << n) - 1;
+                long wall = grid.wallBits(p) | ~valid;
+                long stop = 0;
+                if (hasUp) {
+                    stop |= ~grid.wallBits(p - cols) & grid.wallBits(p - cols - 1);
+                }
+                if (hasDown) {
+                    stop |= ~grid.wallBits(p + cols) & grid.wallBits(p + cols - 1);
+                }
+                if (end >= p && end < p + n) {
+                    stop |= 1L << (end - p);
+                }
+                int firstWall = Long.numberOfTrailingZeros(wall);
+                int firstStop = Long.numberOfTrailingZeros(stop & valid);
+                if (firstStop < firstWall) {
+                    return p + firstStop;
+                }
+                if (firstWall < 64) {
+                    return -1;
+                }
+            }
+        } else {
+            for (int p = cell - 1; p >= rowStart; p -= 64) {
+
+                /* Bit 63 - i represents cell p - i */
+                int n = Math.min(64, p - rowStart + 1);
+                long valid = n == 64 ? -1L : -1L << (64 - n);
+                int base = p - 63;
+                long wall = grid.wallBits(base) | ~valid;
+                long stop = 0;
+                if (hasUp) {
+                    stop |= ~grid.wallBits(base - cols) & grid.wallBits(base - cols + 1);
+                }
+                if (hasDown) {
+                    stop |= ~grid.wallBits(base + cols) & grid.wallBits(base + cols + 1);
+                }
+                if (end <= p && end > p - n) {
+                    stop |= 1L << (end - base);
+                }
+                int firstWall = Long.numberOfLeadingZeros(wall);
+                int firstStop = Long.numberOfLeadingZeros(stop & valid);
+                if (firstStop < firstWall) {
+                    return p - firstStop;
+                }
+                if (firstWall < 64) {
+                    return -1;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Jump up or down from cell until a jump point is found.
+     * Path may turn on every cell passed where a horizontal jump finds something, which the turn table tells without
+     * scanning, except on the row of exit.
+     *
+     * @param grid        wall grid
+     * @param cell        flat index to jump from
+     * @param orientation 0 - up, 3 - down
+     * @param end         flat index of exit
+     * @param turns       turn table of grid
+     * @return flat index of jump point, or -1 if line is blocked before any jump point
+     */
+    private static int jumpVertical(MazeGrid grid, int cell, int orientation, int end, long[] turns) {
+        int cols = grid.numCols();
+        int endRow = end / cols;
+        int prev = cell;
+        int cur = grid.freeNeighbor(cell, orientation);
+        while (cur >= 0) {
+            if (cur == end || (turns[cur >>> 6] & (1L << cur)) != 0 || isForced(grid, cur, prev, 1)
+                    || isForced(grid, cur, prev, 2) || cur / cols == endRow
+                    && (jumpHorizontal(grid, cur, 1, end) >= 0 || jumpHorizontal(grid, cur, 2, end) >= 0)) {
+                return cur;
+            }
+            prev = cur;
+            cur = grid.freeNeighbor(cur, orientation);
+        }
+        return -1;
+    }
+
+    /**
+     * Build turn table of grid: bit of a free cell is set if a horizontal jump from it, left or right, finds a jump
+     * point before any wall, not counting exit.
+     * Each row is swept 64 cells at a time in both directions, stops of the jump are spread over the free cells they
+     * can be reached from with one addition per word, and the last cell of each word carries into the next word.
+     *
+     * @param grid  wall grid
+     * @param turns bitset to be filled
+     * @param words number of words of grid
+     */
+    private static void buildTurns(MazeGrid grid, long[] turns, int words) {
+        Arrays.fill(turns, 0, words, 0);
+        int cols = grid.numCols();
+        int rows = grid.numRows();
+        for (int row = 0; row < rows; row++) {
+            int rowStart = row * cols;
+            int rowEnd = rowStart + cols;
+            boolean hasUp = row > 0;
+            boolean hasDown = row < rows - 1;
+
+            /* Right to left on reversed bits: cell turns right if a stop of rightward jump lies ahead before a wall */
+            long carry = 0;     // bit 0 set if last cell of previous word is reached from a stop
+            for (int p = rowStart + (cols - 1) / 64 * 64; p >= rowStart; p -= 64) {
+                long free = ~grid.wallBits(p) & (rowEnd - p >= 64 ? -1L : (1L << (rowEnd - p)) - 1);
+                long stop = 0;
+                if (hasUp) {
+                    stop |= ~grid.wallBits(p - cols) & grid.wallBits(p - cols - 1);
+                }
+                if (hasDown) {
+                    stop |= ~grid.wallBits(p + cols) & grid.wallBits(p + cols - 1);
+                }
+                long reversed = Long.reverse(free);
+                long reach = spread(reversed, (Long.reverse(stop) | carry) & reversed);
+                setBits(turns, words, p, Long.reverse((reach << 1 | carry) & reversed));
+                carry = reach >>> 63;
+            }
+
+            /* Left to right: cell turns left if a stop of leftward jump lies behind it after the last wall */
+            carry = 0;
+            for (int p = rowStart; p < rowEnd; p += 64) {
+                long free = ~grid.wallBits(p) & (rowEnd - p >= 64 ? -1L : (1L << (rowEnd - p)) - 1);
+                long stop = 0;
+                if (hasUp) {
+                    stop |= ~grid.wallBits(p - cols) & grid.wallBits(p - cols + 1);
+                }
+                if (hasDown) {
+                    stop |= ~grid.wallBits(p + cols) & grid.wallBits(p + cols + 1);
+                }
+                long reach = spread(free, (stop | carry) & free);
+                setBits(turns, words, p, (reach << 1 | carry) & free);
+                carry = reach >>> 63;
+            }
+        }
+    }
+
+    /**
+     * Spread seeds towards higher bits through runs of free cells.
+     * Adding seeds to free bits carries from the lowest seed of each run up to the wall above it, flipping every bit
+     * on the way except other seeds, so xor with free bits plus the seeds gives the spread part of each run.
+     *
+     * @param free  free cells
+     * @param seeds cells to spread from, all of them free
+     * @return free cells that are a seed or above a seed in the same run
+     */
+    private static long spread(long free, long seeds) {
+        return ((free + seeds) ^ free | seeds) & free;
+    }
+
+    /**
+     * Set 64 consecutive bits of a bitset, starting at any bit.
+     *
+     * @param bits  bitset
+     * @param words number of words in use
+     * @param from  index of bit 0 of <code>value</code>
+     * @param value bits to be set, none of them past last word
+     */
+    private static void setBits(long[] bits, int words, int from, long value) {
+        int w = from >>> 6;
+        int s = from & 63;
+        bits[w] |= value << s;
+        if (s != 0 && w + 1 < words) {
+            bits[w + 1] |= value >>> (64 - s);
+        }
+    }
+
+    /**
+     * Check if side neighbor of current cell is free while the same side of previous cell is blocked.
+     *
+     * @param grid wall grid
+     * @param cur  current cell
+     * @param prev previous cell on the jump line
+     * @param side orientation of side to check
+     * @return true if side neighbor is forced
+     */
+    private static boolean isForced(MazeGrid grid, int cur, int prev, int side) {
+        return grid.freeNeighbor(cur, side) >= 0 && grid.freeNeighbor(prev, side) < 0;
+    }
+
+    /**
+     * Expand path between jump points into one entry per cell.
+     * From exit, walk back against recorded orientation until reaching a cell whose distance matches the walked length,
+     * which is the previous jump point, then continue with its own orientation until entry.
+     *
+     * @param grid    wall grid
+     * @param start   flat index of entry
+     * @param end     flat index of exit
+     * @param scratch scratch that contains distance and orientation of jump points
+     * @return flat indices of path from entry to exit
+     */
+    private static int[] expandPath(MazeGrid grid, int start, int end, SearchScratch scratch) {
+        scratch.markPathStart();
+        int[] result = new int[scratch.distance(end)];
+        int k = result.length - 1;
+        int cell = end;
+        result[k] = end;
+        int orientation = scratch.parent(end);
+        while (cell != start) {
+            cell = grid.neighbor(cell, 3 - orientation);
+            result[--k] = cell;
+            if (scratch.distance(cell) == k + 1 && cell != start) {
+                orientation = scratch.parent(cell);
+            }
+        }
+        return result;
+    }
+}
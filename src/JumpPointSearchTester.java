@@ -0,0 +1,150 @@
+import java.util.Random;
+
+/**
+ * Checks of <code>JumpPointSearch</code> against <code>BreadthFirstSearch</code>, with one scratch whose turn table
+ * must follow changed walls and other grids.
+ * Run with <code>java JumpPointSearchTester</code>, exit status is 1 if any check fails.
+ *
+ * @author BorisMirage
+ * Time: 2026/10/17 02:31
+ * Created with IntelliJ IDEA
+ */
+public class JumpPointSearchTester {
+
+    private static int failed;      // number of failed checks
+
+    /**
+     * Run all checks.
+     *
+     * @param args not used
+     */
+    public static void main(String[] args) {
+        checkOpen();
+        checkRandom();
+        checkWallChanges();
+        System.out.println(failed == 0 ? "All checks passed" : failed + " checks failed");
+        if (failed > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Open grids around a multiple of 64 wide are solved with shortest routes and a handful of jump points, also when
+     * exit is on a row the vertical jump only crosses.
+     */
+    private static void checkOpen() {
+        boolean same = true;
+        boolean few = true;
+        for (int cols : new int[]{1, 2, 63, 64, 65, 127, 128, 129, 500}) {
+            Maze maze = new Maze(new MazeGrid(300, cols), new MazeCoord(0, 0), new MazeCoord(299, cols - 1));
+            maze.setSearchStrategy(new JumpPointSearch());
+            MazeRoute route = maze.solve(maze.getEntryLoc(), maze.getExitLoc());
+            same &= route.getLength() == 300 + cols - 1 && isValid(maze, route);
+            few &= route.getExpanded() <= 4;
+            route = maze.solve(new MazeCoord(0, cols / 2), new MazeCoord(150, 0));
+            same &= route.getLength() == 151 + cols / 2 && isValid(maze, route);
+        }
+        check("open grid routes", same);
+        check("open grid expands few jump points", few);
+    }
+
+    /**
+     * Random obstacles and braided mazes of changing size, one scratch shared by all of them.
+     */
+    private static void checkRandom() {
+        Random rnd = new Random(20180726L);
+        SearchScratch scratch = new SearchScratch(201 * 201);
+        SearchStrategy jps = new JumpPointSearch();
+        SearchStrategy bfs = new BreadthFirstSearch();
+        boolean same = true;
+        for (int t = 0; t < 300; t++) {
+            int rows = 1 + rnd.nextInt(200);
+            int cols = 1 + rnd.nextInt(200);
+            Maze maze = t % 2 == 0 ? new MazeGenerator(t).obstacles(rows, cols, rnd.nextDouble() * 0.4)
+                    : new MazeGenerator(t).braided(rows | 1, cols | 1, 0.3);
+            same &= sameAsBfs(maze, jps, bfs, scratch, rnd, 5);
+        }
+        check("random grids match BFS", same);
+    }
+
+    /**
+     * Walls changed between queries on the same grid and scratch must rebuild the turn table.
+     */
+    private static void checkWallChanges() {
+        Random rnd = new Random(20180726L);
+        SearchScratch scratch = new SearchScratch(130 * 130);
+        SearchStrategy jps = new JumpPointSearch();
+        SearchStrategy bfs = new BreadthFirstSearch();
+        Maze maze = new MazeGenerator(7).obstacles(130, 130, 0.05);
+        MazeGrid grid = maze.getGrid();
+        boolean same = true;
+        for (int t = 0; t < 200; t++) {
+            for (int k = 0; k < 1 + rnd.nextInt(20); k++) {
+                int cell = rnd.nextInt(grid.numCells());
+                grid.setWall(cell, !grid.hasWall(cell));
+            }
+            same &= sameAsBfs(maze, jps, bfs, scratch, rnd, 3);
+        }
+        check("changed walls match BFS", same);
+    }
+
+    /**
+     * Solve random queries with both strategies on one scratch and compare.
+     *
+     * @param maze    maze
+     * @param jps     jump point search
+     * @param bfs     breadth first search
+     * @param scratch shared scratch
+     * @param rnd     random source of endpoints
+     * @param queries number of queries
+     * @return true if every route has same length as BFS and is valid
+     */
+    private static boolean sameAsBfs(Maze maze, SearchStrategy jps, SearchStrategy bfs, SearchScratch scratch,
+                                     Random rnd, int queries) {
+        MazeGrid grid = maze.getGrid();
+        boolean same = true;
+        for (int q = 0; q < queries; q++) {
+            MazeCoord from = new MazeCoord(rnd.nextInt(grid.numRows()), rnd.nextInt(grid.numCols()));
+            MazeCoord to = new MazeCoord(rnd.nextInt(grid.numRows()), rnd.nextInt(grid.numCols()));
+            MazeRoute expected = Maze.solve(grid, bfs, scratch, from, to);
+            MazeRoute route = Maze.solve(grid, jps, scratch, from, to);
+            same &= route.isFound() == expected.isFound() && route.getLength() == expected.getLength()
+                    && (!route.isFound() || isValid(maze, route));
+        }
+        return same;
+    }
+
+    /**
+     * Check that route is a chain of adjacent free cells from start to target.
+     *
+     * @param maze  maze
+     * @param route found route
+     * @return true if route is valid
+     */
+    private static boolean isValid(Maze maze, MazeRoute route) {
+        MazePath path = route.getPath();
+        if (!path.get(0).equals(route.getFrom()) || !path.get(path.size() - 1).equals(route.getTo())) {
+            return false;
+        }
+        for (int i = 0; i < path.size(); i++) {
+            if (maze.getGrid().hasWall(path.cellAt(i)) || i > 0 && Math.abs(path.rowAt(i) - path.rowAt(i - 1))
+                    + Math.abs(path.colAt(i) - path.colAt(i - 1)) != 1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Print result of one check.
+     *
+     * @param name   check name
+     * @param passed true if check passed
+     */
+    private static void check(String name, boolean passed) {
+        System.out.println((passed ? "PASS " : "FAIL ") + name);
+        if (!passed) {
+            failed++;
+        }
+    }
+}
@@ -1,7 +1,5 @@
 import java.security.InvalidParameterException;
 import java.util.Arrays;
-import java.util.LinkedList;
-import java.util.Stack;
 
 
 /**
@@ -10,6 +8,12 @@ import java.util.Stack;
  * Each <code>Maze</code> structure contains entry & exit location, with all walls.
  * In this class, search path method is provided as <code>searchPath</code>, if path is found then it will return true.
  * If path is found, call <code>getPath</code> method will obtain the path and in <code>MazeFrame</code> will draw it.
+ * The algorithm used by <code>searchPath</code> is a <code>SearchStrategy</code>, which is BFS by default, or
+ * Dijkstra with a bucket queue (<code>DialSearch</code>) once any cell has a terrain cost.
+ * Besides entry and exit, any number of other queries can be answered on the same maze by <code>solve</code>.
+ * Walls are never modified by search, and per-query state is reset in O(1), so one loaded maze can be reused.
+ * Metrics of each query (<code>SearchMetrics</code>) are only collected if enabled or a listener is installed, when
+ * disabled a query does no extra timing or counting besides what the strategy keeps anyway.
  *
  * @author BorisMirage
  * Time: 2018/07/26 20:49
@@ -19,23 +23,40 @@ public class Maze {
 
     private MazeCoord entry;
     private MazeCoord exit;
-    private int[][] distance;       // int array that store walls and distance
-    private boolean[][] close;      // true if this point is "closed", and false if this point is "open"
-    private LinkedList<MazeCoord> path = new LinkedList<>();
-    private Stack<MazeCoord> pathStack = new Stack<>();
+    private final MazeGrid grid;    // bit-packed walls
+    private static final SearchStrategy UNIT_COST = new BreadthFirstSearch();
+    private static final SearchStrategy WEIGHTED = new DialSearch();
+
+    private SearchStrategy strategy;    // null to choose by whether grid has costs
+    private SearchScratch scratch;      // search working state, reused by every query
+    private MazeRoute route;            // result of last searchPath
+    private boolean metricsEnabled;     // collect SearchMetrics for every query
+    private SearchListener listener;    // notified after every query, null if none
+    private long loadNanos;             // time spent loading maze from file, 0 if not loaded
+    private ComponentIndex components;  // rejects disconnected queries before search, null if not built
 
     /**
      * Necessary info that to construct a maze.
      *
-     * @param mazeData 2D int array that store the info of maze (wall, space, distance).
+     * @param mazeData 2D int array that store the info of maze, -1 represents wall.
      * @param startLoc MazeCoord start location
      * @param exitLoc  MazeCoord exit location
      */
     public Maze(int[][] mazeData, MazeCoord startLoc, MazeCoord exitLoc) {
+        this(MazeGrid.fromArray(mazeData), startLoc, exitLoc);
+    }
+
+    /**
+     * Construct a maze on a bit-packed wall grid.
+     *
+     * @param grid     wall grid
+     * @param startLoc MazeCoord start location
+     * @param exitLoc  MazeCoord exit location
+     */
+    public Maze(MazeGrid grid, MazeCoord startLoc, MazeCoord exitLoc) {
+        this.grid = grid;
         entry = startLoc;
         exit = exitLoc;
-        distance = mazeData;
-        close = new boolean[distance.length][distance[0].length];
     }
 
     /**
@@ -44,7 +65,7 @@ public class Maze {
      * @return number of rows in maze
      */
     public int numRows() {
-        return distance.length;
+        return grid.numRows();
     }
 
     /**
@@ -53,7 +74,7 @@ public class Maze {
      * @return number of columns in maze.
      */
     public int numCols() {
-        return distance[0].length;
+        return grid.numCols();
     }
 
     /**
@@ -63,7 +84,59 @@ public class Maze {
      * @return true if input location has wall, otherwise return false.
      */
     public boolean hasWall(MazeCoord loc) {
-        return distance[loc.getRow()][loc.getCol()] == -1;
+        return grid.hasWall(loc.getRow(), loc.getCol());
+    }
+
+    /**
+     * Put or remove a wall, e.g. when a door closes or opens.
+     * Routes returned before stay as they were, search again (or use <code>IncrementalMazeSolver</code>) to follow
+     * the change. Component index of this maze, if built, is updated incrementally.
+     * On a maze opened by <code>BinaryMazeFile.map</code>, the first change copies walls from the read-only mapping
+     * into heap. Changes are not written back to the file.
+     *
+     * @param loc  location to be changed
+     * @param wall true to put wall, false to remove it
+     * @throws InvalidParameterException location is out of maze
+     */
+    public void setWall(MazeCoord loc, boolean wall) {
+        if (!grid.contains(loc.getRow(), loc.getCol())) {
+            throw new InvalidParameterException("Location out of maze: " + loc + " !");
+        }
+        int cell = grid.index(loc.getRow(), loc.getCol());
+        if (components != null) {
+            components.setWall(cell, wall);
+        } else {
+            grid.setWall(cell, wall);
+        }
+    }
+
+    /**
+     * Set cost of moving into a free cell, e.g. a slow zone or a ramp. Walls are not affected.
+     *
+     * @param loc  location to be changed
+     * @param cost cost from 1 to <code>MazeGrid.MAX_COST</code>, 1 is normal free space
+     * @throws InvalidParameterException location is out of maze or cost is out of range
+     */
+    public void setCost(MazeCoord loc, int cost) {
+        if (!grid.contains(loc.getRow(), loc.getCol())) {
+            throw new InvalidParameterException("Location out of maze: " + loc + " !");
+        }
+        grid.setCost(grid.index(loc.getRow(), loc.getCol()), cost);
+    }
+
+    /**
+     * Get total cost of moves along a path, i.e. sum of costs of every cell after the first one.
+     * Equals number of moves on a maze without costs.
+     *
+     * @param path path of this maze
+     * @return path cost, 0 for empty or one-cell path
+     */
+    public long pathCost(MazePath path) {
+        long total = 0;
+        for (int i = 1; i < path.size(); i++) {
+            total += grid.cost(path.cellAt(i));
+        }
+        return total;
     }
 
     /**
@@ -87,153 +160,263 @@ public class Maze {
     }
 
     /**
-     * Get path from entry to exit.
-     * Used in MazeComponent.
+     * Get wall grid of this maze.
+     *
+     * @return wall grid
+     */
+    public MazeGrid getGrid() {
+        return grid;
+    }
+
+    /**
+     * Set strategy used by <code>searchPath</code>. Default strategy is <code>BreadthFirstSearch</code>, or
+     * <code>DialSearch</code> when grid has terrain costs; only <code>DialSearch</code> takes costs into account.
+     *
+     * @param strategy search strategy, null to restore default
+     */
+    public void setSearchStrategy(SearchStrategy strategy) {
+        this.strategy = strategy;
+    }
+
+    /**
+     * Label connected components of this maze and use them in every later query: a query between different
+     * components, or from or to a wall, is answered as not found without any search.
+     *
+     * @return component index, kept up to date by <code>setWall</code>
+     */
+    public ComponentIndex buildComponentIndex() {
+        components = ComponentIndex.build(grid);
+        return components;
+    }
+
+    /**
+     * Get number of cells expanded by last <code>searchPath</code>.
+     *
+     * @return expanded count
+     */
+    public int getExpandedCount() {
+        return route == null ? 0 : route.getExpanded();
+    }
+
+    /**
+     * Enable or disable metrics collection. When enabled, every route returned by <code>solve</code> carries
+     * <code>SearchMetrics</code>.
      *
-     * @return path from entry to exit
+     * @param enabled true to collect metrics
      */
-    public LinkedList<MazeCoord> getPath() {
-        return new LinkedList<>(path);
+    public void setMetricsEnabled(boolean enabled) {
+        metricsEnabled = enabled;
     }
 
     /**
-     * Get represented value store in mazeData based on input MazeCoord.
+     * Install listener that is called after every query. Metrics are collected while a listener is installed.
      *
-     * @param coord input MazeCoord
-     * @return represented value store in 2D int array mazeData
+     * @param listener listener to be called, null to remove it
      */
-    private int getData(MazeCoord coord) {
-        return distance[coord.getRow()][coord.getCol()];
+    public void setSearchListener(SearchListener listener) {
+        this.listener = listener;
     }
 
     /**
-     * Get value store in mazeData based on input MazeCoord.
+     * Get metrics of last <code>searchPath</code>.
      *
-     * @param coord input MazeCoord
-     * @param value value to be set
+     * @return metrics, null if no search was done or metrics were not enabled
      */
-    private void setData(MazeCoord coord, int value) {
-        distance[coord.getRow()][coord.getCol()] = value;
+    public SearchMetrics getLastMetrics() {
+        return route == null ? null : route.getMetrics();
+    }
+
+    /**
+     * Get time spent loading this maze from file.
+     *
+     * @return load time in nanoseconds, 0 if maze was not loaded from file
+     */
+    public long getLoadNanos() {
+        return loadNanos;
+    }
+
+    /**
+     * Record load time, called by file loaders.
+     *
+     * @param loadNanos load time in nanoseconds
+     */
+    void setLoadNanos(long loadNanos) {
+        this.loadNanos = loadNanos;
+    }
+
+    /**
+     * Get path from entry to exit found by last <code>searchPath</code>.
+     * Used in MazeComponent.
+     * Path is a random-access view on the int array built by search, MazeCoord objects are only created on
+     * <code>get</code>.
+     *
+     * @return read-only path from entry to exit, empty if not searched or not found
+     */
+    public MazePath getPath() {
+        return route == null ? MazePath.EMPTY : route.getPath();
     }
 
     /**
      * Called by outside of class to initialize the finding process.
+     * Search from entry to exit, result is kept for <code>getPath</code>.
      *
      * @return if there is a shortest path
      */
     public boolean searchPath() {
+        route = solve(entry, exit);
+        return route.isFound();
+    }
 
-        /* Direct check */
-        if (hasWall(entry) || hasWall(exit)) {
-            return false;
-        }
+    /**
+     * Search shortest path between any two locations of this maze.
+     * Maze itself is not changed, so this method can be called repeatedly with different locations.
+     * Search state is reused between queries, hence one maze should not be queried by multiple threads at once.
+     * Use <code>ConcurrentMazeSolver</code> for concurrent queries.
+     *
+     * @param from start location
+     * @param to   target location
+     * @return immutable query result
+     * @throws InvalidParameterException location is out of maze
+     */
+    public MazeRoute solve(MazeCoord from, MazeCoord to) {
+        boolean measured = metricsEnabled || listener != null;
+        MazeRoute result;
+        if (components != null && !components.isConnected(from, to)) {
 
-        /* One-element maze */
-        if (entry.equals(exit) && !hasWall(entry)) {
-            path.add(exit);
-            return true;
+            /* Disconnected, no search needed */
+            result = new MazeRoute(from, to, grid.numCols(), null, 0,
+                    measured ? new SearchMetrics(0, 0, 0, 0, 0, 0, loadNanos) : null);
+        } else {
+            if (scratch == null) {
+                scratch = new SearchScratch(grid.numCells());
+            }
+            if (!measured) {
+                return solve(grid, strategy(), scratch, from, to);
+            }
+            result = solve(grid, strategy(), scratch, from, to, true, loadNanos);
         }
-
-        setData(entry, 1);
-        findShortestPath(entry);
-        if (getData(exit) != 0) {
-            path = new LinkedList<>(generatePath(pathStack));
-            return true;
+        if (listener != null) {
+            listener.searchFinished(result);
         }
-        return false;
+        return result;
     }
 
     /**
-     * Find shortest path in maze using Dijkstra algorithm.
-     * In this approach one 2D boolean array <code>close</code> is included.
-     * This array store the status of each MazeCoord can be searched in future or not.
-     * If current MazeCoord's corresponding position in array is marked as "true", then this coord will not be visited.
-     * During the search process, mark current MazeCoord as "close", then update all four directions' min distance.
-     * If any previous MazeCoord that is marked as "close" updated its distance, remark it as "open".
-     * Since if one MazeCoord has update its min distance, then it may update its related MazeCoord.
-     * Finally, if all MazeCoord has been marked as their min distance from entry to exit, then end this search process.
+     * Check if next query takes terrain costs into account, i.e. grid has costs and strategy is
+     * <code>DialSearch</code>. On a weighted grid, such a query returns the cheapest route while other strategies
+     * return a route with fewest moves.
      *
-     * @param c current coord
+     * @return true if query is cost-aware
      */
-    private void findShortestPath(MazeCoord c) {
+    boolean isCostAware() {
+        return grid.isWeighted() && strategy() instanceof DialSearch;
+    }
 
-        /* Mark this point to close */
-        close[c.getRow()][c.getCol()] = true;
-        MazeCoord next;
-        for (int i = 0; i < 4; i++) {
-            next = c.move(i);
-            if (isAvailable(next) > -1 && (getData(next) == 0 || getData(next) > getData(c) + 1)) {
-                setData(next, getData(c) + 1);
-                close[next.getRow()][next.getCol()] = false;        // Open this point
-            }
-            if (isAvailable(next) > 0) {
-                findShortestPath(next);
-            }
+    /**
+     * Get strategy of next query.
+     *
+     * @return strategy set by caller, or default one for current grid
+     */
+    private SearchStrategy strategy() {
+        if (strategy != null) {
+            return strategy;
         }
+        return grid.isWeighted() ? WEIGHTED : UNIT_COST;
     }
 
     /**
-     * Check given MazeCoord is available to be moved or not.
-     * If given MazeCoord is out of bound or wall existing, then return -1. (Unreachable)
-     * If given MazeCoord is "close" in respective <code>close</code> array, then return 0. (Don't search)
-     * Otherwise, return true.
+     * Compute distances from one location to every cell of this maze, to answer many queries from (or to) the same
+     * location without searching again.
      *
-     * @param c MazeCoord
-     * @return if this coord can be moved to or not
+     * @param source source location
+     * @return immutable distance field
+     * @throws InvalidParameterException location is out of maze
      */
-    private int isAvailable(MazeCoord c) {
+    public DistanceField distanceField(MazeCoord source) {
+        return DistanceField.compute(grid, source);
+    }
 
-        /* If can basically move to this point */
-        if (c.getRow() > numRows() - 1 || c.getRow() < 0 || c.getCol() > numCols() - 1 || c.getCol() < 0 || hasWall(c)) {
-            return -1;
+    /**
+     * Search shortest path on given grid with given strategy and working state.
+     * Shared by <code>Maze</code> and <code>ConcurrentMazeSolver</code>, it only writes to <code>scratch</code>.
+     *
+     * @param grid     wall grid
+     * @param strategy search strategy
+     * @param scratch  working state, must be large enough for grid and not used by others during this call
+     * @param from     start location
+     * @param to       target location
+     * @return immutable query result
+     * @throws InvalidParameterException location is out of maze
+     */
+    static MazeRoute solve(MazeGrid grid, SearchStrategy strategy, SearchScratch scratch, MazeCoord from,
+                           MazeCoord to) {
+        return solve(grid, strategy, scratch, from, to, false, 0);
+    }
+
+    /**
+     * Search shortest path on given grid, optionally collecting metrics.
+     *
+     * @param grid      wall grid
+     * @param strategy  search strategy
+     * @param scratch   working state, must be large enough for grid and not used by others during this call
+     * @param from      start location
+     * @param to        target location
+     * @param measured  true to attach <code>SearchMetrics</code> to result
+     * @param loadNanos load time of maze, reported in metrics
+     * @return immutable query result
+     * @throws InvalidParameterException location is out of maze
+     */
+    static MazeRoute solve(MazeGrid grid, SearchStrategy strategy, SearchScratch scratch, MazeCoord from, MazeCoord to,
+                           boolean measured, long loadNanos) {
+        if (!grid.contains(from.getRow(), from.getCol()) || !grid.contains(to.getRow(), to.getCol())) {
+            throw new InvalidParameterException("Location out of maze: " + from + " -> " + to + " !");
         }
-        if (close[c.getRow()][c.getCol()]) {
-            return 0;
+
+        /* Direct check */
+        if (grid.hasWall(from.getRow(), from.getCol()) || grid.hasWall(to.getRow(), to.getCol())) {
+            return new MazeRoute(from, to, grid.numCols(), null, 0,
+                    measured ? new SearchMetrics(0, 0, 0, 0, 0, 0, loadNanos) : null);
         }
-        return 1;
-    }
-
-    /**
-     * Generate shortest path depending on the distance that set in findShortestPath.
-     * Use a stack to store path from exit to entry.
-     * If trace from entry to exit, then different path will be found, hence increases complexity.
-     * After this trace process is done (reach entry), pop stack content into <code>LinkedList path</code>.
-     * In this way to generate final output path.
-     *
-     * @param s stack for storing inverse order path
-     * @return path from entry to exit
-     */
-    private LinkedList<MazeCoord> generatePath(Stack<MazeCoord> s) {
-        MazeCoord move;
-        MazeCoord temp = exit;
-        MazeCoord coord = exit;
-        s.push(exit);
-        while (!coord.equals(entry)) {
-            int min = getData(coord);
-            for (int i = 0; i < 4; i++) {
-                move = coord.move(i);
-                if (isAvailable(move) > -1 && getData(move) < min) {
-                    min = getData(move);
-                    temp = move;
-                }
-            }
-            coord = temp;
-            s.push(coord);
+
+        int start = grid.index(from.getRow(), from.getCol());
+        int end = grid.index(to.getRow(), to.getCol());
+
+        /* One-element path */
+        if (start == end) {
+            return new MazeRoute(from, to, grid.numCols(), new int[]{end}, 0,
+                    measured ? new SearchMetrics(0, 0, 0, 0, 0, 0, loadNanos) : null);
         }
 
-        /* Reverse order */
-        while (!s.empty()) {
-            path.add(s.pop());
+        scratch.reset();
+        if (!measured) {
+            SearchResult result = strategy.search(grid, start, end, scratch);
+            return new MazeRoute(from, to, grid.numCols(), result.cells(), result.getExpanded());
         }
-        return path;
+
+        /* Measured search: path start is marked by strategy through scratch */
+        long allocated = SearchMetrics.allocatedBytes();
+        scratch.startTiming();
+        long begin = System.nanoTime();
+        SearchResult result = strategy.search(grid, start, end, scratch);
+        long finish = System.nanoTime();
+        long pathStart = scratch.stopTiming(finish);
+        long allocatedAfter = SearchMetrics.allocatedBytes();
+        SearchMetrics metrics = new SearchMetrics(result.getExpanded(), result.getReopened(), result.getPeakFrontier(),
+                allocated < 0 ? -1 : allocatedAfter - allocated, pathStart - begin, finish - pathStart, loadNanos);
+        return new MazeRoute(from, to, grid.numCols(), result.cells(), result.getExpanded(), metrics);
     }
 
     /**
-     * Print distance for debug purpose.
+     * Print distance for debug purpose. Wall is printed as -1.
      */
     void printData() {
-        for (int[] dist : distance) {
-            System.out.println(Arrays.toString(dist));
+        int[] row = new int[numCols()];
+        for (int i = 0; i < numRows(); i++) {
+            for (int j = 0; j < numCols(); j++) {
+                int cell = grid.index(i, j);
+                row[j] = grid.hasWall(cell) ? -1 : (scratch == null ? 0 : scratch.distance(cell));
+            }
+            System.out.println(Arrays.toString(row));
         }
     }
-}
\ No newline at end of file
+}
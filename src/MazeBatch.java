@@ -0,0 +1,297 @@
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Headless batch solver of all maze files in a directory.
+ * Files are loaded and solved in parallel by a fixed number of worker threads, each worker holds only the maze it is
+ * working on, so memory is bounded by number of workers instead of number of files.
+ * Result of each file is written as one CSV line, with found / not-found, path length, expanded cells, load time and
+ * solve time. File name ending with 'Y' means a path is expected and 'N' means no path is expected, this is checked
+ * automatically and the program exits with status 1 if any file fails or cannot be loaded.
+ * Text maze files are read by <code>MazeFileReader</code>, files ending with ".mzb" are mapped by
+ * <code>BinaryMazeFile</code>.
+ * Usage: <code>java MazeBatch [directory] [report.csv] [threads]</code>, report goes to standard output if omitted.
+ *
+ * @author BorisMirage
+ * Time: 2026/10/17 00:09
+ * Created with IntelliJ IDEA
+ */
+public class MazeBatch {
+
+    private static final String DEFAULT_DIRECTORY = "./src/AllMaze";
+    private static final String HEADER = "file,expected,found,status,path_length,expanded,load_ms,solve_ms,error";
+
+    /**
+     * Solve all mazes in directory and write report.
+     *
+     * @param args optional directory, report file and number of threads
+     */
+    public static void main(String[] args) {
+        Path directory = Paths.get(args.length > 0 ? args[0] : DEFAULT_DIRECTORY);
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+
+        try {
+            List<Result> results = solveDirectory(directory, threads);
+            boolean passed;
+            if (args.length > 1) {
+                try (PrintStream out = new PrintStream(args[1], "UTF-8")) {
+                    passed = writeReport(results, out);
+                }
+            } else {
+                passed = writeReport(results, System.out);
+            }
+            if (!passed) {
+                System.exit(1);
+            }
+        } catch (IOException exc) {
+            System.out.println("ERROR: " + exc.getMessage());
+            System.exit(2);
+        } catch (InterruptedException exc) {
+            Thread.currentThread().interrupt();
+            System.exit(2);
+        }
+    }
+
+    /**
+     * Load and solve every maze file in directory in parallel.
+     * Hidden files (such as ".DS_Store") and sub directories are skipped.
+     *
+     * @param directory maze directory
+     * @param threads   number of worker threads
+     * @return results sorted by file name
+     * @throws IOException          directory cannot be listed
+     * @throws InterruptedException thread is interrupted while waiting for workers
+     */
+    public static List<Result> solveDirectory(Path directory, int threads) throws IOException, InterruptedException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (Path file : stream) {
+                if (Files.isRegularFile(file) && !file.getFileName().toString().startsWith(".")) {
+                    files.add(file);
+                }
+            }
+        }
+        files.sort(null);
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(threads, files.size())));
+        try {
+            List<Future<Result>> futures = new ArrayList<>(files.size());
+            for (Path file : files) {
+                futures.add(executor.submit(() -> solveFile(file)));
+            }
+            List<Result> results = new ArrayList<>(files.size());
+            for (Future<Result> future : futures) {
+                try {
+                    results.add(future.get());
+                } catch (ExecutionException exc) {
+                    throw new IllegalStateException("Worker failed", exc.getCause());
+                }
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Load and solve one maze file. Any load or solve failure is recorded in result instead of being thrown, so one
+     * bad file does not abort the batch.
+     *
+     * @param file maze file
+     * @return result of this file
+     */
+    static Result solveFile(Path file) {
+        String name = file.getFileName().toString();
+        long begin = System.nanoTime();
+        Maze maze;
+        try {
+            maze = name.endsWith(".mzb") ? BinaryMazeFile.map(file) : MazeFileReader.read(file);
+        } catch (IOException | RuntimeException exc) {
+            return new Result(name, false, 0, 0, System.nanoTime() - begin, 0, String.valueOf(exc.getMessage()));
+        }
+        long loaded = System.nanoTime();
+        MazeRoute route;
+        try {
+            route = maze.solve(maze.getEntryLoc(), maze.getExitLoc());
+        } catch (RuntimeException exc) {
+            return new Result(name, false, 0, 0, loaded - begin, System.nanoTime() - loaded,
+                    String.valueOf(exc.getMessage()));
+        }
+        long solved = System.nanoTime();
+        return new Result(name, route.isFound(), route.getLength(), route.getExpanded(), loaded - begin,
+                solved - loaded, null);
+    }
+
+    /**
+     * Write results as CSV.
+     *
+     * @param results results to be written
+     * @param out     output stream
+     * @return true if no file failed or had error
+     */
+    public static boolean writeReport(List<Result> results, PrintStream out) {
+        boolean passed = true;
+        out.println(HEADER);
+        for (Result r : results) {
+            String status = r.getStatus();
+            passed &= !status.equals("FAIL") && !status.equals("ERROR");
+            Character expected = r.getExpected();
+            out.println(String.format(Locale.ROOT, "%s,%s,%s,%s,%d,%d,%.3f,%.3f,%s",
+                    csv(r.getFile()), expected == null ? "" : expected, r.getError() == null ? r.isFound() : "",
+                    status, r.getPathLength(), r.getExpanded(), r.getLoadNanos() / 1e6, r.getSolveNanos() / 1e6,
+                    r.getError() == null ? "" : csv(r.getError())));
+        }
+        return passed;
+    }
+
+    /**
+     * Quote a CSV field if needed.
+     *
+     * @param value field value
+     * @return escaped field
+     */
+    private static String csv(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * Result of one maze file.
+     */
+    public static final class Result {
+
+        private final String file;
+        private final boolean found;
+        private final int pathLength;
+        private final int expanded;
+        private final long loadNanos;
+        private final long solveNanos;
+        private final String error;     // null if file is loaded and solved successfully
+
+        /**
+         * Create result.
+         *
+         * @param file       file name
+         * @param found      if a path is found
+         * @param pathLength number of cells on path
+         * @param expanded   number of expanded cells
+         * @param loadNanos  load time in nanoseconds
+         * @param solveNanos solve time in nanoseconds
+         * @param error      load or solve error message, null if solved
+         */
+        Result(String file, boolean found, int pathLength, int expanded, long loadNanos, long solveNanos,
+               String error) {
+            this.file = file;
+            this.found = found;
+            this.pathLength = pathLength;
+            this.expanded = expanded;
+            this.loadNanos = loadNanos;
+            this.solveNanos = solveNanos;
+            this.error = error;
+        }
+
+        /**
+         * Get expectation from file name suffix ('Y' or 'N'), ignoring ".mzb" extension.
+         *
+         * @return 'Y', 'N', or null if file name has no such suffix
+         */
+        public Character getExpected() {
+            String base = file.endsWith(".mzb") ? file.substring(0, file.length() - 4) : file;
+            char last = base.isEmpty() ? ' ' : base.charAt(base.length() - 1);
+            return last == 'Y' || last == 'N' ? last : null;
+        }
+
+        /**
+         * Get check status.
+         *
+         * @return "ERROR" if file cannot be loaded or solved, "UNCHECKED" if file name has no suffix,
+         * otherwise "PASS" or "FAIL"
+         */
+        public String getStatus() {
+            if (error != null) {
+                return "ERROR";
+            }
+            Character expected = getExpected();
+            if (expected == null) {
+                return "UNCHECKED";
+            }
+            return found == (expected == 'Y') ? "PASS" : "FAIL";
+        }
+
+        /**
+         * Get file name.
+         *
+         * @return file name
+         */
+        public String getFile() {
+            return file;
+        }
+
+        /**
+         * Check if a path is found.
+         *
+         * @return true if path exists
+         */
+        public boolean isFound() {
+            return found;
+        }
+
+        /**
+         * Get number of cells on path.
+         *
+         * @return path length, 0 if not found
+         */
+        public int getPathLength() {
+            return pathLength;
+        }
+
+        /**
+         * Get number of expanded cells.
+         *
+         * @return expanded count
+         */
+        public int getExpanded() {
+            return expanded;
+        }
+
+        /**
+         * Get load time.
+         *
+         * @return load time in nanoseconds
+         */
+        public long getLoadNanos() {
+            return loadNanos;
+        }
+
+        /**
+         * Get solve time.
+         *
+         * @return solve time in nanoseconds
+         */
+        public long getSolveNanos() {
+            return solveNanos;
+        }
+
+        /**
+         * Get load or solve error.
+         *
+         * @return error message, null if file is loaded and solved
+         */
+        public String getError() {
+            return error;
+        }
+    }
+}
@@ -1,11 +1,24 @@
 import javax.swing.*;
 import java.awt.*;
-import java.awt.geom.Line2D;
-import java.util.LinkedList;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+import java.awt.geom.Path2D;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * MazeComponent class
  * A component that displays the maze and path through it if one has been found.
+ * <p>
+ * Walls and grid lines do not change between repaints, so they are rendered once into square image tiles of
+ * <code>TILE_SIZE</code> pixels, which are kept in a bounded LRU cache and only redrawn after zoom or a wall change.
+ * A repaint draws the tiles intersecting the clip region, then entry, exit and the visible part of path as one shape.
+ * Path is split into chunks with precomputed bounding boxes, so chunks outside the clip are skipped without looking at
+ * their cells. Mouse wheel zooms around the cursor and dragging pans the view. Below one pixel per cell, each pixel
+ * of a tile is shaded by the share of walls among the cells it covers.
  *
  * @author BorisMirage
  * Time: 2018/07/26 20:50
@@ -20,8 +33,34 @@ public class MazeComponent extends JComponent {
     private static final int BOX_WIDTH = 20;    // width and height of one maze "location"
     private static final int BOX_HEIGHT = 20;
     private static final int INSET = 2;         // how much smaller on each side to make entry/exit inner box
+    private static final Color PATH_COLOR = new Color(83, 142, 217);
+
+    private static final int TILE_SIZE = 256;           // width and height of one cached tile in pixels
+    private static final int MAX_TILES = 128;           // cached tiles, 32 MB at most
+    private static final int PATH_CHUNK = 256;          // path cells per culling box
+    private static final double MIN_SCALE = 1.0 / 64;   // a pixel covers at most 64 x 64 cells
+    private static final double MAX_SCALE = 64;
+    private static final double GRID_SCALE = 4;         // smallest cell size in pixels that still shows grid lines
+    private static final int WALL_RGB = Color.DARK_GRAY.getRGB() & 0xffffff;
+    private static final int GRID_ARGB = Color.GRAY.getRGB();
 
     private Maze maze;
+    private double scale = BOX_WIDTH;   // cell size in pixels
+    private int viewX = -START_X;       // maze pixel shown at left edge of component
+    private int viewY = -START_Y;       // maze pixel shown at top edge of component
+
+    private final Map<Long, BufferedImage> tiles = new LinkedHashMap<Long, BufferedImage>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, BufferedImage> eldest) {
+            return size() > MAX_TILES;
+        }
+    };
+    private MazeGrid tileGrid;          // grid the cached tiles were rendered from
+    private int tileModCount;           // wall changes of grid when tiles were rendered
+    private int[] tilePixels;           // ARGB pixels of tile being rendered
+
+    private int[] pathCells;            // path the culling boxes belong to
+    private int[] pathBoxes;            // min row, min col, max row, max col of each chunk of path
 
     /**
      * Constructs the component.
@@ -30,6 +69,51 @@ public class MazeComponent extends JComponent {
      */
     public MazeComponent(Maze maze) {
         this.maze = maze;
+        MazeMouseListener listener = new MazeMouseListener();
+        addMouseListener(listener);
+        addMouseMotionListener(listener);
+        addMouseWheelListener(listener);
+    }
+
+    /**
+     * Get current cell size.
+     *
+     * @return width and height of one cell in pixels
+     */
+    public double getScale() {
+        return scale;
+    }
+
+    /**
+     * Zoom by given factor, keeping the maze point under given component position in place.
+     * Cell size is kept between 1/64 and 64 pixels.
+     *
+     * @param factor zoom factor, larger than 1 to zoom in
+     * @param x      x position of zoom center in component
+     * @param y      y position of zoom center in component
+     */
+    public void zoomAt(double factor, int x, int y) {
+        double next = Math.max(MIN_SCALE, Math.min(MAX_SCALE, scale * factor));
+        if (next == scale) {
+            return;
+        }
+        viewX = (int) Math.round((x + viewX) / scale * next - x);
+        viewY = (int) Math.round((y + viewY) / scale * next - y);
+        scale = next;
+        tiles.clear();
+        repaint();
+    }
+
+    /**
+     * Move view by given number of pixels. Cached tiles stay valid.
+     *
+     * @param dx pixels to move maze to the right
+     * @param dy pixels to move maze down
+     */
+    public void panBy(int dx, int dy) {
+        viewX -= dx;
+        viewY -= dy;
+        repaint();
     }
 
     /**
@@ -39,124 +123,369 @@ public class MazeComponent extends JComponent {
      * @param g the graphics context
      */
     public void paintComponent(Graphics g) {
-        int entryRow = maze.getEntryLoc().getRow();
-        int entryCol = maze.getEntryLoc().getCol();
-        int exitRow = maze.getExitLoc().getRow();
-        int exitCol = maze.getExitLoc().getCol();
-
         Graphics2D g2 = (Graphics2D) g;
+        Rectangle clip = g2.getClipBounds();
+        if (clip == null) {
+            clip = new Rectangle(0, 0, getWidth(), getHeight());
+        }
 
         /* Draw border */
-        Rectangle border = new Rectangle(START_X, START_Y, maze.numCols() * BOX_WIDTH, maze.numRows() * BOX_HEIGHT);
+        Rectangle border = new Rectangle(-viewX, -viewY, edge(maze.numCols()), edge(maze.numRows()));
         g2.setColor(Color.BLACK);
         g2.draw(border);
 
-        /* Draw maze wall */
-        drawMaze(g2);
+        /* Draw maze wall and grid from cached tiles */
+        drawMaze(g2, clip);
 
         /* Draw entry */
-        int entryX = START_X + entryCol * BOX_WIDTH + INSET;
-        int entryY = START_Y + entryRow * BOX_HEIGHT + INSET;
-        Rectangle entryLocation = new Rectangle(entryX, entryY, BOX_WIDTH - 2 * INSET, BOX_WIDTH - 2 * INSET);
+        MazeCoord entry = maze.getEntryLoc();
         g2.setColor(Color.YELLOW);
-        g2.draw(entryLocation);
-        g2.fill(entryLocation);
+        drawEndpoint(g2, entry.getRow(), entry.getCol());
 
         /* Draw exit */
-        int exitX = START_X + exitCol * BOX_WIDTH + INSET;
-        int exitY = START_Y + exitRow * BOX_HEIGHT + INSET;
-        Rectangle exitLocation = new Rectangle(exitX, exitY, BOX_WIDTH - 2 * INSET, BOX_HEIGHT - 2 * INSET);
+        MazeCoord exit = maze.getExitLoc();
         g2.setColor(Color.GREEN);
-        g2.draw(exitLocation);
-        g2.fill(exitLocation);
+        drawEndpoint(g2, exit.getRow(), exit.getCol());
 
         /* Draw path*/
-        if (maze.getPath().size() != 0) {
-            drawPath(g2);
+        MazePath path = maze.getPath();
+        if (path.size() != 0) {
+            drawPath(g2, path.cells(), clip);
         }
+    }
 
-        /* Draw grid */
-        drawGrid(g2);
+    /**
+     * Draw cached tiles that intersect clip region, rendering missing ones.
+     * All tiles are dropped when walls changed since they were rendered.
+     *
+     * @param g2   2-D graphics context
+     * @param clip region to be painted
+     */
+    private void drawMaze(Graphics2D g2, Rectangle clip) {
+        MazeGrid grid = maze.getGrid();
+        if (grid != tileGrid || grid.modCount() != tileModCount) {
+            tiles.clear();
+            tileGrid = grid;
+            tileModCount = grid.modCount();
+        }
+        long width = (long) Math.ceil(grid.numCols() * scale);
+        long height = (long) Math.ceil(grid.numRows() * scale);
+        long firstX = Math.max(0, Math.floorDiv((long) clip.x + viewX, TILE_SIZE));
+        long firstY = Math.max(0, Math.floorDiv((long) clip.y + viewY, TILE_SIZE));
+        long lastX = Math.min((width - 1) / TILE_SIZE,
+                Math.floorDiv((long) clip.x + clip.width - 1 + viewX, TILE_SIZE));
+        long lastY = Math.min((height - 1) / TILE_SIZE,
+                Math.floorDiv((long) clip.y + clip.height - 1 + viewY, TILE_SIZE));
+        for (long ty = firstY; ty <= lastY; ty++) {
+            for (long tx = firstX; tx <= lastX; tx++) {
+                long key = (ty << 32) | tx;
+                BufferedImage tile = tiles.get(key);
+                if (tile == null) {
+                    tile = renderTile(grid, tx * TILE_SIZE, ty * TILE_SIZE);
+                    tiles.put(key, tile);
+                }
+                g2.drawImage(tile, (int) (tx * TILE_SIZE - viewX), (int) (ty * TILE_SIZE - viewY), null);
+            }
+        }
     }
 
     /**
-     * Draw maze wall in black rectangle.
+     * Render walls and grid lines of one tile. Free space stays transparent.
      *
-     * @param g2 2-D graphics context
+     * @param grid wall grid
+     * @param left maze pixel of left edge of tile
+     * @param top  maze pixel of top edge of tile
+     * @return tile image
      */
-    private void drawMaze(Graphics2D g2) {
-        for (int i = 0; i < maze.numRows(); i++) {
-            for (int j = 0; j < maze.numCols(); j++) {
-                int currentX = START_Y + j * BOX_WIDTH;
-                int currentY = START_X + i * BOX_HEIGHT;
-                if (maze.hasWall(new MazeCoord(i, j))) {
-                    Rectangle mazeWall = new Rectangle(currentX, currentY, BOX_WIDTH, BOX_HEIGHT);
-                    g2.setColor(Color.DARK_GRAY);
-                    g2.draw(mazeWall);
-                    g2.fill(mazeWall);
+    private BufferedImage renderTile(MazeGrid grid, long left, long top) {
+        if (tilePixels == null) {
+            tilePixels = new int[TILE_SIZE * TILE_SIZE];
+        }
+        if (scale >= 1) {
+            renderCells(grid, left, top);
+        } else {
+            renderShaded(grid, left, top);
+        }
+        BufferedImage tile = new BufferedImage(TILE_SIZE, TILE_SIZE, BufferedImage.TYPE_INT_ARGB);
+        tile.getRaster().setDataElements(0, 0, TILE_SIZE, TILE_SIZE, tilePixels);
+        return tile;
+    }
+
+    /**
+     * Render tile with at least one pixel per cell: each pixel takes the color of its cell, and the first pixel row
+     * and column of every cell is a grid line when cells are large enough.
+     *
+     * @param grid wall grid
+     * @param left maze pixel of left edge of tile
+     * @param top  maze pixel of top edge of tile
+     */
+    private void renderCells(MazeGrid grid, long left, long top) {
+        int rows = grid.numRows();
+        int cols = grid.numCols();
+        boolean lines = scale >= GRID_SCALE;
+        int[] colOf = new int[TILE_SIZE];
+        boolean[] lineX = new boolean[TILE_SIZE];
+        for (int px = 0; px < TILE_SIZE; px++) {
+            long col = (long) ((left + px) / scale);
+            colOf[px] = col < cols ? (int) col : -1;
+            lineX[px] = lines && (left + px == 0 || (long) ((left + px - 1) / scale) != col);
+        }
+        for (int py = 0; py < TILE_SIZE; py++) {
+            int offset = py * TILE_SIZE;
+            long row = (long) ((top + py) / scale);
+            if (row >= rows) {
+                Arrays.fill(tilePixels, offset, offset + TILE_SIZE, 0);
+                continue;
+            }
+            boolean lineY = lines && (top + py == 0 || (long) ((top + py - 1) / scale) != row);
+            int base = (int) row * cols;
+            for (int px = 0; px < TILE_SIZE; px++) {
+                int col = colOf[px];
+                int argb = 0;
+                if (col >= 0) {
+                    if (lineY || lineX[px]) {
+                        argb = GRID_ARGB;
+                    } else if (grid.hasWall(base + col)) {
+                        argb = 0xff000000 | WALL_RGB;
+                    }
                 }
+                tilePixels[offset + px] = argb;
             }
         }
     }
 
+    /**
+     * Render tile with several cells per pixel: each pixel is wall color with opacity of the share of walls among
+     * the cells it covers, counted 64 cells of a row at a time.
+     *
+     * @param grid wall grid
+     * @param left maze pixel of left edge of tile
+     * @param top  maze pixel of top edge of tile
+     */
+    private void renderShaded(MazeGrid grid, long left, long top) {
+        int rows = grid.numRows();
+        int cols = grid.numCols();
+        int[] firstCol = new int[TILE_SIZE + 1];
+        for (int px = 0; px <= TILE_SIZE; px++) {
+            firstCol[px] = (int) Math.min(cols, (long) ((left + px) / scale));
+        }
+        for (int py = 0; py < TILE_SIZE; py++) {
+            int offset = py * TILE_SIZE;
+            int firstRow = (int) Math.min(rows, (long) ((top + py) / scale));
+            int lastRow = (int) Math.min(rows, (long) ((top + py + 1) / scale));
+            for (int px = 0; px < TILE_SIZE; px++) {
+                int width = firstCol[px + 1] - firstCol[px];
+                if (width <= 0 || lastRow <= firstRow) {
+                    tilePixels[offset + px] = 0;
+                    continue;
+                }
+                long mask = width == 64 ? -1L : (1L << width) - 1;
+                int walls = 0;
+                for (int row = firstRow; row < lastRow; row++) {
+                    walls += Long.bitCount(grid.wallBits(row * cols + firstCol[px]) & mask);
+                }
+                int alpha = (int) (255L * walls / ((long) width * (lastRow - firstRow)));
+                tilePixels[offset + px] = (alpha << 24) | WALL_RGB;
+            }
+        }
+    }
+
+    /**
+     * Draw entry or exit as a box slightly smaller than its cell.
+     *
+     * @param g2  2-D graphics context
+     * @param row row number of cell
+     * @param col column number of cell
+     */
+    private void drawEndpoint(Graphics2D g2, int row, int col) {
+        int x = edge(col) - viewX;
+        int y = edge(row) - viewY;
+        int inset = scale >= BOX_WIDTH ? INSET : 0;
+        int width = Math.max(1, edge(col + 1) - edge(col) - 2 * inset);
+        int height = Math.max(1, edge(row + 1) - edge(row) - 2 * inset);
+        g2.drawRect(x + inset, y + inset, width, height);
+        g2.fillRect(x + inset, y + inset, width, height);
+    }
+
     /**
      * Draw path from to exit if path is existing.
-     * Each "path" component is a rectangle so that can be seen more directly.
+     * Visible part of path is added to one shape and drawn with a single call: a box per cell, one pixel smaller on
+     * top and left while grid lines are shown so they stay visible, a box per straight run of cells without grid
+     * lines, or a line through cell centers below one pixel per cell. Chunks of path whose bounding box is outside
+     * clip region are skipped.
      *
-     * @param g2 2-D graphics context
+     * @param g2    2-D graphics context
+     * @param cells flat indices of path from entry to exit
+     * @param clip  region to be painted
      */
-    private void drawPath(Graphics2D g2) {
+    private void drawPath(Graphics2D g2, int[] cells, Rectangle clip) {
+        int cols = maze.numCols();
+        if (cells != pathCells) {
+            pathCells = cells;
+            pathBoxes = boxes(cells, cols);
+        }
 
-        /* Copy path */
-        LinkedList<MazeCoord> finalPath = new LinkedList<>(maze.getPath());
+        /* Cells visible in clip region, widened by one cell */
+        double minCol = (clip.x + viewX) / scale - 1;
+        double maxCol = (clip.x + clip.width + viewX) / scale;
+        double minRow = (clip.y + viewY) / scale - 1;
+        double maxRow = (clip.y + clip.height + viewY) / scale;
 
-        /* Avoid entry and exit to be replaced */
-        for (int i = 1; i < finalPath.size() - 1; i++) {
-            MazeCoord cur = finalPath.get(i);
-            int x1 = START_X + cur.getCol() * BOX_WIDTH;
-            int y1 = START_Y + cur.getRow() * BOX_HEIGHT;
-            Rectangle segment = new Rectangle(x1, y1, BOX_WIDTH, BOX_HEIGHT);
+        boolean boxes = scale >= 1;
+        int inset = scale >= GRID_SCALE ? 1 : 0;
+        Path2D.Float shape = new Path2D.Float();
+        boolean connected = false;      // whether last added point can be continued by a line
+        float lastX = Float.NaN;
+        float lastY = Float.NaN;
+        int top = 0;                    // straight run of cells not yet added as one box
+        int left = 0;
+        int bottom = -1;
+        int right = -1;
 
-            /* Set path fill color */
-            Color pathColor = new Color(83, 142, 217);
+        /* Avoid entry and exit to be replaced */
+        for (int chunk = 0; chunk < pathBoxes.length / 4; chunk++) {
+            int b = chunk * 4;
+            if (pathBoxes[b + 2] < minRow || pathBoxes[b] > maxRow
+                    || pathBoxes[b + 3] < minCol || pathBoxes[b + 1] > maxCol) {
+                connected = false;
+                continue;
+            }
+            int end = Math.min(cells.length - 1, (chunk + 1) * PATH_CHUNK);
+            for (int i = Math.max(1, chunk * PATH_CHUNK); i < end; i++) {
+                int row = cells[i] / cols;
+                int col = cells[i] % cols;
+                if (boxes) {
+                    if (row < minRow || row > maxRow || col < minCol || col > maxCol) {
+                        continue;
+                    }
+                    boolean extend = inset == 0 && (top == bottom && row == top && (col == left - 1 || col == right + 1)
+                            || left == right && col == left && (row == top - 1 || row == bottom + 1));
+                    if (extend) {
+                        top = Math.min(top, row);
+                        left = Math.min(left, col);
+                        bottom = Math.max(bottom, row);
+                        right = Math.max(right, col);
+                        continue;
+                    }
+                    appendBox(shape, top, left, bottom, right, inset);
+                    top = bottom = row;
+                    left = right = col;
+                    continue;
+                }
+                float x = (float) Math.floor((col + 0.5) * scale - viewX) + 0.5f;
+                float y = (float) Math.floor((row + 0.5) * scale - viewY) + 0.5f;
+                if (!connected) {
+                    shape.moveTo(x, y);
+                    connected = true;
+                } else if (x != lastX || y != lastY) {
+                    shape.lineTo(x, y);
+                }
+                lastX = x;
+                lastY = y;
+            }
+        }
 
-            g2.setColor(pathColor);
-            g2.draw(segment);
-            g2.fill(segment);
+        /* Set path fill color */
+        g2.setColor(PATH_COLOR);
+        if (boxes) {
+            appendBox(shape, top, left, bottom, right, inset);
+            g2.fill(shape);
+        } else {
+            g2.draw(shape);
         }
     }
 
     /**
-     * Draw maze grid.
+     * Add box covering a rectangle of cells to path shape. Nothing is added if rectangle is empty.
      *
-     * @param g2 input Graphics2D
+     * @param shape  path shape
+     * @param top    first row
+     * @param left   first column
+     * @param bottom last row
+     * @param right  last column
+     * @param inset  pixels left out on top and left, so grid lines stay visible
      */
-    private void drawGrid(Graphics2D g2) {
-
-        /* Draw parallel lines */
-        for (int i = 0; i < maze.numRows(); i++) {
-            int y1 = START_Y + i * BOX_HEIGHT;
-            int x2 = START_X + maze.numCols() * BOX_WIDTH;
-            int y2 = START_Y + i * BOX_HEIGHT;
-            Line2D.Double segment = new Line2D.Double(START_X, y1, x2, y2);
-            g2.setColor(Color.GRAY);
-            g2.draw(segment);
-
+    private void appendBox(Path2D shape, int top, int left, int bottom, int right, int inset) {
+        if (bottom < top) {
+            return;
         }
+        int x = edge(left);
+        int y = edge(top);
+        shape.append(new Rectangle(x - viewX + inset, y - viewY + inset, edge(right + 1) - x - inset,
+                edge(bottom + 1) - y - inset), false);
+    }
 
-        /* Draw vertical lines */
-        for (int j = 0; j < maze.numCols(); j++) {
-            int x1 = START_X + j * BOX_WIDTH;
-            int x2 = START_X + j * BOX_HEIGHT;
-            int y2 = START_Y + maze.numRows() * BOX_HEIGHT;
-            Line2D.Double segment = new Line2D.Double(x1, START_Y, x2, y2);
-            g2.setColor(Color.GRAY);
-            g2.draw(segment);
-        }
+    /**
+     * Get first maze pixel of a row or column, i.e. the smallest pixel whose cell is not before it.
+     *
+     * @param cell row or column number, may be one past the last
+     * @return maze pixel, relative to top left of maze
+     */
+    private int edge(int cell) {
+        return (int) Math.ceil(cell * scale);
     }
-}
 
+    /**
+     * Compute bounding box of each chunk of path.
+     *
+     * @param cells flat indices of path
+     * @param cols  number of columns of maze
+     * @return min row, min col, max row and max col of each chunk
+     */
+    private static int[] boxes(int[] cells, int cols) {
+        int[] boxes = new int[(cells.length + PATH_CHUNK - 1) / PATH_CHUNK * 4];
+        for (int i = 0; i < cells.length; i++) {
+            int b = i / PATH_CHUNK * 4;
+            int row = cells[i] / cols;
+            int col = cells[i] % cols;
+            if (i % PATH_CHUNK == 0) {
+                boxes[b] = boxes[b + 2] = row;
+                boxes[b + 1] = boxes[b + 3] = col;
+            } else {
+                boxes[b] = Math.min(boxes[b], row);
+                boxes[b + 1] = Math.min(boxes[b + 1], col);
+                boxes[b + 2] = Math.max(boxes[b + 2], row);
+                boxes[b + 3] = Math.max(boxes[b + 3], col);
+            }
+        }
+        return boxes;
+    }
 
+    /**
+     * Zoom with mouse wheel and pan by dragging.
+     */
+    class MazeMouseListener extends MouseAdapter {
+        private int lastX;
+        private int lastY;
 
+        /**
+         * Remember where a drag starts.
+         *
+         * @param event mouse event
+         */
+        public void mousePressed(MouseEvent event) {
+            lastX = event.getX();
+            lastY = event.getY();
+        }
 
+        /**
+         * Pan view by distance moved since last event.
+         *
+         * @param event mouse event
+         */
+        public void mouseDragged(MouseEvent event) {
+            panBy(event.getX() - lastX, event.getY() - lastY);
+            lastX = event.getX();
+            lastY = event.getY();
+        }
 
+        /**
+         * Zoom in by factor 2 per wheel notch toward user, out when turned away.
+         *
+         * @param event mouse wheel event
+         */
+        public void mouseWheelMoved(MouseWheelEvent event) {
+            zoomAt(Math.pow(2, -event.getPreciseWheelRotation()), event.getX(), event.getY());
+        }
+    }
+}
@@ -0,0 +1,338 @@
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Loader of maze text file, shared by <code>StartMaze</code>, <code>MazeTester</code> and batch tools.
+ * File format:
+ * <pre>
+ * rows cols
+ * one line per row, '1' is wall, '0' is free space and '2' to '9' is free space of that cost, exactly cols characters
+ * entryRow entryCol
+ * exitRow exitCol
+ * </pre>
+ * File is read through a <code>FileChannel</code> into a large direct buffer and parsed byte by byte, walls go
+ * straight into a <code>MazeGrid</code>. No String is created per line, and both "\n" and "\r\n" are accepted.
+ * Any malformed content is reported as <code>IOException</code> with file name, line and column.
+ * Load time is recorded on the maze and reported in its <code>SearchMetrics</code>.
+ *
+ * @author BorisMirage
+ * Time: 2026/10/17 00:07
+ * Created with IntelliJ IDEA
+ */
+public final class MazeFileReader implements AutoCloseable {
+
+    private static final int BUFFER_SIZE = 1 << 20;
+    private static final byte WALL_CHAR = '1';
+    private static final byte FREE_CHAR = '0';
+    private static final byte MAX_COST_CHAR = '0' + MazeGrid.MAX_COST;
+    private static final int EOF = -1;
+
+    private final String fileName;
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private int line = 1;           // current line number, for error message
+    private int column = 0;         // column of last read byte
+
+    /**
+     * Open maze file.
+     *
+     * @param path maze file path
+     * @throws FileNotFoundException file does not exist
+     * @throws IOException           file cannot be opened
+     */
+    private MazeFileReader(Path path) throws IOException {
+        this.fileName = path.toString();
+        try {
+            this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        } catch (NoSuchFileException exc) {
+            throw new FileNotFoundException(fileName);
+        }
+        buffer.flip();      // start empty
+    }
+
+    /**
+     * Read maze file and convert it to Maze.
+     *
+     * @param fileName maze file path
+     * @return maze with walls, entry and exit of file
+     * @throws IOException file cannot be read or its content is malformed
+     */
+    public static Maze read(String fileName) throws IOException {
+        return read(Paths.get(fileName));
+    }
+
+    /**
+     * Read maze file and convert it to Maze.
+     *
+     * @param path maze file path
+     * @return maze with walls, entry and exit of file
+     * @throws IOException file cannot be read or its content is malformed
+     */
+    public static Maze read(Path path) throws IOException {
+        long begin = System.nanoTime();
+        try (MazeFileReader reader = new MazeFileReader(path)) {
+            Maze maze = reader.parse();
+            maze.setLoadNanos(System.nanoTime() - begin);
+            return maze;
+        }
+    }
+
+    /**
+     * Parse whole file.
+     *
+     * @return parsed maze
+     * @throws IOException content is malformed
+     */
+    private Maze parse() throws IOException {
+
+        /* Header: rows & columns */
+        int rows = readInt("number of rows");
+        int cols = readInt("number of columns");
+        endLine();
+        if (rows <= 0 || cols <= 0 || (long) rows * cols > Integer.MAX_VALUE) {
+            throw error("invalid maze size " + rows + " x " + cols);
+        }
+        MazeGrid grid = new MazeGrid(rows, cols);
+
+        /* Walls, row by row */
+        int cell = 0;
+        for (int i = 0; i < rows; i++) {
+            readRow(grid, i, cell);
+            cell += cols;
+        }
+
+        /* Last two lines: entry and exit */
+        MazeCoord entry = readCoord(grid, "entry");
+        endLine();
+        MazeCoord exit = readCoord(grid, "exit");
+        endLine();
+        int b = skipBlank();
+        if (b != EOF) {
+            throw error("unexpected content after exit");
+        }
+        return new Maze(grid, entry, exit);
+    }
+
+    /**
+     * Read one row of walls.
+     * Bytes are scanned directly in buffer with local position, instead of calling <code>next</code> per byte.
+     *
+     * @param grid maze grid to be filled
+     * @param row  row number
+     * @param cell flat index of first cell in this row
+     * @throws IOException row is malformed or length differs from number of columns
+     */
+    private void readRow(MazeGrid grid, int row, int cell) throws IOException {
+        int cols = grid.numCols();
+        int count = 0;
+        while (buffer.hasRemaining() || fill()) {
+            int pos = buffer.position();
+            int limit = buffer.limit();
+            while (pos < limit) {
+                byte b = buffer.get(pos++);
+                column++;
+                if (b >= FREE_CHAR && b <= MAX_COST_CHAR) {
+                    if (count == cols) {
+                        buffer.position(pos);
+                        throw error("row " + row + " has more than " + cols + " cells");
+                    }
+                    if (b == WALL_CHAR) {
+                        grid.setWall(cell + count, true);
+                    } else if (b != FREE_CHAR) {
+                        grid.setCost(cell + count, b - FREE_CHAR);
+                    }
+                    count++;
+                } else if (b == '\n') {
+                    buffer.position(pos);
+                    checkRowLength(row, count, cols);
+                    newLine();
+                    return;
+                } else if (b != '\r') {
+                    buffer.position(pos);
+                    throw error("unexpected character '" + (char) b + "' in row " + row);
+                }
+            }
+            buffer.position(pos);
+        }
+        checkRowLength(row, count, cols);
+    }
+
+    /**
+     * Check number of cells in a row.
+     *
+     * @param row   row number
+     * @param count number of cells read
+     * @param cols  number of columns
+     * @throws IOException number of cells differs from number of columns
+     */
+    private void checkRowLength(int row, int count, int cols) throws IOException {
+        if (count != cols) {
+            throw error("row " + row + " has " + count + " cells, expected " + cols);
+        }
+    }
+
+    /**
+     * Read a location in "row col" format and check it is inside maze.
+     *
+     * @param grid maze grid
+     * @param name name of location, for error message
+     * @return location
+     * @throws IOException content is malformed or location is out of maze
+     */
+    private MazeCoord readCoord(MazeGrid grid, String name) throws IOException {
+        int row = readInt(name + " row");
+        int col = readInt(name + " column");
+        if (!grid.contains(row, col)) {
+            throw error(name + " (" + row + ", " + col + ") is out of maze");
+        }
+        return new MazeCoord(row, col);
+    }
+
+    /**
+     * Read a non-negative decimal integer, leading spaces are skipped.
+     *
+     * @param name name of value, for error message
+     * @return parsed integer
+     * @throws IOException no integer found or value overflows
+     */
+    private int readInt(String name) throws IOException {
+        int b = next();
+        while (b == ' ' || b == '\t') {
+            b = next();
+        }
+        if (b < '0' || b > '9') {
+            throw error("expected " + name + " but found " + describe(b));
+        }
+        long value = 0;
+        while (b >= '0' && b <= '9') {
+            value = value * 10 + (b - '0');
+            if (value > Integer.MAX_VALUE) {
+                throw error(name + " is too large");
+            }
+            b = next();
+        }
+        if (b != EOF) {
+            pushBack();
+        }
+        return (int) value;
+    }
+
+    /**
+     * Consume rest of current line, which may only contain spaces. End of file also ends line.
+     *
+     * @throws IOException line contains other content
+     */
+    private void endLine() throws IOException {
+        int b = next();
+        while (b == ' ' || b == '\t' || b == '\r') {
+            b = next();
+        }
+        if (b == '\n') {
+            newLine();
+        } else if (b != EOF) {
+            throw error("expected end of line but found " + describe(b));
+        }
+    }
+
+    /**
+     * Skip all whitespace including line breaks.
+     *
+     * @return first non-blank byte, or EOF
+     * @throws IOException file cannot be read
+     */
+    private int skipBlank() throws IOException {
+        int b = next();
+        while (b == ' ' || b == '\t' || b == '\r' || b == '\n') {
+            if (b == '\n') {
+                newLine();
+            }
+            b = next();
+        }
+        return b;
+    }
+
+    /**
+     * Read next byte, refill buffer from channel if it is consumed.
+     *
+     * @return next byte, or EOF
+     * @throws IOException file cannot be read
+     */
+    private int next() throws IOException {
+        if (!buffer.hasRemaining() && !fill()) {
+            return EOF;
+        }
+        column++;
+        return buffer.get();
+    }
+
+    /**
+     * Refill consumed buffer from channel.
+     *
+     * @return false if end of file is reached
+     * @throws IOException file cannot be read
+     */
+    private boolean fill() throws IOException {
+        buffer.clear();
+        int n = channel.read(buffer);
+        buffer.flip();
+        return n > 0;
+    }
+
+    /**
+     * Unread last byte. Only valid right after <code>next</code> returned a byte (not EOF).
+     */
+    private void pushBack() {
+        buffer.position(buffer.position() - 1);
+        column--;
+    }
+
+    /**
+     * Move position counter to next line.
+     */
+    private void newLine() {
+        line++;
+        column = 0;
+    }
+
+    /**
+     * Describe a byte for error message.
+     *
+     * @param b byte or EOF
+     * @return readable description
+     */
+    private static String describe(int b) {
+        if (b == EOF) {
+            return "end of file";
+        }
+        if (b == '\n' || b == '\r') {
+            return "end of line";
+        }
+        return "'" + (char) b + "'";
+    }
+
+    /**
+     * Create exception with current position.
+     *
+     * @param message error detail
+     * @return exception to be thrown
+     */
+    private IOException error(String message) {
+        return new IOException(fileName + ":" + line + ":" + column + ": " + message);
+    }
+
+    /**
+     * Close file channel.
+     *
+     * @throws IOException channel cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,103 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writer of maze text file, in the format read by <code>MazeFileReader</code>.
+ * Rows are streamed from the wall bitset 64 cells at a time through a large direct buffer, so writing a maze of
+ * hundreds of millions of cells needs no memory besides the maze itself. Terrain costs are written as digits '2' to
+ * '9'.
+ *
+ * @author BorisMirage
+ * Time: 2026/10/17 00:16
+ * Created with IntelliJ IDEA
+ */
+public final class MazeFileWriter {
+
+    private static final int BUFFER_SIZE = 1 << 20;
+    private static final byte WALL_CHAR = '1';
+    private static final byte FREE_CHAR = '0';
+
+    private MazeFileWriter() {
+    }
+
+    /**
+     * Write maze to text file.
+     *
+     * @param maze maze to be written
+     * @param path output file path, replaced if it exists
+     * @throws IOException file cannot be written
+     */
+    public static void write(Maze maze, Path path) throws IOException {
+        MazeGrid grid = maze.getGrid();
+        int cols = grid.numCols();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            put(channel, buffer, grid.numRows() + " " + cols + "\n");
+
+            int cell = 0;
+            for (int i = 0; i < grid.numRows(); i++) {
+                for (int j = 0; j < cols; j += 64) {
+                    long bits = grid.wallBits(cell + j);
+                    int n = Math.min(64, cols - j);
+                    if (buffer.remaining() < n) {
+                        flush(channel, buffer);
+                    }
+                    for (int k = 0; k < n; k++) {
+                        if ((bits & (1L << k)) != 0) {
+                            buffer.put(WALL_CHAR);
+                        } else {
+                            int cost = grid.cost(cell + j + k);
+                            buffer.put(cost == 1 ? FREE_CHAR : (byte) (FREE_CHAR + cost));
+                        }
+                    }
+                }
+                if (!buffer.hasRemaining()) {
+                    flush(channel, buffer);
+                }
+                buffer.put((byte) '\n');
+                cell += cols;
+            }
+
+            put(channel, buffer, maze.getEntryLoc().getRow() + " " + maze.getEntryLoc().getCol() + "\n");
+            put(channel, buffer, maze.getExitLoc().getRow() + " " + maze.getExitLoc().getCol() + "\n");
+            flush(channel, buffer);
+        }
+    }
+
+    /**
+     * Append a short ASCII line to buffer.
+     *
+     * @param channel output channel, used if buffer is full
+     * @param buffer  buffer in write mode
+     * @param text    text to be written
+     * @throws IOException bytes cannot be written
+     */
+    private static void put(FileChannel channel, ByteBuffer buffer, String text) throws IOException {
+        byte[] bytes = text.getBytes(StandardCharsets.US_ASCII);
+        if (buffer.remaining() < bytes.length) {
+            flush(channel, buffer);
+        }
+        buffer.put(bytes);
+    }
+
+    /**
+     * Write buffered bytes to channel and clear buffer.
+     *
+     * @param channel output channel
+     * @param buffer  buffer in write mode
+     * @throws IOException bytes cannot be written
+     */
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -35,12 +35,23 @@ public class MazeFrame extends JFrame {
      * @param exitLoc  the exit location of the maze
      */
     public MazeFrame(int[][] mazeData, MazeCoord entryLoc, MazeCoord exitLoc) {
+        this(new Maze(mazeData, entryLoc, exitLoc));
+    }
+
+    /**
+     * Sets up GUI components with the given maze.
+     * Meanwhile, it will add a key adapter.
+     *
+     * @param maze maze to display and search
+     */
+    public MazeFrame(Maze maze) {
 
         setSize(FRAME_WIDTH, FRAME_HEIGHT);
 
         searchStatusLabel = new JLabel(PROMPT_STRING);
         add(searchStatusLabel, BorderLayout.NORTH); // put label at the top of the frame
-        maze = new Maze(mazeData, entryLoc, exitLoc);
+        this.maze = maze;
+        maze.setMetricsEnabled(true);
 
         mazeComponent = new MazeComponent(maze);
         add(mazeComponent, BorderLayout.CENTER); // put maze display in the middle of the frame
@@ -64,6 +75,20 @@ public class MazeFrame extends JFrame {
         }
     }
 
+    /**
+     * Get expanded cells and time of last search, to be shown after the search message.
+     *
+     * @return the string to display, empty if no metrics were collected
+     */
+    private String getMetricsMessage() {
+        SearchMetrics metrics = maze.getLastMetrics();
+        if (metrics == null) {
+            return "";
+        }
+        return String.format(" (%d cells expanded in %.1f ms)", metrics.getExpanded(),
+                (metrics.getSearchNanos() + metrics.getPathNanos()) / 1e6);
+    }
+
     /**
      * Listening to input key action.
      */
@@ -90,7 +115,7 @@ public class MazeFrame extends JFrame {
                 mazeComponent.repaint();
 
                 System.out.println("DEBUG: " + getSearchMessage(success));
-                searchStatusLabel.setText(getSearchMessage(success));
+                searchStatusLabel.setText(getSearchMessage(success) + getMetricsMessage());
                 System.out.println("Finished! ");
             }
         }
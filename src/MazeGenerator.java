@@ -0,0 +1,569 @@
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.InvalidParameterException;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Seeded procedural maze generator, for load tests of the solvers on mazes far larger than the hand-written files.
+ * Same seed and same parameters always produce the same maze.
+ * <p>
+ * Perfect mazes (exactly one path between any two free cells) are built on a room lattice: rooms are the cells with
+ * even row and even column, the cells between two adjacent rooms are walls that can be carved. Entry is the upper
+ * left room and exit is the lower right room, i.e. (rows - 1, cols - 1) when both sizes are odd.
+ * <ul>
+ * <li><code>backtracker</code>: depth-first recursive backtracker, without recursion and without an explicit stack;
+ * each room remembers the direction it was entered from in 2 bits, which is enough to backtrack;</li>
+ * <li><code>kruskal</code>: randomized Kruskal with union-find; edges are visited in a pseudo-random order given by a
+ * seeded Feistel permutation of edge ids, so the shuffled edge list is never stored;</li>
+ * <li><code>wilson</code>: Wilson's algorithm, loop-erased random walks, which samples uniformly among all spanning
+ * trees; it is the slowest one because the first walks are long;</li>
+ * <li><code>braided</code>: backtracker maze where dead ends are opened with given probability, which creates loops
+ * and multiple shortest paths;</li>
+ * <li><code>obstacles</code>: every cell is wall with given probability, entry (0, 0) and exit (rows - 1, cols - 1)
+ * are free; there may be no path.</li>
+ * </ul>
+ * Walls are built directly into the 1-bit-per-cell storage of <code>MazeGrid</code>, so a 100M-cell maze takes
+ * 12.5 MB plus at most 4 bytes per room of work space (Kruskal), and can be streamed to a file by
+ * <code>MazeFileWriter</code> or <code>BinaryMazeFile</code>.
+ * Usage: <code>java MazeGenerator algorithm rows cols [seed] output</code>, output ending with ".mzb" is written in
+ * binary format.
+ *
+ * @author BorisMirage
+ * Time: 2026/10/17 00:17
+ * Created with IntelliJ IDEA
+ */
+public final class MazeGenerator {
+
+    private static final double DEFAULT_BRAID = 0.5;
+    private static final double DEFAULT_DENSITY = 0.25;
+    private static final int FEISTEL_ROUNDS = 4;
+
+    private final long seed;
+
+    /**
+     * Create generator.
+     *
+     * @param seed random seed
+     */
+    public MazeGenerator(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Generate a maze and write it to file.
+     *
+     * @param args algorithm (backtracker, kruskal, wilson, braided, obstacles), rows, columns, optional seed and
+     *             output file
+     */
+    public static void main(String[] args) {
+        if (args.length != 4 && args.length != 5) {
+            System.out.println("Usage: java MazeGenerator <backtracker|kruskal|wilson|braided|obstacles> <rows> <cols> "
+                    + "[seed] <output file>");
+            return;
+        }
+        int rows = Integer.parseInt(args[1]);
+        int cols = Integer.parseInt(args[2]);
+        long seed = args.length == 5 ? Long.parseLong(args[3]) : System.nanoTime();
+        Path output = Paths.get(args[args.length - 1]);
+
+        long begin = System.nanoTime();
+        Maze maze = new MazeGenerator(seed).generate(args[0], rows, cols);
+        long generated = System.nanoTime();
+        try {
+            if (output.toString().endsWith(".mzb")) {
+                BinaryMazeFile.write(maze, output);
+            } else {
+                MazeFileWriter.write(maze, output);
+            }
+        } catch (IOException exc) {
+            System.out.println("ERROR: " + exc.getMessage());
+            return;
+        }
+        System.out.println(String.format(Locale.ROOT, "%s %d x %d, seed %d: generated in %.3f s, written in %.3f s",
+                args[0], rows, cols, seed, (generated - begin) / 1e9, (System.nanoTime() - generated) / 1e9));
+    }
+
+    /**
+     * Generate maze by algorithm name, with default braid probability and obstacle density.
+     *
+     * @param algorithm backtracker, kruskal, wilson, braided or obstacles
+     * @param rows      number of rows
+     * @param cols      number of columns
+     * @return generated maze
+     * @throws InvalidParameterException unknown algorithm or invalid size
+     */
+    public Maze generate(String algorithm, int rows, int cols) {
+        switch (algorithm) {
+            case "backtracker":
+                return backtracker(rows, cols);
+            case "kruskal":
+                return kruskal(rows, cols);
+            case "wilson":
+                return wilson(rows, cols);
+            case "braided":
+                return braided(rows, cols, DEFAULT_BRAID);
+            case "obstacles":
+                return obstacles(rows, cols, DEFAULT_DENSITY);
+            default:
+                throw new InvalidParameterException("Unknown maze algorithm: " + algorithm + " !");
+        }
+    }
+
+    /**
+     * Generate perfect maze by iterative recursive backtracker.
+     *
+     * @param rows number of rows
+     * @param cols number of columns
+     * @return generated maze
+     * @throws InvalidParameterException invalid size
+     */
+    public Maze backtracker(int rows, int cols) {
+        Rooms rooms = new Rooms(rows, cols);
+        backtrack(rooms, new SplittableRandom(seed));
+        return rooms.toMaze();
+    }
+
+    /**
+     * Generate perfect maze by randomized Kruskal algorithm.
+     *
+     * @param rows number of rows
+     * @param cols number of columns
+     * @return generated maze
+     * @throws InvalidParameterException invalid size
+     */
+    public Maze kruskal(int rows, int cols) {
+        Rooms rooms = new Rooms(rows, cols);
+        int n = rooms.count;
+
+        /* Union-find: negative value is root and its tree size, otherwise parent index */
+        int[] sets = new int[n];
+        Arrays.fill(sets, -1);
+
+        /* Edge 2r goes right from room r and edge 2r + 1 goes down. Permutation domain is the smallest even power of
+         * two covering all edges, values out of range are skipped. */
+        long edges = 2L * n;
+        int halfBits = Math.max(1, (64 - Long.numberOfLeadingZeros(edges - 1) + 1) / 2);
+        long[] keys = new SplittableRandom(seed).longs(FEISTEL_ROUNDS).toArray();
+        long domain = 1L << (2 * halfBits);
+
+        int joined = 1;
+        for (long i = 0; i < domain && joined < n; i++) {
+            long e = feistel(i, halfBits, keys);
+            if (e >= edges) {
+                continue;
+            }
+            int r = (int) (e >>> 1);
+            int o = (e & 1) == 0 ? 2 : 3;
+            int next = rooms.neighbor(r, o);
+            if (next < 0) {
+                continue;
+            }
+            int a = find(sets, r);
+            int b = find(sets, next);
+            if (a != b) {
+
+                /* Union by size */
+                if (sets[a] > sets[b]) {
+                    int t = a;
+                    a = b;
+                    b = t;
+                }
+                sets[a] += sets[b];
+                sets[b] = a;
+                rooms.carve(r, o);
+                joined++;
+            }
+        }
+        return rooms.toMaze();
+    }
+
+    /**
+     * Generate uniform spanning tree maze by Wilson's algorithm.
+     *
+     * @param rows number of rows
+     * @param cols number of columns
+     * @return generated maze
+     * @throws InvalidParameterException invalid size
+     */
+    public Maze wilson(int rows, int cols) {
+        Rooms rooms = new Rooms(rows, cols);
+        SplittableRandom random = new SplittableRandom(seed);
+        int n = rooms.count;
+        long[] inTree = new long[(n + 63) >>> 6];
+        long[] exits = new long[(n + 31) >>> 5];     // last direction taken from each room during current walk
+        set(inTree, random.nextInt(n));
+
+        for (int start = 0; start < n; start++) {
+            if (get(inTree, start)) {
+                continue;
+            }
+
+            /* Random walk until tree is hit. Overwriting exit direction of a revisited room erases the loop. */
+            int cur = start;
+            while (!get(inTree, cur)) {
+                int o;
+                int next;
+                do {
+                    o = random.nextInt(4);
+                    next = rooms.neighbor(cur, o);
+                } while (next < 0);
+                setDirection(exits, cur, o);
+                cur = next;
+            }
+
+            /* Add loop-erased walk to tree */
+            cur = start;
+            while (!get(inTree, cur)) {
+                int o = direction(exits, cur);
+                rooms.carve(cur, o);
+                set(inTree, cur);
+                cur = rooms.neighbor(cur, o);
+            }
+        }
+        return rooms.toMaze();
+    }
+
+    /**
+     * Generate braided maze: a backtracker maze with some dead ends removed.
+     * Each dead end is opened towards a random closed neighbor with given probability, neighbors which are dead ends
+     * themselves are preferred, so one carving removes two dead ends.
+     *
+     * @param rows  number of rows
+     * @param cols  number of columns
+     * @param braid probability of removing each dead end, 0 gives a perfect maze and 1 a maze without dead end
+     * @return generated maze
+     * @throws InvalidParameterException invalid size or probability
+     */
+    public Maze braided(int rows, int cols, double braid) {
+        if (!(braid >= 0 && braid <= 1)) {
+            throw new InvalidParameterException("Braid probability must be in [0, 1]: " + braid + " !");
+        }
+        Rooms rooms = new Rooms(rows, cols);
+        SplittableRandom random = new SplittableRandom(seed);
+        backtrack(rooms, random);
+
+        int[] closed = new int[4];
+        int[] deadEnds = new int[4];
+        for (int r = 0; r < rooms.count; r++) {
+            if (rooms.openings(r) != 1 || random.nextDouble() >= braid) {
+                continue;
+            }
+            int numClosed = 0;
+            int numDeadEnds = 0;
+            for (int o = 0; o < 4; o++) {
+                int next = rooms.neighbor(r, o);
+                if (next >= 0 && !rooms.isOpen(r, o)) {
+                    closed[numClosed++] = o;
+                    if (rooms.openings(next) == 1) {
+                        deadEnds[numDeadEnds++] = o;
+                    }
+                }
+            }
+            if (numDeadEnds > 0) {
+                rooms.carve(r, deadEnds[random.nextInt(numDeadEnds)]);
+            } else if (numClosed > 0) {
+                rooms.carve(r, closed[random.nextInt(numClosed)]);
+            }
+        }
+        return rooms.toMaze();
+    }
+
+    /**
+     * Generate grid of random obstacles. Entry is (0, 0) and exit is (rows - 1, cols - 1), both are kept free.
+     *
+     * @param rows    number of rows
+     * @param cols    number of columns
+     * @param density probability of each cell being wall
+     * @return generated maze
+     * @throws InvalidParameterException invalid size or density
+     */
+    public Maze obstacles(int rows, int cols, double density) {
+        if (!(density >= 0 && density < 1)) {
+            throw new InvalidParameterException("Obstacle density must be in [0, 1): " + density + " !");
+        }
+        int cells = rows * cols;
+        long[] walls = new long[MazeGrid.numWords(rows, cols)];
+        SplittableRandom random = new SplittableRandom(seed);
+
+        /* Each word is built in a register and stored once */
+        for (int w = 0; w < walls.length; w++) {
+            int n = Math.min(64, cells - (w << 6));
+            long bits = 0;
+            for (int k = 0; k < n; k++) {
+                if (random.nextDouble() < density) {
+                    bits |= 1L << k;
+                }
+            }
+            walls[w] = bits;
+        }
+        clear(walls, 0);
+        clear(walls, cells - 1);
+        MazeGrid grid = new MazeGrid(rows, cols, walls);
+        return new Maze(grid, new MazeCoord(0, 0), new MazeCoord(rows - 1, cols - 1));
+    }
+
+    /**
+     * Carve spanning tree from room 0 by depth-first search.
+     * Instead of a stack, each room stores the direction it was entered from (2 bits), backtracking follows it in
+     * reverse. Work space is 3 bits per room.
+     *
+     * @param rooms  room lattice to be carved
+     * @param random random source
+     */
+    private static void backtrack(Rooms rooms, SplittableRandom random) {
+        long[] visited = new long[(rooms.count + 63) >>> 6];
+        long[] entered = new long[(rooms.count + 31) >>> 5];
+        int[] choices = new int[4];
+        int cur = 0;
+        set(visited, cur);
+
+        while (true) {
+            int n = 0;
+            for (int o = 0; o < 4; o++) {
+                int next = rooms.neighbor(cur, o);
+                if (next >= 0 && !get(visited, next)) {
+                    choices[n++] = o;
+                }
+            }
+            if (n > 0) {
+                int o = choices[n == 1 ? 0 : random.nextInt(n)];
+                int next = rooms.neighbor(cur, o);
+                rooms.carve(cur, o);
+                setDirection(entered, next, o);
+                set(visited, next);
+                cur = next;
+            } else if (cur == 0) {
+                return;
+            } else {
+                cur = rooms.neighbor(cur, 3 - direction(entered, cur));
+            }
+        }
+    }
+
+    /**
+     * Find root of union-find set with path halving.
+     *
+     * @param sets union-find array
+     * @param x    element
+     * @return root of set containing x
+     */
+    private static int find(int[] sets, int x) {
+        while (sets[x] >= 0) {
+            int parent = sets[x];
+            if (sets[parent] >= 0) {
+                sets[x] = sets[parent];
+            }
+            x = parent;
+        }
+        return x;
+    }
+
+    /**
+     * Balanced Feistel network on 2 * halfBits bits, which is a bijection of [0, 2^(2 * halfBits)).
+     *
+     * @param value    input value
+     * @param halfBits number of bits of each half
+     * @param keys     round keys
+     * @return permuted value
+     */
+    private static long feistel(long value, int halfBits, long[] keys) {
+        long mask = (1L << halfBits) - 1;
+        long left = value >>> halfBits;
+        long right = value & mask;
+        for (long key : keys) {
+            long next = left ^ (mix(right ^ key) & mask);
+            left = right;
+            right = next;
+        }
+        return (left << halfBits) | right;
+    }
+
+    /**
+     * 64-bit finalizer of MurmurHash3, used as Feistel round function.
+     *
+     * @param x input
+     * @return mixed bits
+     */
+    private static long mix(long x) {
+        x = (x ^ (x >>> 33)) * 0xff51afd7ed558ccdL;
+        x = (x ^ (x >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return x ^ (x >>> 33);
+    }
+
+    /**
+     * Check bit in bitset.
+     *
+     * @param bits bitset
+     * @param i    bit index
+     * @return true if bit is set
+     */
+    private static boolean get(long[] bits, int i) {
+        return (bits[i >>> 6] & (1L << i)) != 0;
+    }
+
+    /**
+     * Set bit in bitset.
+     *
+     * @param bits bitset
+     * @param i    bit index
+     */
+    private static void set(long[] bits, int i) {
+        bits[i >>> 6] |= 1L << i;
+    }
+
+    /**
+     * Clear bit in bitset.
+     *
+     * @param bits bitset
+     * @param i    bit index
+     */
+    private static void clear(long[] bits, int i) {
+        bits[i >>> 6] &= ~(1L << i);
+    }
+
+    /**
+     * Get 2-bit direction stored for room.
+     *
+     * @param directions packed directions, 32 per word
+     * @param r          room index
+     * @return orientation 0 - 3
+     */
+    private static int direction(long[] directions, int r) {
+        return (int) (directions[r >>> 5] >>> ((r & 31) << 1)) & 3;
+    }
+
+    /**
+     * Store 2-bit direction for room.
+     *
+     * @param directions  packed directions, 32 per word
+     * @param r           room index
+     * @param orientation orientation 0 - 3
+     */
+    private static void setDirection(long[] directions, int r, int orientation) {
+        int shift = (r & 31) << 1;
+        directions[r >>> 5] = (directions[r >>> 5] & ~(3L << shift)) | ((long) orientation << shift);
+    }
+
+    /**
+     * Room lattice on a wall bitset. Room r is cell (2 * (r / roomCols), 2 * (r % roomCols)).
+     * Orientation is the same as <code>MazeCoord.move</code>: 0 - up, 1 - left, 2 - right, 3 - down.
+     */
+    private static final class Rooms {
+
+        private final int rows;
+        private final int cols;
+        private final int roomRows;
+        private final int roomCols;
+        private final int count;        // number of rooms
+        private final long[] walls;     // wall bitset in MazeGrid layout
+        private final int[] offsets;    // flat index offset of each orientation
+
+        /**
+         * Create lattice where every cell is wall except rooms.
+         *
+         * @param rows number of rows
+         * @param cols number of columns
+         * @throws InvalidParameterException invalid size
+         */
+        Rooms(int rows, int cols) {
+            this.walls = new long[MazeGrid.numWords(rows, cols)];
+            this.rows = rows;
+            this.cols = cols;
+            this.roomRows = (rows + 1) / 2;
+            this.roomCols = (cols + 1) / 2;
+            this.count = roomRows * roomCols;
+            this.offsets = new int[]{-cols, -1, 1, cols};
+
+            Arrays.fill(walls, -1L);
+            int cells = rows * cols;
+            if ((cells & 63) != 0) {
+                walls[walls.length - 1] = -1L >>> (64 - (cells & 63));    // no bit beyond last cell
+            }
+            for (int i = 0; i < rows; i += 2) {
+                for (int j = 0; j < cols; j += 2) {
+                    clear(walls, i * cols + j);
+                }
+            }
+        }
+
+        /**
+         * Get adjacent room on given direction.
+         *
+         * @param r           room index
+         * @param orientation move direction
+         * @return adjacent room index, or -1 if it is out of bound
+         */
+        int neighbor(int r, int orientation) {
+            switch (orientation) {
+                case 0:
+                    return r >= roomCols ? r - roomCols : -1;
+                case 1:
+                    return r % roomCols != 0 ? r - 1 : -1;
+                case 2:
+                    return (r + 1) % roomCols != 0 ? r + 1 : -1;
+                default:
+                    return r < count - roomCols ? r + roomCols : -1;
+            }
+        }
+
+        /**
+         * Get flat cell index of room.
+         *
+         * @param r room index
+         * @return flat cell index
+         */
+        int cellOf(int r) {
+            return (r / roomCols) * 2 * cols + (r % roomCols) * 2;
+        }
+
+        /**
+         * Remove wall between room and its neighbor.
+         *
+         * @param r           room index
+         * @param orientation direction of neighbor
+         */
+        void carve(int r, int orientation) {
+            clear(walls, cellOf(r) + offsets[orientation]);
+        }
+
+        /**
+         * Check if passage from room on given direction is carved.
+         *
+         * @param r           room index
+         * @param orientation direction of neighbor, which must exist
+         * @return true if there is no wall between two rooms
+         */
+        boolean isOpen(int r, int orientation) {
+            return !get(walls, cellOf(r) + offsets[orientation]);
+        }
+
+        /**
+         * Count carved passages of room.
+         *
+         * @param r room index
+         * @return number of open directions
+         */
+        int openings(int r) {
+            int n = 0;
+            for (int o = 0; o < 4; o++) {
+                if (neighbor(r, o) >= 0 && isOpen(r, o)) {
+                    n++;
+                }
+            }
+            return n;
+        }
+
+        /**
+         * Create maze on carved walls, entry is first room and exit is last room.
+         *
+         * @return maze
+         */
+        Maze toMaze() {
+            MazeGrid grid = new MazeGrid(rows, cols, walls);
+            return new Maze(grid, new MazeCoord(0, 0), new MazeCoord(2 * (roomRows - 1), 2 * (roomCols - 1)));
+        }
+    }
+}
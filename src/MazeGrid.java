@@ -0,0 +1,440 @@
+import java.nio.LongBuffer;
+import java.security.InvalidParameterException;
+
+/**
+ * Wall storage of maze.
+ * Every cell occupies one bit in a flat bitset of long words, 1 means wall and 0 means free space.
+ * Cell at (row, col) is addressed by flat index <code>row * numCols() + col</code>.
+ * Compared with one int per cell, this is 32 times smaller and all rows are stored contiguously.
+ * Words are kept in a plain <code>long[]</code>, so the hot <code>hasWall</code> is one array load. A grid on a
+ * memory-mapped maze file (see <code>BinaryMazeFile</code>) reads its words from a <code>LongBuffer</code> view of the
+ * mapping instead, so it is queried without copying it into heap. The mapping is read-only: first wall change copies
+ * words into heap and the file stays as it was.
+ * <code>contentHash</code> identifies a grid by its size, walls and terrain costs, so equal mazes loaded twice share
+ * cache entries.
+ * Free cells may carry a small traversal cost (1 to <code>MAX_COST</code>, paid when a move enters the cell), kept in
+ * a separate byte array that only exists once a cell costs more than 1. Only <code>DialSearch</code> takes costs into
+ * account, other strategies treat every move as cost 1.
+ *
+ * @author BorisMirage
+ * Time: 2026/10/16 10:03
+ * Created with IntelliJ IDEA
+ */
+public final class MazeGrid {
+
+    public static final int MAX_COST = 9;
+
+    private final int rows;
+    private final int cols;
+    private long[] walls;           // bit i is set if cell i is wall, null until first change of a mapped grid
+    private final LongBuffer mapped;    // read-only words of mapped maze file, null for a grid created in heap
+    private final int[] offsets;    // flat index offset of each orientation, same order as MazeCoord.move
+    private volatile long hash;     // cached content hash, 0 if not computed since last wall change
+    private int modCount;           // number of wall changes, lets incremental solvers detect outside edits
+    private int costModCount;       // number of cost changes, kept apart since costs do not change connectivity
+    private byte[] costs;           // cost - 1 of entering each cell, null while every cell costs 1
+
+    /**
+     * Create a grid without any wall.
+     *
+     * @param rows number of rows
+     * @param cols number of columns
+     * @throws InvalidParameterException size is not positive or too large to be indexed by int
+     */
+    public MazeGrid(int rows, int cols) {
+        this(rows, cols, new long[numWords(rows, cols)], null);
+    }
+
+    /**
+     * Create a grid on existing wall words in heap, which are used without copying.
+     *
+     * @param rows  number of rows
+     * @param cols  number of columns
+     * @param walls wall words, bit i of word k is cell <code>64 * k + i</code>
+     * @throws InvalidParameterException size is invalid or array is too small
+     */
+    MazeGrid(int rows, int cols, long[] walls) {
+        this(rows, cols, walls, null);
+        if (walls.length < numWords(rows, cols)) {
+            throw new InvalidParameterException("Wall array too small: " + walls.length + " < "
+                    + numWords(rows, cols) + " !");
+        }
+    }
+
+    /**
+     * Create a grid on read-only wall words of a mapped file.
+     *
+     * @param rows   number of rows
+     * @param cols   number of columns
+     * @param mapped wall words, bit i of word k is cell <code>64 * k + i</code>
+     * @throws InvalidParameterException size is invalid or buffer is too small
+     */
+    MazeGrid(int rows, int cols, LongBuffer mapped) {
+        this(rows, cols, null, mapped);
+        if (mapped.limit() < numWords(rows, cols)) {
+            throw new InvalidParameterException("Wall buffer too small: " + mapped.limit() + " < "
+                    + numWords(rows, cols) + " !");
+        }
+    }
+
+    /**
+     * Create a grid on one of heap words and mapped words.
+     *
+     * @param rows   number of rows
+     * @param cols   number of columns
+     * @param walls  heap wall words, null if mapped
+     * @param mapped mapped wall words, null if in heap
+     * @throws InvalidParameterException size is not positive or too large to be indexed by int
+     */
+    private MazeGrid(int rows, int cols, long[] walls, LongBuffer mapped) {
+        numWords(rows, cols);
+        this.rows = rows;
+        this.cols = cols;
+        this.walls = walls;
+        this.mapped = mapped;
+        this.offsets = new int[]{-cols, -1, 1, cols};
+    }
+
+    /**
+     * Get number of long words needed by bitset of given size.
+     *
+     * @param rows number of rows
+     * @param cols number of columns
+     * @return number of words
+     * @throws InvalidParameterException size is not positive or too large to be indexed by int
+     */
+    static int numWords(int rows, int cols) {
+        if (rows <= 0 || cols <= 0 || (long) rows * cols > Integer.MAX_VALUE) {
+            throw new InvalidParameterException("Invalid maze size: " + rows + " x " + cols + " !");
+        }
+        return (int) (((long) rows * cols + 63) >>> 6);
+    }
+
+    /**
+     * Create grid from 2D int array, where -1 represents wall.
+     *
+     * @param mazeData 2D int array that store the info of maze
+     * @return new grid contains same walls
+     */
+    public static MazeGrid fromArray(int[][] mazeData) {
+        MazeGrid grid = new MazeGrid(mazeData.length, mazeData[0].length);
+        for (int i = 0; i < grid.rows; i++) {
+            for (int j = 0; j < grid.cols; j++) {
+                if (mazeData[i][j] == -1) {
+                    grid.setWall(i * grid.cols + j, true);
+                }
+            }
+        }
+        return grid;
+    }
+
+    /**
+     * Get number of rows.
+     *
+     * @return number of rows
+     */
+    public int numRows() {
+        return rows;
+    }
+
+    /**
+     * Get number of columns.
+     *
+     * @return number of columns
+     */
+    public int numCols() {
+        return cols;
+    }
+
+    /**
+     * Get total number of cells, which is also the upper bound of flat index.
+     *
+     * @return rows * cols
+     */
+    public int numCells() {
+        return rows * cols;
+    }
+
+    /**
+     * Convert row and column to flat index.
+     *
+     * @param row row number (start from 0)
+     * @param col column number (start from 0)
+     * @return flat cell index
+     */
+    public int index(int row, int col) {
+        return row * cols + col;
+    }
+
+    /**
+     * Get row number of flat index.
+     *
+     * @param cell flat cell index
+     * @return row number
+     */
+    public int rowOf(int cell) {
+        return cell / cols;
+    }
+
+    /**
+     * Get column number of flat index.
+     *
+     * @param cell flat cell index
+     * @return column number
+     */
+    public int colOf(int cell) {
+        return cell % cols;
+    }
+
+    /**
+     * Get flat index of adjacent cell on given direction without creating any MazeCoord.
+     * Orientation is the same as <code>MazeCoord.move</code>: 0 - up, 1 - left, 2 - right, 3 - down.
+     *
+     * @param cell        flat cell index
+     * @param orientation move direction
+     * @return flat index of adjacent cell, or -1 if it is out of bound
+     */
+    public int neighbor(int cell, int orientation) {
+        int next = cell + offsets[orientation];
+        switch (orientation) {
+            case 0:
+                return cell >= cols ? next : -1;
+            case 1:
+                return cell % cols != 0 ? next : -1;
+            case 2:
+                return next % cols != 0 ? next : -1;
+            default:
+                return cell < (rows - 1) * cols ? next : -1;
+        }
+    }
+
+    /**
+     * Check if adjacent cell on given direction exists and has no wall.
+     *
+     * @param cell        flat cell index
+     * @param orientation move direction
+     * @return flat index of adjacent free cell, or -1 if it is out of bound or wall
+     */
+    public int freeNeighbor(int cell, int orientation) {
+        int next = neighbor(cell, orientation);
+        return next >= 0 && !hasWall(next) ? next : -1;
+    }
+
+    /**
+     * Create MazeCoord of flat index. Only used when result is returned to caller.
+     *
+     * @param cell flat cell index
+     * @return MazeCoord of cell
+     */
+    public MazeCoord toCoord(int cell) {
+        return new MazeCoord(cell / cols, cell % cols);
+    }
+
+    /**
+     * Check if given location is inside grid.
+     *
+     * @param row row number
+     * @param col column number
+     * @return true if location is inside grid
+     */
+    public boolean contains(int row, int col) {
+        return row >= 0 && row < rows && col >= 0 && col < cols;
+    }
+
+    /**
+     * Check if given location has wall.
+     *
+     * @param row row number
+     * @param col column number
+     * @return true if location has wall
+     */
+    public boolean hasWall(int row, int col) {
+        return hasWall(row * cols + col);
+    }
+
+    /**
+     * Check if given flat index has wall.
+     *
+     * @param cell flat cell index
+     * @return true if cell has wall
+     */
+    public boolean hasWall(int cell) {
+        long[] words = walls;
+        return ((words != null ? words[cell >>> 6] : mapped.get(cell >>> 6)) & (1L << cell)) != 0;
+    }
+
+    /**
+     * Get cost of a move into cell.
+     *
+     * @param cell flat cell index
+     * @return cost from 1 to <code>MAX_COST</code>
+     */
+    public int cost(int cell) {
+        return costs == null ? 1 : costs[cell] + 1;
+    }
+
+    /**
+     * Check if any cell costs more than 1, i.e. whether the grid was ever given terrain costs.
+     *
+     * @return true if grid has terrain costs
+     */
+    public boolean isWeighted() {
+        return costs != null;
+    }
+
+    /**
+     * Get 64-bit hash of grid size, walls and terrain costs, computed once and cached until a wall or cost changes.
+     * Two grids with the same size, walls and costs of free cells always have the same hash, different grids collide
+     * with probability of about 2^-64.
+     *
+     * @return content hash, never 0
+     */
+    public long contentHash() {
+        long h = hash;
+        if (h == 0) {
+            h = mix(((long) rows << 32) | cols);
+            int words = numWords(rows, cols);
+            int tail = numCells() & 63;
+            for (int w = 0; w < words; w++) {
+                long bits = word(w);
+                if (w == words - 1 && tail != 0) {
+                    bits &= -1L >>> (64 - tail);      // ignore bits beyond last cell
+                }
+                h = (h ^ mix(bits + w * 0x9e3779b97f4a7c15L)) * 0xbf58476d1ce4e5b9L;
+            }
+            if (costs != null) {
+                for (int cell = 0; cell < costs.length; cell++) {
+                    if (costs[cell] != 0 && !hasWall(cell)) {       // cost under a wall is never used
+                        h = (h ^ mix(((long) cell << 8) | costs[cell])) * 0xbf58476d1ce4e5b9L;
+                    }
+                }
+            }
+            h = mix(h);
+            h = h == 0 ? 1 : h;
+            hash = h;
+        }
+        return h;
+    }
+
+    /**
+     * 64-bit finalizer of MurmurHash3.
+     *
+     * @param x input
+     * @return mixed bits
+     */
+    private static long mix(long x) {
+        x = (x ^ (x >>> 33)) * 0xff51afd7ed558ccdL;
+        x = (x ^ (x >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return x ^ (x >>> 33);
+    }
+
+    /**
+     * Get wall bits of 64 consecutive cells, bit i is set if cell <code>from + i</code> has wall.
+     * Cells outside grid (including negative index) are read as free, caller should mask them.
+     * Used to scan a row 64 cells at a time.
+     *
+     * @param from flat index of first cell, can be negative
+     * @return 64 wall bits
+     */
+    long wallBits(int from) {
+        int w = from >> 6;
+        int s = from & 63;
+        long low = word(w) >>> s;
+        return s == 0 ? low : low | (word(w + 1) << (64 - s));
+    }
+
+    /**
+     * Get copy of whole wall bitset, bit i is set if cell i is wall.
+     *
+     * @return copy of wall words
+     */
+    long[] copyWalls() {
+        long[] copy = new long[numWords(rows, cols)];
+        if (walls != null) {
+            System.arraycopy(walls, 0, copy, 0, copy.length);
+        } else {
+            mapped.duplicate().position(0).get(copy);
+        }
+        return copy;
+    }
+
+    /**
+     * Get one word of wall bitset, word outside grid is 0.
+     *
+     * @param w word index
+     * @return word value
+     */
+    long word(int w) {
+        long[] words = walls;
+        if (words != null) {
+            return w >= 0 && w < words.length ? words[w] : 0L;
+        }
+        return w >= 0 && w < mapped.limit() ? mapped.get(w) : 0L;
+    }
+
+    /**
+     * Get number of wall changes made so far.
+     *
+     * @return modification count
+     */
+    int modCount() {
+        return modCount;
+    }
+
+    /**
+     * Get number of terrain cost changes made so far. Cost changes do not count as wall changes, so structures that
+     * only depend on walls (component labels, cluster index, LPA* distances) stay valid.
+     *
+     * @return cost modification count
+     */
+    int costModCount() {
+        return costModCount;
+    }
+
+    /**
+     * Set or clear wall on given flat index.
+     * Words of a mapped maze file are first copied into heap, so the file is never modified and the grid continues on
+     * the copy.
+     *
+     * @param cell flat cell index
+     * @param wall true to put wall, false to remove it
+     */
+    void setWall(int cell, boolean wall) {
+        if (walls == null) {
+            walls = copyWalls();
+        }
+        modCount++;
+        if (hash != 0) {
+            hash = 0;       // volatile write only when a hash is cached, loaders set walls without this cost
+        }
+        if (wall) {
+            walls[cell >>> 6] |= 1L << cell;
+        } else {
+            walls[cell >>> 6] &= ~(1L << cell);
+        }
+    }
+
+    /**
+     * Set cost of a move into cell. Cost array is allocated on first cost other than 1.
+     *
+     * @param cell flat cell index
+     * @param cost cost from 1 to <code>MAX_COST</code>
+     * @throws InvalidParameterException cost is out of range
+     */
+    void setCost(int cell, int cost) {
+        if (cost < 1 || cost > MAX_COST) {
+            throw new InvalidParameterException("Cost must be in [1, " + MAX_COST + "]: " + cost + " !");
+        }
+        if (costs == null) {
+            if (cost == 1) {
+                return;
+            }
+            costs = new byte[numCells()];
+        }
+        costModCount++;
+        if (hash != 0) {
+            hash = 0;
+        }
+        costs[cell] = (byte) (cost - 1);
+    }
+}
@@ -0,0 +1,97 @@
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * Read-only random-access view of a path, backed by the flat cell indices found by search.
+ * No MazeCoord is stored: <code>get</code> creates one on demand, and <code>rowAt</code> / <code>colAt</code> read
+ * coordinates without creating any object, which is what drawing code should use for long paths.
+ * Any operation that would modify the list throws <code>UnsupportedOperationException</code>.
+ *
+ * @author BorisMirage
+ * Time: 2026/10/17 00:21
+ * Created with IntelliJ IDEA
+ */
+public final class MazePath extends AbstractList<MazeCoord> implements RandomAccess {
+
+    private static final int[] NO_PATH = new int[0];
+    static final MazePath EMPTY = new MazePath(NO_PATH, 1);
+
+    private final int[] cells;      // flat indices from start to target, shared with MazeRoute, never modified
+    private final int cols;         // number of columns of maze, used to convert flat index
+
+    /**
+     * Create view on path cells.
+     *
+     * @param cells flat indices of path, must not be modified afterwards
+     * @param cols  number of columns of maze
+     */
+    MazePath(int[] cells, int cols) {
+        this.cells = cells;
+        this.cols = cols;
+    }
+
+    /**
+     * Get MazeCoord of i-th cell of path. A new MazeCoord is created for each call.
+     *
+     * @param i position on path, 0 is start
+     * @return location of cell
+     * @throws IndexOutOfBoundsException i is out of range
+     */
+    @Override
+    public MazeCoord get(int i) {
+        int cell = cells[i];
+        return new MazeCoord(cell / cols, cell % cols);
+    }
+
+    /**
+     * Get number of cells on path.
+     *
+     * @return path length, 0 if no path
+     */
+    @Override
+    public int size() {
+        return cells.length;
+    }
+
+    /**
+     * Get row of i-th cell without creating MazeCoord.
+     *
+     * @param i position on path, 0 is start
+     * @return row number
+     * @throws IndexOutOfBoundsException i is out of range
+     */
+    public int rowAt(int i) {
+        return cells[i] / cols;
+    }
+
+    /**
+     * Get column of i-th cell without creating MazeCoord.
+     *
+     * @param i position on path, 0 is start
+     * @return column number
+     * @throws IndexOutOfBoundsException i is out of range
+     */
+    public int colAt(int i) {
+        return cells[i] % cols;
+    }
+
+    /**
+     * Get flat index of i-th cell.
+     *
+     * @param i position on path, 0 is start
+     * @return flat cell index, <code>row * numCols + col</code>
+     * @throws IndexOutOfBoundsException i is out of range
+     */
+    public int cellAt(int i) {
+        return cells[i];
+    }
+
+    /**
+     * Get flat indices of path. Array is shared, caller must not modify it.
+     *
+     * @return path cells from start to target
+     */
+    int[] cells() {
+        return cells;
+    }
+}
@@ -0,0 +1,51 @@
+/**
+ * One routing query, a pair of start and target location.
+ * Used in batch solving of <code>ConcurrentMazeSolver</code>.
+ *
+ * @author BorisMirage
+ * Time: 2026/10/17 00:04
+ * Created with IntelliJ IDEA
+ */
+public final class MazeQuery {
+
+    private final MazeCoord from;
+    private final MazeCoord to;
+
+    /**
+     * Create a query.
+     *
+     * @param from start location
+     * @param to   target location
+     */
+    public MazeQuery(MazeCoord from, MazeCoord to) {
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Get start location.
+     *
+     * @return start MazeCoord
+     */
+    public MazeCoord getFrom() {
+        return from;
+    }
+
+    /**
+     * Get target location.
+     *
+     * @return target MazeCoord
+     */
+    public MazeCoord getTo() {
+        return to;
+    }
+
+    /**
+     * Convert query to string for debug output.
+     *
+     * @return query in string
+     */
+    public String toString() {
+        return "MazeQuery[from=" + from + ",to=" + to + "]";
+    }
+}
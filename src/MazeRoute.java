@@ -0,0 +1,142 @@
+/**
+ * Immutable answer of one query from <code>Maze.solve</code>.
+ * It does not refer to any search state of maze, so it stays valid after later queries on the same maze.
+ * If metrics are collected, route also carries <code>SearchMetrics</code> of its query.
+ *
+ * @author BorisMirage
+ * Time: 2026/10/17 00:03
+ * Created with IntelliJ IDEA
+ */
+public final class MazeRoute {
+
+    private static final int[] NO_PATH = new int[0];
+
+    private final MazeCoord from;
+    private final MazeCoord to;
+    private final int cols;         // number of columns of maze, used to convert flat index
+    private final int[] cells;      // flat indices of path from entry to exit, empty if not found
+    private final int expanded;
+    private final SearchMetrics metrics;    // null if metrics were not collected
+
+    /**
+     * Create a route.
+     *
+     * @param from     query start
+     * @param to       query target
+     * @param cols     number of columns of maze
+     * @param cells    flat indices of path, null if not found. Array must not be modified afterwards.
+     * @param expanded number of expanded cells
+     */
+    MazeRoute(MazeCoord from, MazeCoord to, int cols, int[] cells, int expanded) {
+        this(from, to, cols, cells, expanded, null);
+    }
+
+    /**
+     * Create a route with metrics.
+     *
+     * @param from     query start
+     * @param to       query target
+     * @param cols     number of columns of maze
+     * @param cells    flat indices of path, null if not found. Array must not be modified afterwards.
+     * @param expanded number of expanded cells
+     * @param metrics  metrics of query, null if not collected
+     */
+    MazeRoute(MazeCoord from, MazeCoord to, int cols, int[] cells, int expanded, SearchMetrics metrics) {
+        this.from = from;
+        this.to = to;
+        this.cols = cols;
+        this.cells = cells == null ? NO_PATH : cells;
+        this.expanded = expanded;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Get query start.
+     *
+     * @return start MazeCoord
+     */
+    public MazeCoord getFrom() {
+        return from;
+    }
+
+    /**
+     * Get query target.
+     *
+     * @return target MazeCoord
+     */
+    public MazeCoord getTo() {
+        return to;
+    }
+
+    /**
+     * Check if a path is found.
+     *
+     * @return true if path exists
+     */
+    public boolean isFound() {
+        return cells.length != 0;
+    }
+
+    /**
+     * Get number of cells on path, including both ends.
+     *
+     * @return path length in cells, 0 if not found
+     */
+    public int getLength() {
+        return cells.length;
+    }
+
+    /**
+     * Get number of cells that have been expanded by this query.
+     *
+     * @return expanded count
+     */
+    public int getExpanded() {
+        return expanded;
+    }
+
+    /**
+     * Get metrics of this query.
+     *
+     * @return metrics, null if metrics were not enabled when query ran
+     */
+    public SearchMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Get path from start to target. Path is a view on the cells of this route, nothing is copied.
+     *
+     * @return read-only random-access path, empty if not found
+     */
+    public MazePath getPath() {
+        return new MazePath(cells, cols);
+    }
+
+    /**
+     * Get flat indices of path. Array is shared, caller must not modify it.
+     *
+     * @return path cells from start to target
+     */
+    int[] cells() {
+        return cells;
+    }
+
+    /**
+     * Estimate memory held by this route, used by <code>RouteCache</code> to bound its size.
+     *
+     * @return approximate size in bytes
+     */
+    long sizeInBytes() {
+        return 96 + 4L * cells.length + (metrics == null ? 0 : 64);
+    }
+
+    /**
+     * Convert route to string for debug output.
+     *
+     * @return route in string
+     */
+    public String toString() {
+        return "MazeRoute[from=" + from + ",to=" + to + ",length=" + cells.length + ",expanded=" + expanded + "]";
+    }
+}
@@ -0,0 +1,212 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Level-synchronous parallel breadth-first search.
+ * BFS levels are processed one after another, but all cells of one level are expanded in parallel on a
+ * <code>ForkJoinPool</code> by splitting the frontier into ranges.
+ * Visited state is a flat bitset in <code>AtomicLongArray</code>, kept in the scratch and initialized with walls
+ * before each search, and a cell is claimed by atomically setting its bit, so exactly one thread wins each cell
+ * without any lock.
+ * Since the level of a cell in BFS is unique, distances are the same as <code>BreadthFirstSearch</code>.
+ * Small levels are expanded on calling thread to avoid task overhead.
+ *
+ * @author BorisMirage
+ * Time: 2026/10/17 00:06
+ * Created with IntelliJ IDEA
+ */
+public class ParallelBreadthFirstSearch implements SearchStrategy {
+
+    private static final int SEQUENTIAL_THRESHOLD = 4096;   // levels smaller than this are not split
+    private static final int LEAF_SIZE = 2048;              // frontier cells handled by one task
+    private static final int BUFFER_SIZE = 512;             // local buffer of discovered cells in one task
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Create search on common fork-join pool.
+     */
+    public ParallelBreadthFirstSearch() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Create search on given pool.
+     *
+     * @param pool pool that expands levels
+     */
+    public ParallelBreadthFirstSearch(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Flood whole region reachable from entry level by level, then trace path back from exit.
+     *
+     * @param grid    wall grid
+     * @param start   flat index of entry
+     * @param end     flat index of exit
+     * @param scratch reusable working state
+     * @return search result
+     */
+    @Override
+    public SearchResult search(MazeGrid grid, int start, int end, SearchScratch scratch) {
+        AtomicLongArray visited = scratch.visited();
+        int words = MazeGrid.numWords(grid.numRows(), grid.numCols());
+        for (int w = 0; w < words; w++) {
+            visited.setPlain(w, grid.word(w));      // published to tasks by pool.invoke
+        }
+        int[] frontier = new int[]{start};
+        int[] next = new int[Math.min(grid.numCells(), 4)];
+        int size = 1;
+        int level = 1;
+        int expanded = 0;
+        int peak = 1;       // largest level
+
+        claim(visited, start);
+        scratch.setDistance(start, level);
+        while (size > 0) {
+            level++;
+            expanded += size;
+            int capacity = (int) Math.min(grid.numCells(), 3L * size + 1);
+            if (next.length < capacity) {
+                next = new int[capacity];
+            }
+
+            AtomicInteger cursor = new AtomicInteger();
+            Expansion task = new Expansion(grid, scratch, visited, frontier, next, cursor, 0, size, level);
+            if (size < SEQUENTIAL_THRESHOLD) {
+                task.compute();
+            } else {
+                pool.invoke(task);
+            }
+
+            /* Swap frontier buffers */
+            int[] temp = frontier;
+            frontier = next;
+            next = temp;
+            size = cursor.get();
+            peak = Math.max(peak, size);
+        }
+
+        if (scratch.distance(end) == 0) {
+            return new SearchResult(null, expanded, 0, peak);
+        }
+        return new SearchResult(scratch.tracePath(grid, start, end), expanded, 0, peak);
+    }
+
+    /**
+     * Set visited bit of cell with compare-and-set.
+     *
+     * @param visited visited bitset
+     * @param cell    flat cell index
+     * @return true if this call set the bit, false if cell is wall or already visited
+     */
+    private static boolean claim(AtomicLongArray visited, int cell) {
+        int word = cell >>> 6;
+        long mask = 1L << cell;
+        long old = visited.get(word);
+        while ((old & mask) == 0) {
+            if (visited.compareAndSet(word, old, old | mask)) {
+                return true;
+            }
+            old = visited.get(word);
+        }
+        return false;
+    }
+
+    /**
+     * Expand a range of frontier into next frontier.
+     * Discovered cells are first collected in a small local buffer, then appended to next frontier in one block,
+     * whose position is reserved with an atomic cursor.
+     */
+    private static final class Expansion extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final MazeGrid grid;
+        private final SearchScratch scratch;
+        private final AtomicLongArray visited;
+        private final int[] frontier;
+        private final int[] next;
+        private final AtomicInteger cursor;
+        private final int from;
+        private final int to;
+        private final int level;
+
+        /**
+         * Create task of frontier range [from, to).
+         *
+         * @param grid     wall grid
+         * @param scratch  scratch that receives distance, each cell is written by one thread only
+         * @param visited  visited bitset shared by all tasks
+         * @param frontier current level
+         * @param next     next level to be filled
+         * @param cursor   number of cells already in next level
+         * @param from     first frontier index (inclusive)
+         * @param to       last frontier index (exclusive)
+         * @param level    distance of next level
+         */
+        Expansion(MazeGrid grid, SearchScratch scratch, AtomicLongArray visited, int[] frontier, int[] next,
+                  AtomicInteger cursor, int from, int to, int level) {
+            this.grid = grid;
+            this.scratch = scratch;
+            this.visited = visited;
+            this.frontier = frontier;
+            this.next = next;
+            this.cursor = cursor;
+            this.from = from;
+            this.to = to;
+            this.level = level;
+        }
+
+        /**
+         * Split range until it is small enough, then expand it.
+         */
+        @Override
+        protected void compute() {
+            if (to - from > LEAF_SIZE) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new Expansion(grid, scratch, visited, frontier, next, cursor, from, mid, level),
+                        new Expansion(grid, scratch, visited, frontier, next, cursor, mid, to, level));
+                return;
+            }
+
+            int[] buffer = new int[BUFFER_SIZE];
+            int count = 0;
+            for (int k = from; k < to; k++) {
+                int cell = frontier[k];
+                for (int i = 0; i < 4; i++) {
+                    int n = grid.neighbor(cell, i);
+                    if (n < 0) {
+                        continue;
+                    }
+
+                    if (!claim(visited, n)) {
+                        continue;
+                    }
+                    scratch.setDistance(n, level);
+                    buffer[count++] = n;
+                    if (count == BUFFER_SIZE) {
+                        flush(buffer, count);
+                        count = 0;
+                    }
+                }
+            }
+            flush(buffer, count);
+        }
+
+        /**
+         * Append buffered cells to next frontier.
+         *
+         * @param buffer discovered cells
+         * @param count  number of cells in buffer
+         */
+        private void flush(int[] buffer, int count) {
+            if (count > 0) {
+                System.arraycopy(buffer, 0, next, cursor.getAndAdd(count), count);
+            }
+        }
+    }
+}
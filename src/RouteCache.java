@@ -0,0 +1,367 @@
+import java.security.InvalidParameterException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of solved routes and distance fields, in front of the solver.
+ * Entries are keyed by <code>MazeGrid.contentHash</code> plus endpoints, so the same maze loaded again (or another
+ * <code>Maze</code> object with identical walls and costs) hits the same entries, and a changed wall or cost misses
+ * them. Key also records whether the query was cost-aware (see <code>Maze.isCostAware</code>), since on a weighted
+ * grid the cheapest route and the route with fewest moves are different answers.
+ * Routes are stored as they are returned by <code>Maze.solve</code>, i.e. compact int arrays of cells.
+ * <p>
+ * Cache is split into segments by key hash, each segment is an access-ordered <code>LinkedHashMap</code> under its own
+ * lock with its own byte budget, and evicts its least recently used entries when over budget.
+ * A hit is one hash lookup under an uncontended lock. Hits, misses and evictions are counted with
+ * <code>LongAdder</code>.
+ * <p>
+ * Half of the byte budget is shared equally by the hashed segments, the other half belongs to one more segment that
+ * only holds entries larger than a hashed segment's share, typically distance fields of large mazes (about 4.25 bytes
+ * per cell). Looking up such an entry takes a second lookup after the hashed segment misses; while that segment is
+ * empty, a miss reads its volatile entry count instead of taking its lock, so ordinary misses of concurrent callers
+ * never meet on one monitor. An entry larger than half of the budget is returned but not cached.
+ * Values are computed outside of locks, so two threads missing the same key at once may both compute it.
+ * Apart from cost-awareness, routes do not depend on search strategy except for which of several shortest paths is
+ * returned; a cached route keeps the expanded count and metrics of the query that computed it.
+ *
+ * @author BorisMirage
+ * Time: 2026/10/17 00:24
+ * Created with IntelliJ IDEA
+ */
+public final class RouteCache {
+
+    private static final int DEFAULT_SEGMENTS = 16;
+
+    private final Segment[] segments;       // hashed segments, then the segment of large entries
+    private final int mask;                 // number of hashed segments - 1
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Create cache with default number of segments.
+     *
+     * @param maxBytes approximate max memory held by cached values
+     * @throws InvalidParameterException max bytes is not positive
+     */
+    public RouteCache(long maxBytes) {
+        this(maxBytes, DEFAULT_SEGMENTS);
+    }
+
+    /**
+     * Create cache.
+     *
+     * @param maxBytes    approximate max memory held by cached values, half of it by entries larger than
+     *                    <code>maxBytes / 2 / numSegments</code>
+     * @param numSegments number of independently locked segments for ordinary entries, rounded up to power of two
+     * @throws InvalidParameterException max bytes or number of segments is not positive
+     */
+    public RouteCache(long maxBytes, int numSegments) {
+        if (maxBytes <= 0 || numSegments <= 0) {
+            throw new InvalidParameterException("Invalid cache size: " + maxBytes + " bytes, " + numSegments
+                    + " segments !");
+        }
+        int n = Integer.highestOneBit(Math.min(numSegments, 1 << 16) - 1) << 1;
+        n = numSegments == 1 ? 1 : n;
+        long half = Math.max(1, maxBytes / 2);
+        segments = new Segment[n + 1];
+        for (int i = 0; i < n; i++) {
+            segments[i] = new Segment(Math.max(1, half / n));
+        }
+        segments[n] = new Segment(half);
+        mask = n - 1;
+    }
+
+    /**
+     * Get cached route between two locations of maze, or solve it with maze's strategy and cache it.
+     * Maze itself is not thread-safe, so concurrent callers should not share one <code>Maze</code> on misses.
+     *
+     * @param maze maze to be searched on miss
+     * @param from start location
+     * @param to   target location
+     * @return route, shared with other callers
+     * @throws InvalidParameterException location is out of maze
+     */
+    public MazeRoute solve(Maze maze, MazeCoord from, MazeCoord to) {
+        Key key = new Key(maze.getGrid().contentHash(), maze.isCostAware(), from.getRow(), from.getCol(), to.getRow(),
+                to.getCol());
+        Object cached = get(key);
+        if (cached != null) {
+            return (MazeRoute) cached;
+        }
+        MazeRoute route = maze.solve(from, to);
+        put(key, route, route.sizeInBytes());
+        return route;
+    }
+
+    /**
+     * Get cached route of maze from entry to exit, or solve it.
+     *
+     * @param maze maze to be searched on miss
+     * @return route from entry to exit
+     */
+    public MazeRoute solve(Maze maze) {
+        return solve(maze, maze.getEntryLoc(), maze.getExitLoc());
+    }
+
+    /**
+     * Get cached distance field of grid from source, or compute it and cache it.
+     *
+     * @param grid   wall grid
+     * @param source source location
+     * @return immutable distance field, shared with other callers
+     * @throws InvalidParameterException location is out of maze
+     */
+    public DistanceField distanceField(MazeGrid grid, MazeCoord source) {
+        Key key = new Key(grid.contentHash(), false, source.getRow(), source.getCol(), -1, -1);
+        Object cached = get(key);
+        if (cached != null) {
+            return (DistanceField) cached;
+        }
+        DistanceField field = DistanceField.compute(grid, source);
+        put(key, field, field.sizeInBytes());
+        return field;
+    }
+
+    /**
+     * Get number of lookups answered from cache.
+     *
+     * @return hit count
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Get number of lookups that had to compute value.
+     *
+     * @return miss count
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Get number of entries removed to stay within byte budget.
+     *
+     * @return eviction count
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * Get approximate memory held by cached values.
+     *
+     * @return size in bytes
+     */
+    public long getSizeInBytes() {
+        long total = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                total += segment.bytes;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Get number of cached entries.
+     *
+     * @return number of entries
+     */
+    public int size() {
+        int total = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                total += segment.map.size();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Remove all entries. Counters are kept.
+     */
+    public void clear() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.map.clear();
+                segment.bytes = 0;
+                segment.count = 0;
+            }
+        }
+    }
+
+    /**
+     * Look up key and count hit or miss.
+     *
+     * @param key cache key
+     * @return cached value, null if absent
+     */
+    private Object get(Key key) {
+        Segment segment = segmentOf(key);
+        Entry entry;
+        synchronized (segment) {
+            entry = segment.map.get(key);
+        }
+        Segment large = segments[mask + 1];
+        if (entry == null && large.count != 0) {
+            synchronized (large) {
+                entry = large.map.get(key);
+            }
+        }
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.value;
+    }
+
+    /**
+     * Insert value and evict least recently used entries of its segment until segment is within budget.
+     * Value larger than a hashed segment's budget goes to the segment of large entries.
+     *
+     * @param key   cache key
+     * @param value value to be cached
+     * @param bytes estimated size of value
+     */
+    private void put(Key key, Object value, long bytes) {
+        Segment segment = segmentOf(key);
+        if (bytes > segment.budget) {
+            segment = segments[mask + 1];
+            if (bytes > segment.budget) {
+                return;
+            }
+        }
+        synchronized (segment) {
+            Entry old = segment.map.put(key, new Entry(value, bytes));
+            segment.bytes += bytes - (old == null ? 0 : old.bytes);
+            Iterator<Entry> eldest = segment.map.values().iterator();
+            while (segment.bytes > segment.budget && eldest.hasNext()) {
+                Entry entry = eldest.next();
+                eldest.remove();
+                segment.bytes -= entry.bytes;
+                evictions.increment();
+            }
+            segment.count = segment.map.size();
+        }
+    }
+
+    /**
+     * Get hashed segment that holds key, unless its value is large.
+     *
+     * @param key cache key
+     * @return segment
+     */
+    private Segment segmentOf(Key key) {
+        int h = key.hashCode();
+        return segments[(h ^ (h >>> 16)) & mask];
+    }
+
+    /**
+     * One independently locked part of cache. Guarded by its own monitor.
+     */
+    private static final class Segment {
+
+        private final Map<Key, Entry> map = new LinkedHashMap<>(16, 0.75f, true);     // in access order
+        private final long budget;      // max bytes of segment
+        private long bytes;
+        private volatile int count;     // map size, also readable without lock
+
+        /**
+         * Create empty segment.
+         *
+         * @param budget max bytes of segment
+         */
+        Segment(long budget) {
+            this.budget = budget;
+        }
+    }
+
+    /**
+     * Cached value with its estimated size.
+     */
+    private static final class Entry {
+
+        private final Object value;
+        private final long bytes;
+
+        /**
+         * Create entry.
+         *
+         * @param value cached value
+         * @param bytes estimated size
+         */
+        Entry(Object value, long bytes) {
+            this.value = value;
+            this.bytes = bytes;
+        }
+    }
+
+    /**
+     * Cache key: grid content hash, cost-awareness and endpoints. Target is (-1, -1) for distance fields, which are
+     * never cost-aware.
+     */
+    private static final class Key {
+
+        private final long gridHash;
+        private final boolean costAware;
+        private final int fromRow;
+        private final int fromCol;
+        private final int toRow;
+        private final int toCol;
+
+        /**
+         * Create key.
+         *
+         * @param gridHash  content hash of grid
+         * @param costAware true if route takes terrain costs into account
+         * @param fromRow   start row
+         * @param fromCol   start column
+         * @param toRow     target row, -1 for distance field
+         * @param toCol     target column, -1 for distance field
+         */
+        Key(long gridHash, boolean costAware, int fromRow, int fromCol, int toRow, int toCol) {
+            this.gridHash = gridHash;
+            this.costAware = costAware;
+            this.fromRow = fromRow;
+            this.fromCol = fromCol;
+            this.toRow = toRow;
+            this.toCol = toCol;
+        }
+
+        /**
+         * Check if two keys are equal.
+         *
+         * @param other other object
+         * @return true if same grid hash, cost-awareness and endpoints
+         */
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            Key k = (Key) other;
+            return gridHash == k.gridHash && costAware == k.costAware && fromRow == k.fromRow && fromCol == k.fromCol
+                    && toRow == k.toRow && toCol == k.toCol;
+        }
+
+        /**
+         * Hash of key.
+         *
+         * @return hash code
+         */
+        @Override
+        public int hashCode() {
+            int h = 2 * Long.hashCode(gridHash) + (costAware ? 1 : 0);
+            h = 31 * h + fromRow;
+            h = 31 * h + fromCol;
+            h = 31 * h + toRow;
+            return 31 * h + toCol;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+/**
+ * Callback invoked after every query of <code>Maze</code> or <code>ConcurrentMazeSolver</code> it is installed on,
+ * e.g. to export <code>SearchMetrics</code> to a metrics registry or to log slow queries.
+ * Route passed in always has metrics. Listener is called on the thread that ran the query, so a listener shared by a
+ * <code>ConcurrentMazeSolver</code> must be thread-safe, and it should return quickly.
+ *
+ * @author BorisMirage
+ * Time: 2026/10/17 00:19
+ * Created with IntelliJ IDEA
+ */
+public interface SearchListener {
+
+    /**
+     * Called when a query is finished.
+     *
+     * @param route query result, <code>getMetrics</code> is not null
+     */
+    void searchFinished(MazeRoute route);
+}
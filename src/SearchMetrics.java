@@ -0,0 +1,151 @@
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Measurements of one query, attached to <code>MazeRoute</code> when metrics are enabled on <code>Maze</code> or a
+ * <code>SearchListener</code> is installed.
+ * Times are wall-clock nanoseconds. Search time ends when the strategy starts to build the path, path time covers
+ * building the path array. Allocated bytes are counted on calling thread only (work done by other threads, such as
+ * <code>ParallelBreadthFirstSearch</code> tasks, is not included), and are -1 if the JVM cannot measure them.
+ *
+ * @author BorisMirage
+ * Time: 2026/10/17 00:18
+ * Created with IntelliJ IDEA
+ */
+public final class SearchMetrics {
+
+    private static final com.sun.management.ThreadMXBean THREADS = allocationBean();
+
+    private final int expanded;
+    private final int reopened;
+    private final int peakFrontier;
+    private final long allocatedBytes;
+    private final long searchNanos;
+    private final long pathNanos;
+    private final long loadNanos;
+
+    /**
+     * Create metrics.
+     *
+     * @param expanded       number of expanded cells
+     * @param reopened       number of re-opened cells
+     * @param peakFrontier   peak frontier size
+     * @param allocatedBytes bytes allocated by calling thread, -1 if unknown
+     * @param searchNanos    search time
+     * @param pathNanos      path reconstruction time
+     * @param loadNanos      load time of maze, 0 if maze was not loaded from file
+     */
+    SearchMetrics(int expanded, int reopened, int peakFrontier, long allocatedBytes, long searchNanos, long pathNanos,
+                  long loadNanos) {
+        this.expanded = expanded;
+        this.reopened = reopened;
+        this.peakFrontier = peakFrontier;
+        this.allocatedBytes = allocatedBytes;
+        this.searchNanos = searchNanos;
+        this.pathNanos = pathNanos;
+        this.loadNanos = loadNanos;
+    }
+
+    /**
+     * Get bean that reports per-thread allocation, if this JVM supports it.
+     *
+     * @return allocation bean, null if not supported
+     */
+    private static com.sun.management.ThreadMXBean allocationBean() {
+        try {
+            ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            if (bean instanceof com.sun.management.ThreadMXBean) {
+                com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+                if (threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+                    return threads;
+                }
+            }
+        } catch (LinkageError | RuntimeException exc) {
+            /* Not a HotSpot-compatible JVM */
+        }
+        return null;
+    }
+
+    /**
+     * Get total bytes allocated by calling thread so far.
+     *
+     * @return allocated bytes, -1 if not supported
+     */
+    static long allocatedBytes() {
+        return THREADS == null ? -1 : THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * Get number of expanded cells.
+     *
+     * @return expanded count
+     */
+    public int getExpanded() {
+        return expanded;
+    }
+
+    /**
+     * Get number of times a reached cell got a shorter distance and was pushed again.
+     *
+     * @return re-opened count
+     */
+    public int getReopened() {
+        return reopened;
+    }
+
+    /**
+     * Get largest number of cells held in frontier at once.
+     *
+     * @return peak frontier size
+     */
+    public int getPeakFrontier() {
+        return peakFrontier;
+    }
+
+    /**
+     * Get bytes allocated by calling thread during query, including the path.
+     *
+     * @return allocated bytes, -1 if not supported
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * Get time spent in search, excluding path reconstruction.
+     *
+     * @return search time in nanoseconds
+     */
+    public long getSearchNanos() {
+        return searchNanos;
+    }
+
+    /**
+     * Get time spent building path.
+     *
+     * @return path reconstruction time in nanoseconds
+     */
+    public long getPathNanos() {
+        return pathNanos;
+    }
+
+    /**
+     * Get time spent loading maze from file.
+     *
+     * @return load time in nanoseconds, 0 if maze was not loaded from file
+     */
+    public long getLoadNanos() {
+        return loadNanos;
+    }
+
+    /**
+     * Convert metrics to string for log output.
+     *
+     * @return metrics in string
+     */
+    public String toString() {
+        return "SearchMetrics[expanded=" + expanded + ",reopened=" + reopened + ",peakFrontier=" + peakFrontier
+                + ",allocatedBytes=" + allocatedBytes + ",searchNanos=" + searchNanos + ",pathNanos=" + pathNanos
+                + ",loadNanos=" + loadNanos + "]";
+    }
+}
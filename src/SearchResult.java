@@ -0,0 +1,88 @@
+/**
+ * Result of one search.
+ * Contains the path from entry to exit as flat cell indices, and counters of the search: number of cells expanded,
+ * number of cells re-opened (pushed again with a shorter distance after being reached) and peak frontier size.
+ *
+ * @author BorisMirage
+ * Time: 2026/10/16 11:05
+ * Created with IntelliJ IDEA
+ */
+public final class SearchResult {
+
+    private static final int[] NO_PATH = new int[0];
+
+    private final int[] path;       // flat indices from entry to exit, empty if not found
+    private final int expanded;     // number of cells expanded during search
+    private final int reopened;     // number of times a reached cell got a shorter distance
+    private final int peakFrontier; // largest number of cells waiting in frontier at once
+
+    /**
+     * Create a result.
+     *
+     * @param path         flat indices of path from entry to exit, null if not found
+     * @param expanded     number of expanded cells
+     * @param reopened     number of re-opened cells
+     * @param peakFrontier peak frontier size
+     */
+    SearchResult(int[] path, int expanded, int reopened, int peakFrontier) {
+        this.path = path == null ? NO_PATH : path;
+        this.expanded = expanded;
+        this.reopened = reopened;
+        this.peakFrontier = peakFrontier;
+    }
+
+    /**
+     * Check if a path is found.
+     *
+     * @return true if path exists
+     */
+    public boolean isFound() {
+        return path.length != 0;
+    }
+
+    /**
+     * Get number of cells on path, including entry and exit.
+     *
+     * @return path length in cells, 0 if not found
+     */
+    public int getLength() {
+        return path.length;
+    }
+
+    /**
+     * Get number of cells that have been expanded during search.
+     *
+     * @return expanded count
+     */
+    public int getExpanded() {
+        return expanded;
+    }
+
+    /**
+     * Get number of times a cell that had been reached got a shorter distance and was pushed again.
+     * Always 0 for breadth-first strategies, which reach every cell first by a shortest path.
+     *
+     * @return re-opened count
+     */
+    public int getReopened() {
+        return reopened;
+    }
+
+    /**
+     * Get largest number of cells held in frontier (queue or open list) at once.
+     *
+     * @return peak frontier size
+     */
+    public int getPeakFrontier() {
+        return peakFrontier;
+    }
+
+    /**
+     * Get flat indices of path. Array is shared, caller must not modify it.
+     *
+     * @return path cells from entry to exit
+     */
+    int[] cells() {
+        return path;
+    }
+}
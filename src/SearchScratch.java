@@ -0,0 +1,317 @@
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Reusable working state of search.
+ * All arrays are flat and indexed by cell, so they are allocated once per maze size and reused between searches.
+ * Distance stores distance from entry where entry is 1, and 0 means not reached yet.
+ * Instead of clearing distance array before each search, every search has its own epoch number, and a distance is only
+ * valid if stamp of that cell equals current epoch. Hence reset is O(1), and the stamp array is only cleared once every
+ * 65535 searches when the 16-bit epoch wraps around.
+ * <code>parents</code> stores, with 2 bits per cell, the orientation of the move that reached each cell.
+ * When metrics are collected, strategies call <code>markPathStart</code> right before path reconstruction, so that
+ * search time and path time can be told apart. It is a single branch when metrics are off.
+ *
+ * @author BorisMirage
+ * Time: 2026/10/16 11:08
+ * Created with IntelliJ IDEA
+ */
+public final class SearchScratch {
+
+    private final int[] distance;
+    private final char[] stamp;     // epoch in which distance of cell was set
+    private char epoch = 1;
+    final long[] parents;
+    final IntQueue queue = new IntQueue();
+    final IntQueue backQueue = new IntQueue();      // second frontier of bidirectional search
+    final CellHeap heap = new CellHeap();
+    private IntQueue[] buckets;     // bucket queue of DialSearch, created on first use
+    private AtomicLongArray visited;        // visited bitset of ParallelBreadthFirstSearch, created on first use
+    private long[][] rowBits = new long[0][];       // row bitsets of BitParallelBreadthFirstSearch by slot
+    private int[][] wordLists = new int[0][];       // word lists of BitParallelBreadthFirstSearch by slot
+    private long[] turnBits;        // turn table of JumpPointSearch, created on first use
+    private MazeGrid turnGrid;      // grid the turn table was built for
+    private int turnModCount;       // modCount of turnGrid when the turn table was built
+    private boolean timed;          // path reconstruction of current search is timed
+    private long pathStart;         // System.nanoTime() when path reconstruction started, if timed
+
+    /**
+     * Create scratch for grid with given number of cells.
+     *
+     * @param numCells number of cells in grid
+     */
+    public SearchScratch(int numCells) {
+        distance = new int[numCells];
+        stamp = new char[numCells];
+        parents = new long[(int) (((long) numCells + 31) >>> 5)];
+    }
+
+    /**
+     * Get number of cells this scratch can hold.
+     *
+     * @return number of cells
+     */
+    public int capacity() {
+        return distance.length;
+    }
+
+    /**
+     * Clear all state so that scratch can be used by next search.
+     * Distance is invalidated by moving to next epoch, which does not touch distance array.
+     */
+    void reset() {
+        if (++epoch == 0) {
+            Arrays.fill(stamp, (char) 0);
+            epoch = 1;
+        }
+        queue.clear();
+        backQueue.clear();
+        heap.clear();
+        if (buckets != null) {
+            for (IntQueue bucket : buckets) {
+                bucket.clear();
+            }
+        }
+    }
+
+    /**
+     * Get circular bucket queue of <code>DialSearch</code>, one bucket per distance modulo
+     * <code>MazeGrid.MAX_COST + 1</code>.
+     *
+     * @return empty buckets
+     */
+    IntQueue[] buckets() {
+        if (buckets == null) {
+            buckets = new IntQueue[MazeGrid.MAX_COST + 1];
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new IntQueue();
+            }
+        }
+        return buckets;
+    }
+
+    /**
+     * Get visited bitset of <code>ParallelBreadthFirstSearch</code>, one bit per cell.
+     * Bits are left as the previous search set them, so caller has to initialize all words it uses.
+     *
+     * @return bitset of at least <code>capacity</code> bits
+     */
+    AtomicLongArray visited() {
+        if (visited == null) {
+            visited = new AtomicLongArray((int) (((long) distance.length + 63) >>> 6));
+        }
+        return visited;
+    }
+
+    /**
+     * Get one row bitset of <code>BitParallelBreadthFirstSearch</code>, created on first use of its slot and grown
+     * when a grid needs more words.
+     * Words are left as the previous search set them, so caller has to initialize all words it uses.
+     *
+     * @param slot  bitset number
+     * @param words number of words needed
+     * @return bitset of at least <code>words</code> words
+     */
+    long[] rowBits(int slot, int words) {
+        if (slot >= rowBits.length) {
+            rowBits = Arrays.copyOf(rowBits, slot + 1);
+        }
+        if (rowBits[slot] == null || rowBits[slot].length < words) {
+            rowBits[slot] = new long[words];
+        }
+        return rowBits[slot];
+    }
+
+    /**
+     * Get one list of word indices of <code>BitParallelBreadthFirstSearch</code>, created on first use of its slot and
+     * grown when a grid needs more words. Content is left as the previous search set it.
+     *
+     * @param slot  list number
+     * @param words number of words needed
+     * @return array of at least <code>words</code> elements
+     */
+    int[] wordList(int slot, int words) {
+        if (slot >= wordLists.length) {
+            wordLists = Arrays.copyOf(wordLists, slot + 1);
+        }
+        if (wordLists[slot] == null || wordLists[slot].length < words) {
+            wordLists[slot] = new int[words];
+        }
+        return wordLists[slot];
+    }
+
+    /**
+     * Get turn table of <code>JumpPointSearch</code> if it was built for given grid and no wall has changed since.
+     *
+     * @param grid wall grid
+     * @return turn table, null if it has to be built
+     */
+    long[] turnBits(MazeGrid grid) {
+        return grid == turnGrid && grid.modCount() == turnModCount ? turnBits : null;
+    }
+
+    /**
+     * Get bitset for a new turn table of <code>JumpPointSearch</code>, grown when a grid needs more words, and record
+     * grid and its current walls as owner. Words are left as the previous table set them.
+     *
+     * @param grid  wall grid the table is built for
+     * @param words number of words needed
+     * @return bitset of at least <code>words</code> words
+     */
+    long[] newTurnBits(MazeGrid grid, int words) {
+        if (turnBits == null || turnBits.length < words) {
+            turnBits = new long[words];
+        }
+        turnGrid = grid;
+        turnModCount = grid.modCount();
+        return turnBits;
+    }
+
+    /**
+     * Get distance of cell in current search.
+     *
+     * @param cell flat cell index
+     * @return distance from entry (entry is 1), 0 if not reached in current search
+     */
+    int distance(int cell) {
+        return stamp[cell] == epoch ? distance[cell] : 0;
+    }
+
+    /**
+     * Set distance of cell in current search.
+     *
+     * @param cell  flat cell index
+     * @param value distance to be set
+     */
+    void setDistance(int cell, int value) {
+        distance[cell] = value;
+        stamp[cell] = epoch;
+    }
+
+    /**
+     * Record orientation of the move that reached cell.
+     * Value is only meaningful while distance of this cell is set in current search, so it is never cleared.
+     *
+     * @param cell        flat cell index
+     * @param orientation 0 - up, 1 - left, 2 - right, 3 - down, same as <code>MazeCoord.move</code>
+     */
+    void setParent(int cell, int orientation) {
+        setParent(parents, cell, orientation);
+    }
+
+    /**
+     * Get orientation of the move that reached cell.
+     *
+     * @param cell flat cell index
+     * @return orientation recorded by <code>setParent</code>
+     */
+    int parent(int cell) {
+        return parent(parents, cell);
+    }
+
+    /**
+     * Record orientation of the move that reached cell in a 2-bit parent array.
+     * Shared with structures that keep parents of their own, e.g. <code>DistanceField</code>.
+     *
+     * @param parents     parent words, 32 cells per word
+     * @param cell        flat cell index
+     * @param orientation 0 - up, 1 - left, 2 - right, 3 - down
+     */
+    static void setParent(long[] parents, int cell, int orientation) {
+        int shift = (cell & 31) << 1;
+        int word = cell >>> 5;
+        parents[word] = (parents[word] & ~(3L << shift)) | ((long) orientation << shift);
+    }
+
+    /**
+     * Get orientation of the move that reached cell from a 2-bit parent array.
+     *
+     * @param parents parent words, 32 cells per word
+     * @param cell    flat cell index
+     * @return orientation recorded by <code>setParent</code>
+     */
+    static int parent(long[] parents, int cell) {
+        return (int) (parents[cell >>> 5] >>> ((cell & 31) << 1)) & 3;
+    }
+
+    /**
+     * Rebuild path from end to start by following recorded parent orientations.
+     * Each step is one 2-bit lookup, no neighbor is probed. Path array is filled from its tail.
+     *
+     * @param grid  wall grid
+     * @param start flat index of entry
+     * @param end   flat index of exit, its distance and parent chain back to start must be set
+     * @return flat indices of path from entry to exit
+     */
+    int[] parentPath(MazeGrid grid, int start, int end) {
+        markPathStart();
+        int[] result = new int[distance(end)];
+        int cell = end;
+        for (int k = result.length - 1; k > 0; k--) {
+            result[k] = cell;
+            cell = grid.neighbor(cell, 3 - parent(cell));
+        }
+        result[0] = start;
+        return result;
+    }
+
+    /**
+     * Trace path back from end to start along decreasing distance.
+     * Used when parents are not recorded, e.g. by <code>ParallelBreadthFirstSearch</code>, whose threads cannot share
+     * 2-bit parent words without atomic updates.
+     * Each step moves to the first neighbor (up, left, right, down) whose distance is one less.
+     * Since distance of end is exactly the path length, path array is filled from its tail and no reverse is needed.
+     *
+     * @param grid  wall grid
+     * @param start flat index of entry
+     * @param end   flat index of exit, its distance must be set
+     * @return flat indices of path from entry to exit
+     */
+    int[] tracePath(MazeGrid grid, int start, int end) {
+        markPathStart();
+        int[] result = new int[distance(end)];
+        int cell = end;
+        int k = result.length - 1;
+        result[k] = end;
+        while (cell != start) {
+            int prev = distance(cell) - 1;
+            for (int i = 0; i < 4; i++) {
+                int n = grid.freeNeighbor(cell, i);
+                if (n >= 0 && distance(n) == prev) {
+                    cell = n;
+                    break;
+                }
+            }
+            result[--k] = cell;
+        }
+        return result;
+    }
+
+    /**
+     * Start timing path reconstruction of next search.
+     */
+    void startTiming() {
+        timed = true;
+        pathStart = Long.MIN_VALUE;
+    }
+
+    /**
+     * Record that search is finished and path reconstruction starts now. Does nothing if timing is off.
+     */
+    void markPathStart() {
+        if (timed) {
+            pathStart = System.nanoTime();
+        }
+    }
+
+    /**
+     * Stop timing and get the moment path reconstruction started.
+     *
+     * @param finish time search returned
+     * @return time path reconstruction started, or <code>finish</code> if no path was built
+     */
+    long stopTiming(long finish) {
+        timed = false;
+        return pathStart == Long.MIN_VALUE ? finish : pathStart;
+    }
+}
@@ -0,0 +1,26 @@
+/**
+ * Strategy of searching shortest path between two cells of maze.
+ * <code>Maze</code> delegates <code>searchPath</code> to one strategy, which can be changed by
+ * <code>Maze.setSearchStrategy</code>.
+ * Entry and exit given to strategy are always distinct free cells.
+ * Implementation should keep no state of its own between calls, so that one instance can be shared by threads.
+ *
+ * @author BorisMirage
+ * Time: 2026/10/16 11:02
+ * Created with IntelliJ IDEA
+ */
+public interface SearchStrategy {
+
+    /**
+     * Search shortest path from start to end.
+     * Implementation should only use arrays in <code>scratch</code> as working state, so that it allocates nothing
+     * per cell and can be reused between searches.
+     *
+     * @param grid    wall grid
+     * @param start   flat index of entry
+     * @param end     flat index of exit
+     * @param scratch reusable working state, already reset for this search
+     * @return search result, contains path if it is found
+     */
+    SearchResult search(MazeGrid grid, int start, int end, SearchScratch scratch);
+}
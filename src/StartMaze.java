@@ -13,9 +13,6 @@ import java.util.LinkedList;
 
 public class StartMaze {
 
-    private static final char WALL_CHAR = '1';
-    private static final char FREE_CHAR = '0';
-
     /**
      * Main class that required maze file path as argument.
      *
@@ -59,46 +56,10 @@ public class StartMaze {
      *
      * @param fileName maze file path
      * @return new MazeFrame for later usage
-     * @throws IOException file does not find via given path
+     * @throws IOException file does not find via given path, or its content is malformed
      */
     private static MazeFrame readMazeFile(String fileName) throws IOException {
-
-        /* Create a File object and using Reader to read it. */
-        File readMazeFile = new File(fileName);
-
-        /* Create a input reader to read data and save to buffer. */
-        InputStreamReader newReader = new InputStreamReader(new FileInputStream(readMazeFile));
-        BufferedReader newBufferRead = new BufferedReader(newReader);
-//        System.out.println(fileName);
-        /* Read first line about new maze, convert to integer. */
-        String[] para = newBufferRead.readLine().split(" ");
-
-        int[][] readMazeData = new int[Integer.parseInt(para[0])][Integer.parseInt(para[1])];
-
-        /* Read following lines. */
-        for (int i = 0; i < Integer.parseInt(para[0]); i++) {
-            String line = newBufferRead.readLine();
-            for (int j = 0; j < line.length(); j++) {
-                char current = line.charAt(j);
-
-                /* Free = false, Wall = true.
-                 *  Free = 0, Wall = 1. */
-                if (current == WALL_CHAR) {
-                    readMazeData[i][j] = -1;
-                } else if (current == FREE_CHAR) {
-                    readMazeData[i][j] = 0;
-                }
-            }
-        }
-
-        /* Read last two lines to obtain elements: entry and exit. */
-        String[] startLine = newBufferRead.readLine().split(" ");
-        String[] endLine = newBufferRead.readLine().split(" ");
-
-        MazeCoord newMazeStart = new MazeCoord(Integer.parseInt(startLine[0]), Integer.parseInt(startLine[1]));
-        MazeCoord newMazeExit = new MazeCoord(Integer.parseInt(endLine[0]), Integer.parseInt(endLine[1]));
-
-        return new MazeFrame(readMazeData, newMazeStart, newMazeExit);
+        return new MazeFrame(MazeFileReader.read(fileName));
     }
 
 }
\ No newline at end of file